@@ -2,6 +2,7 @@
 
 import axios, { AxiosError, type InternalAxiosRequestConfig } from 'axios';
 import { tokenManager } from '../utils/tokenManager';
+import { useAuthStore } from '../store/authStore';
 
 const api = axios.create({
     baseURL: import.meta.env.VITE_API_URL || 'http://localhost:8080/api',
@@ -78,8 +79,11 @@ api.interceptors.response.use(
                     { refreshToken }
                 );
 
-                const { token: newToken } = response.data;
+                // Cada refresh token vale uma única renovação: guarda o novo par
+                const { token: newToken, refreshToken: newRefreshToken } = response.data;
                 tokenManager.setToken(newToken);
+                tokenManager.setRefreshToken(newRefreshToken);
+                useAuthStore.setState({ token: newToken, refreshToken: newRefreshToken });
 
                 if (originalRequest.headers) {
                     originalRequest.headers.Authorization = `Bearer ${newToken}`;
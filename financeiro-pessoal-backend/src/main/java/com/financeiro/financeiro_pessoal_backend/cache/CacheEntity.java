@@ -0,0 +1,14 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+/**
+ * Entidades das quais os resultados em cache podem depender
+ * Usadas para compor as tags de invalidação
+ */
+public enum CacheEntity {
+    USUARIO,
+    RECEITA,
+    DESPESA,
+    META,
+    CATEGORIA,
+    PARAMETRO
+}
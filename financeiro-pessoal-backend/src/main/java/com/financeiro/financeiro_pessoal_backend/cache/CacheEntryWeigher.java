@@ -0,0 +1,128 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estima o tamanho em bytes dos valores de cache para eviction por peso
+ *
+ * A estimativa é aproximada (cabeçalhos de 16 bytes e referências de 4 bytes)
+ * e percorre DTOs, coleções e mapas até uma profundidade limitada. Tipos do JDK
+ * não são inspecionados por reflexão; recebem um tamanho fixo conhecido.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<Class<?>, List<Field>> fieldsByClass = new ConcurrentHashMap<>();
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long estimate = estimate(key, newVisited(), 0) + estimate(value, newVisited(), 0);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, estimate));
+    }
+
+    private Set<Object> newVisited() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private long estimate(Object value, Set<Object> visited, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return OBJECT_HEADER + 24 + s.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return value instanceof BigDecimal || value instanceof BigInteger ? 64 : 16;
+        }
+        if (value instanceof Enum<?>) {
+            return 0;
+        }
+        if (value instanceof Temporal) {
+            return 48;
+        }
+        if (depth >= MAX_DEPTH || !visited.add(value)) {
+            return REFERENCE;
+        }
+        if (value instanceof Collection<?> collection) {
+            long total = OBJECT_HEADER + 24L + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                total += estimate(element, visited, depth + 1);
+            }
+            return total;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long total = OBJECT_HEADER + 48L + (long) map.size() * 32;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                total += estimate(entry.getKey(), visited, depth + 1);
+                total += estimate(entry.getValue(), visited, depth + 1);
+            }
+            return total;
+        }
+        if (value instanceof Optional<?> optional) {
+            return OBJECT_HEADER + estimate(optional.orElse(null), visited, depth + 1);
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            if (type.getComponentType().isPrimitive()) {
+                return OBJECT_HEADER + (long) length * 8;
+            }
+            long total = OBJECT_HEADER + (long) length * REFERENCE;
+            for (int i = 0; i < length; i++) {
+                total += estimate(Array.get(value, i), visited, depth + 1);
+            }
+            return total;
+        }
+        if (type.getName().startsWith("java.")) {
+            return OBJECT_HEADER + 32;
+        }
+        long total = OBJECT_HEADER;
+        for (Field field : fieldsOf(type)) {
+            if (field.getType().isPrimitive()) {
+                total += 8;
+                continue;
+            }
+            total += REFERENCE;
+            try {
+                total += estimate(field.get(value), visited, depth + 1);
+            } catch (IllegalAccessException e) {
+                total += 32;
+            }
+        }
+        return total;
+    }
+
+    private List<Field> fieldsOf(Class<?> type) {
+        return fieldsByClass.computeIfAbsent(type, t -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || !field.trySetAccessible()) {
+                        continue;
+                    }
+                    fields.add(field);
+                }
+            }
+            return List.copyOf(fields);
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.util.Set;
+
+/**
+ * Evento publicado pelas escritas com as tags que devem ser invalidadas
+ */
+public record CacheInvalidationEvent(Set<CacheTag> tags) {
+}
@@ -0,0 +1,73 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Publica e processa eventos de invalidação de cache por tag
+ *
+ * A remoção acontece após o commit da transação que publicou o evento
+ * (ou imediatamente, quando não há transação ativa), evitando que uma
+ * leitura concorrente grave novamente no cache o estado anterior.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidator {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheTagIndex cacheTagIndex;
+    private final CacheManager cacheManager;
+    private final DataVersions dataVersions;
+
+    /**
+     * Publica a invalidação das tags informadas
+     */
+    public void invalidate(Set<CacheTag> tags) {
+        if (!tags.isEmpty()) {
+            eventPublisher.publishEvent(new CacheInvalidationEvent(tags));
+        }
+    }
+
+    /**
+     * Publica a invalidação de uma tag
+     */
+    public void invalidate(CacheTag tag) {
+        invalidate(Set.of(tag));
+    }
+
+    /**
+     * Remove dos caches as entradas associadas às tags do evento
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvalidation(CacheInvalidationEvent event) {
+        evictLocal(event.tags());
+    }
+
+    /**
+     * Remove do cache local as entradas associadas às tags e avança a versão
+     * dos dados, sem propagar (usado também para invalidações recebidas de
+     * outros nós)
+     */
+    public void evictLocal(Set<CacheTag> tags) {
+        dataVersions.bump(tags);
+        int removidas = 0;
+        for (CacheTag tag : tags) {
+            for (CacheTagIndex.EntryRef ref : cacheTagIndex.entriesFor(tag)) {
+                Cache cache = cacheManager.getCache(ref.cacheName());
+                if (cache != null) {
+                    cache.evict(ref.key());
+                    removidas++;
+                }
+            }
+        }
+        log.debug("Invalidação de cache - Tags: {}, Entradas removidas: {}", tags, removidas);
+    }
+}
@@ -0,0 +1,86 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Políticas de tamanho e expiração de cada cache (prefixo {@code app.cache})
+ *
+ * Os valores de {@code defaults} se aplicam aos caches sem política própria
+ * e aos atributos não informados em {@code caches.<nome>}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CachePolicyProperties {
+
+    private Policy defaults = new Policy();
+
+    private Map<String, Policy> caches = new LinkedHashMap<>();
+
+    /**
+     * Política efetiva do cache, combinando a específica com o padrão
+     */
+    public Policy policyFor(String cacheName) {
+        Policy policy = caches.get(cacheName);
+        return policy != null ? policy.mergedWith(defaults) : defaults;
+    }
+
+    @Data
+    public static class Policy {
+
+        /**
+         * Número máximo de entradas
+         */
+        private Long maximumSize;
+
+        /**
+         * Peso máximo estimado em bytes (exclusivo com maximumSize)
+         */
+        private Long maximumWeight;
+
+        /**
+         * Expira a entrada após o tempo desde a gravação
+         */
+        private Duration expireAfterWrite;
+
+        /**
+         * Expira a entrada após o tempo desde o último acesso
+         */
+        private Duration expireAfterAccess;
+
+        /**
+         * Recarrega a entrada em segundo plano após o tempo desde a gravação
+         */
+        private Duration refreshAfterWrite;
+
+        /**
+         * Tempo máximo em que o último valor válido pode ser servido quando o
+         * recálculo falha ou demora (desabilitado se nulo)
+         */
+        private Duration staleWhileRevalidate;
+
+        /**
+         * Espera máxima pelo recálculo antes de servir o último valor válido
+         */
+        private Duration loadTimeout;
+
+        Policy mergedWith(Policy fallback) {
+            Policy merged = new Policy();
+            boolean limiteProprio = maximumSize != null || maximumWeight != null;
+            merged.setMaximumSize(limiteProprio ? maximumSize : fallback.getMaximumSize());
+            merged.setMaximumWeight(limiteProprio ? maximumWeight : fallback.getMaximumWeight());
+            boolean expiracaoPropria = expireAfterWrite != null || expireAfterAccess != null;
+            merged.setExpireAfterWrite(expiracaoPropria ? expireAfterWrite : fallback.getExpireAfterWrite());
+            merged.setExpireAfterAccess(expiracaoPropria ? expireAfterAccess : fallback.getExpireAfterAccess());
+            merged.setRefreshAfterWrite(refreshAfterWrite != null ? refreshAfterWrite : fallback.getRefreshAfterWrite());
+            merged.setStaleWhileRevalidate(staleWhileRevalidate != null
+                    ? staleWhileRevalidate : fallback.getStaleWhileRevalidate());
+            merged.setLoadTimeout(loadTimeout != null ? loadTimeout : fallback.getLoadTimeout());
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loader dos caches configurados com {@code refresh-after-write}
+ *
+ * Os valores são calculados pelos métodos {@code @Cacheable}, então o
+ * carregamento direto retorna ausente. No refresh, o método de origem é
+ * reexecutado em segundo plano pelo {@link CacheRefresher} registrado para a
+ * entrada, enquanto o valor atual continua sendo servido; sem recarregador, a
+ * entrada é descartada para ser recalculada na próxima leitura. Se o refresh
+ * falhar, o valor atual é mantido até expirar.
+ */
+@Slf4j
+public class CacheRefreshLoader implements CacheLoader<Object, Object> {
+
+    private final String cacheName;
+    private final CacheTagIndex index;
+
+    public CacheRefreshLoader(String cacheName, CacheTagIndex index) {
+        this.cacheName = cacheName;
+        this.index = index;
+    }
+
+    @Override
+    public Object load(Object key) {
+        return null;
+    }
+
+    @Override
+    public Object reload(Object key, Object oldValue) throws Exception {
+        CacheRefresher refresher = index.refresherFor(cacheName, key);
+        if (refresher == null) {
+            log.debug("Refresh de cache sem recarregador - Cache: {}, Chave: {}", cacheName, key);
+            index.unregister(cacheName, key);
+            return null;
+        }
+        log.debug("Refresh antecipado de cache - Cache: {}, Chave: {}", cacheName, key);
+        Object value = refresher.refresh();
+        if (value == null) {
+            index.unregister(cacheName, key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.concurrency.Workload;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadContext;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Recalcula o valor de uma entrada de cache reexecutando o método de origem
+ *
+ * A execução acontece fora da thread da requisição, então o contexto de
+ * segurança e as tags da chamada original são restaurados, e o método do
+ * bean alvo (sem proxy) roda numa transação somente leitura. Como o
+ * {@link com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadBulkhead}
+ * fica no proxy, a classe de carga do {@link Workload} do método é aplicada
+ * aqui, e a transação obtém conexão do pool dessa classe; o pool de refresh
+ * já limita quantos recálculos rodam ao mesmo tempo.
+ */
+public class CacheRefresher {
+
+    private final Object target;
+    private final Method method;
+    private final Object[] args;
+    private final SecurityContext securityContext;
+    private final Set<CacheTag> tags;
+    private final DataVersions dataVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkloadType workload;
+
+    public CacheRefresher(Object target, Method method, Object[] args, SecurityContext securityContext,
+                          Set<CacheTag> tags, DataVersions dataVersions, TransactionTemplate transactionTemplate) {
+        this.target = target;
+        this.method = method;
+        this.args = args;
+        this.securityContext = securityContext;
+        this.tags = tags;
+        this.dataVersions = dataVersions;
+        this.transactionTemplate = transactionTemplate;
+        Workload annotation = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        this.workload = annotation != null ? annotation.value() : WorkloadType.OLTP;
+    }
+
+    /**
+     * Reexecuta o método e retorna o novo valor
+     */
+    public Object refresh() throws Exception {
+        SecurityContext previousSecurity = SecurityContextHolder.getContext();
+        CacheTagContext.Frame previousFrame = CacheTagContext.push(
+                new CacheTagContext.Frame(tags, this, dataVersions.currentVersion()));
+        SecurityContextHolder.setContext(securityContext);
+        WorkloadType previousWorkload = WorkloadContext.set(workload);
+        try {
+            return transactionTemplate.execute(status -> invoke());
+        } catch (RefreshFailure e) {
+            throw e.failure;
+        } finally {
+            WorkloadContext.restore(previousWorkload);
+            SecurityContextHolder.setContext(previousSecurity);
+            CacheTagContext.restore(previousFrame);
+        }
+    }
+
+    private Object invoke() {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RefreshFailure(cause instanceof Exception ex ? ex : new IllegalStateException(cause));
+        } catch (IllegalAccessException e) {
+            throw new RefreshFailure(e);
+        }
+    }
+
+    private static class RefreshFailure extends RuntimeException {
+
+        private final Exception failure;
+
+        RefreshFailure(Exception failure) {
+            super(failure);
+            this.failure = failure;
+        }
+    }
+}
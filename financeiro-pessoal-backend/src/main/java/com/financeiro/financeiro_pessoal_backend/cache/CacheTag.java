@@ -0,0 +1,22 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+/**
+ * Tag de cache: entidade de origem + usuário dono dos dados
+ *
+ * Um usuarioId nulo representa uma tag global (ex.: listagens de admin),
+ * que é invalidada por qualquer escrita na entidade.
+ */
+public record CacheTag(CacheEntity entity, Long usuarioId) {
+
+    public static CacheTag of(CacheEntity entity, Long usuarioId) {
+        return new CacheTag(entity, usuarioId);
+    }
+
+    public static CacheTag global(CacheEntity entity) {
+        return new CacheTag(entity, null);
+    }
+
+    public boolean isGlobal() {
+        return usuarioId == null;
+    }
+}
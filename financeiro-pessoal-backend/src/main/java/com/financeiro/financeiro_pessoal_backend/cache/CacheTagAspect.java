@@ -0,0 +1,118 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica as anotações {@link CacheTags} e {@link InvalidatesCache}
+ *
+ * Executa antes do interceptor de cache e da transação, de forma que as tags
+ * fiquem ativas durante a gravação no cache e a invalidação seja publicada
+ * somente após o commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheTagAspect {
+
+    private final SecurityUtil securityUtil;
+    private final CacheInvalidator cacheInvalidator;
+    private final DataVersions dataVersions;
+    private final TransactionTemplate refreshTransaction;
+
+    public CacheTagAspect(SecurityUtil securityUtil,
+                          CacheInvalidator cacheInvalidator,
+                          DataVersions dataVersions,
+                          PlatformTransactionManager transactionManager) {
+        this.securityUtil = securityUtil;
+        this.cacheInvalidator = cacheInvalidator;
+        this.dataVersions = dataVersions;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setReadOnly(true);
+    }
+
+    @Around("@annotation(cacheTags)")
+    public Object tagCachedResult(ProceedingJoinPoint joinPoint, CacheTags cacheTags) throws Throwable {
+        Long usuarioId = cacheTags.global() ? null : resolveUsuarioId(joinPoint, cacheTags.usuarioParam());
+        if (!cacheTags.global() && usuarioId == null) {
+            return joinPoint.proceed();
+        }
+
+        // Mutável: o serviço pode acrescentar as tags do dono dos dados (ver CacheTagContext.owner)
+        Set<CacheTag> tags = ConcurrentHashMap.newKeySet();
+        tags.addAll(toTags(cacheTags.value(), usuarioId));
+        CacheRefresher refresher = new CacheRefresher(joinPoint.getTarget(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(),
+                SecurityContextHolder.getContext(), tags, dataVersions, refreshTransaction);
+        CacheTagContext.Frame previous = CacheTagContext.push(
+                new CacheTagContext.Frame(tags, refresher, dataVersions.currentVersion()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CacheTagContext.restore(previous);
+        }
+    }
+
+    @Around("@annotation(invalidatesCache)")
+    public Object invalidateAfterWrite(ProceedingJoinPoint joinPoint, InvalidatesCache invalidatesCache) throws Throwable {
+        // Resolve antes da execução: o método pode alterar o contexto (ex.: logout)
+        Long usuarioId = resolveUsuarioId(joinPoint, invalidatesCache.usuarioParam());
+
+        Set<Long> owners = new LinkedHashSet<>();
+        Set<Long> previous = CacheTagContext.pushOwners(owners);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            CacheTagContext.restoreOwners(owners, previous);
+        }
+
+        // Dono dos dados alterados prevalece sobre o usuário logado (admin alterando
+        // registro de outro usuário); sem usuário identificado, invalida para todos
+        Set<CacheTag> tags = new LinkedHashSet<>();
+        if (invalidatesCache.usuarioParam().isEmpty() && !owners.isEmpty()) {
+            owners.forEach(owner -> tags.addAll(toTags(invalidatesCache.value(), owner)));
+        } else {
+            tags.addAll(toTags(invalidatesCache.value(), usuarioId));
+        }
+        cacheInvalidator.invalidate(tags);
+        return result;
+    }
+
+    private Set<CacheTag> toTags(CacheEntity[] entities, Long usuarioId) {
+        Set<CacheTag> tags = new LinkedHashSet<>();
+        for (CacheEntity entity : entities) {
+            tags.add(CacheTag.of(entity, usuarioId));
+        }
+        return tags;
+    }
+
+    private Long resolveUsuarioId(ProceedingJoinPoint joinPoint, String usuarioParam) {
+        if (usuarioParam.isEmpty()) {
+            return securityUtil.isAuthenticated() ? securityUtil.getUsuarioIdForCache() : null;
+        }
+
+        String[] parameterNames = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(usuarioParam)) {
+                return args[i] instanceof Long id ? id : null;
+            }
+        }
+        throw new IllegalStateException("Parâmetro '" + usuarioParam + "' não encontrado em "
+                + joinPoint.getSignature().toShortString());
+    }
+}
@@ -0,0 +1,128 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantém as tags do método {@link CacheTags} em execução na thread atual,
+ * para que o {@link TaggedCache} associe as entradas gravadas a elas
+ *
+ * Guarda também os donos dos dados acessados pela escrita
+ * {@link InvalidatesCache} em andamento, para invalidar as tags do dono
+ * e não as do usuário logado (ex.: admin alterando registro de outro usuário).
+ */
+public final class CacheTagContext {
+
+    /**
+     * Tags, recarregador e versão dos dados ({@link DataVersions}) no início
+     * da invocação em andamento
+     */
+    record Frame(Set<CacheTag> tags, CacheRefresher refresher, long version) {
+    }
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Set<Long>> OWNERS = new ThreadLocal<>();
+
+    private CacheTagContext() {
+    }
+
+    /**
+     * Tags ativas na thread atual (vazio se nenhuma)
+     */
+    public static Set<CacheTag> current() {
+        Frame frame = CURRENT.get();
+        return frame != null ? frame.tags() : Set.of();
+    }
+
+    /**
+     * Versão dos dados quando a invocação ativa começou (zero se nenhuma)
+     *
+     * Quem grava uma entrada e a registra no índice compara com ela depois do
+     * registro: uma invalidação entre o início e o registro não encontrou a
+     * entrada no índice, então quem gravou a descarta.
+     */
+    public static long startVersion() {
+        Frame frame = CURRENT.get();
+        return frame != null ? frame.version() : 0;
+    }
+
+    /**
+     * Recarregador da invocação ativa na thread atual (nulo se nenhum)
+     */
+    static CacheRefresher currentRefresher() {
+        Frame frame = CURRENT.get();
+        return frame != null ? frame.refresher() : null;
+    }
+
+    /**
+     * Frame ativo na thread atual, para propagação a outra thread
+     */
+    static Frame currentFrame() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Define o frame ativo e retorna o anterior, para restauração
+     */
+    static Frame push(Frame frame) {
+        Frame previous = CURRENT.get();
+        CURRENT.set(frame);
+        return previous;
+    }
+
+    /**
+     * Restaura o frame anterior (chamadas aninhadas)
+     */
+    static void restore(Frame previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Registra o dono dos dados acessados na operação em andamento
+     *
+     * Na leitura, as entradas gravadas passam a depender também das tags do
+     * dono; na escrita, a invalidação é publicada para o dono.
+     */
+    public static void owner(Long usuarioId) {
+        if (usuarioId == null) {
+            return;
+        }
+        Frame frame = CURRENT.get();
+        if (frame != null) {
+            for (CacheTag tag : List.copyOf(frame.tags())) {
+                if (!tag.isGlobal()) {
+                    frame.tags().add(CacheTag.of(tag.entity(), usuarioId));
+                }
+            }
+        }
+        Set<Long> owners = OWNERS.get();
+        if (owners != null) {
+            owners.add(usuarioId);
+        }
+    }
+
+    /**
+     * Inicia o registro dos donos de uma escrita e retorna o registro anterior
+     */
+    static Set<Long> pushOwners(Set<Long> owners) {
+        Set<Long> previous = OWNERS.get();
+        OWNERS.set(owners);
+        return previous;
+    }
+
+    /**
+     * Restaura o registro anterior, repassando a ele os donos da escrita aninhada
+     */
+    static void restoreOwners(Set<Long> owners, Set<Long> previous) {
+        if (previous == null) {
+            OWNERS.remove();
+        } else {
+            previous.addAll(owners);
+            OWNERS.set(previous);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice bidirecional entre tags e entradas de cache
+ *
+ * Permite localizar, a partir de uma tag, todas as entradas (de qualquer cache)
+ * que dependem dela. As entradas removidas do cache por evict, clear ou
+ * expiração são retiradas do índice para não reter memória.
+ */
+@Component
+public class CacheTagIndex {
+
+    /**
+     * Referência a uma entrada de cache
+     */
+    public record EntryRef(String cacheName, Object key) {
+    }
+
+    private final Map<CacheTag, Set<EntryRef>> entriesByTag = new ConcurrentHashMap<>();
+    private final Map<EntryRef, Set<CacheTag>> tagsByEntry = new ConcurrentHashMap<>();
+    private final Map<EntryRef, CacheRefresher> refreshers = new ConcurrentHashMap<>();
+
+    /**
+     * Associa uma entrada às tags informadas
+     */
+    public void register(String cacheName, Object key, Set<CacheTag> tags) {
+        register(cacheName, key, tags, null);
+    }
+
+    /**
+     * Associa uma entrada às tags e ao recarregador usado no refresh antecipado
+     */
+    public void register(String cacheName, Object key, Set<CacheTag> tags, CacheRefresher refresher) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        EntryRef ref = new EntryRef(cacheName, key);
+        if (refresher != null) {
+            refreshers.put(ref, refresher);
+        }
+        tagsByEntry.computeIfAbsent(ref, r -> ConcurrentHashMap.newKeySet()).addAll(tags);
+        for (CacheTag tag : tags) {
+            entriesByTag.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+    }
+
+    /**
+     * Remove uma entrada do índice (entrada já removida do cache)
+     */
+    public void unregister(String cacheName, Object key) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        refreshers.remove(ref);
+        Set<CacheTag> tags = tagsByEntry.remove(ref);
+        if (tags == null) {
+            return;
+        }
+        for (CacheTag tag : tags) {
+            entriesByTag.computeIfPresent(tag, (t, refs) -> {
+                refs.remove(ref);
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+
+    /**
+     * Recarregador registrado para a entrada (nulo se nenhum)
+     */
+    public CacheRefresher refresherFor(String cacheName, Object key) {
+        return refreshers.get(new EntryRef(cacheName, key));
+    }
+
+    /**
+     * Remove do índice todas as entradas de um cache (cache limpo)
+     */
+    public void unregisterCache(String cacheName) {
+        tagsByEntry.keySet().stream()
+                .filter(ref -> ref.cacheName().equals(cacheName))
+                .toList()
+                .forEach(ref -> unregister(ref.cacheName(), ref.key()));
+    }
+
+    /**
+     * Retorna as entradas afetadas por uma tag
+     *
+     * Uma tag de usuário também afeta as entradas globais da mesma entidade;
+     * uma tag global afeta todas as entradas da entidade.
+     */
+    public Set<EntryRef> entriesFor(CacheTag tag) {
+        Set<EntryRef> result = new HashSet<>();
+        if (tag.isGlobal()) {
+            entriesByTag.forEach((t, refs) -> {
+                if (t.entity() == tag.entity()) {
+                    result.addAll(refs);
+                }
+            });
+        } else {
+            result.addAll(entriesByTag.getOrDefault(tag, Set.of()));
+            result.addAll(entriesByTag.getOrDefault(CacheTag.global(tag.entity()), Set.of()));
+        }
+        return result;
+    }
+
+    /**
+     * Quantidade de entradas indexadas
+     */
+    public int size() {
+        return tagsByEntry.size();
+    }
+}
@@ -0,0 +1,36 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declara de quais entidades depende o resultado de um método {@code @Cacheable}
+ *
+ * As entradas gravadas durante a execução recebem uma tag por entidade,
+ * associada ao usuário logado (ou ao parâmetro indicado em {@link #usuarioParam()}).
+ * Escritas anotadas com {@link InvalidatesCache} removem as entradas pelas tags.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheTags {
+
+    /**
+     * Entidades das quais o resultado deriva
+     */
+    CacheEntity[] value();
+
+    /**
+     * Nome do parâmetro que contém o ID do usuário dono dos dados.
+     * Vazio para usar o usuário logado.
+     */
+    String usuarioParam() default "";
+
+    /**
+     * Resultado não pertence a um usuário (ex.: listagens de admin)
+     */
+    boolean global() default false;
+}
@@ -0,0 +1,118 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Versão dos dados de cada tag de cache, avançada a cada invalidação
+ *
+ * Cada invalidação atribui à tag o próximo número de uma sequência única do
+ * nó, de modo que a versão de um conjunto de tags (o maior dos números) muda
+ * sempre que qualquer uma delas muda. Tags descartadas da memória passam a
+ * valer o maior número já descartado: a versão pode subir sem mudança real
+ * (uma resposta 200 a mais), mas nunca volta a um valor já emitido.
+ *
+ * As versões são locais ao nó; {@link #getEpoch()} identifica a execução
+ * para que versões de outro nó ou de antes de um reinício nunca coincidam.
+ */
+@Component
+public class DataVersions {
+
+    private final long epoch = ThreadLocalRandom.current().nextLong() >>> 1;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong evictedFloor = new AtomicLong();
+    private final Cache<CacheTag, Long> versions;
+    private final List<Consumer<Set<CacheTag>>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<CacheEntity, AtomicLong> entityVersions = new EnumMap<>(CacheEntity.class);
+
+    public DataVersions(@Value("${app.cache.versions.maximum-size:200000}") long maximumSize,
+                        @Value("${app.cache.versions.expire-after-access:6h}") Duration expireAfterAccess) {
+        // O listener de remoção roda antes de a entrada sair do mapa: quem não
+        // encontrar a tag já lê o piso atualizado
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .<CacheTag, Long>evictionListener((tag, version, cause) ->
+                        evictedFloor.accumulateAndGet(version != null ? version : 0, Math::max))
+                .build();
+        for (CacheEntity entity : CacheEntity.values()) {
+            entityVersions.put(entity, new AtomicLong());
+        }
+    }
+
+    /**
+     * Avança a versão das tags; uma tag global vale para todos os usuários
+     */
+    public void bump(Set<CacheTag> tags) {
+        for (CacheTag tag : tags) {
+            long version = sequence.incrementAndGet();
+            versions.put(tag, version);
+            entityVersions.get(tag.entity()).accumulateAndGet(version, Math::max);
+        }
+        listeners.forEach(listener -> listener.accept(tags));
+    }
+
+    /**
+     * Registra quem deve ser avisado de cada mudança de versão; chamado na
+     * thread que confirmou a escrita, então deve retornar rápido
+     */
+    public void addListener(Consumer<Set<CacheTag>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Versão dos dados do usuário nas entidades informadas
+     */
+    public long versionOf(Long usuarioId, CacheEntity[] entities) {
+        long version = 0;
+        for (CacheEntity entity : entities) {
+            version = Math.max(version, versionOf(CacheTag.of(entity, usuarioId)));
+            version = Math.max(version, versionOf(CacheTag.global(entity)));
+        }
+        return version;
+    }
+
+    /**
+     * Última versão atribuída no nó, para comparar depois com {@link #changedSince}
+     */
+    public long currentVersion() {
+        return sequence.get();
+    }
+
+    /**
+     * Se alguma invalidação que afeta as tags aconteceu depois da versão
+     * informada (mesma regra de tags globais do {@link CacheTagIndex})
+     */
+    public boolean changedSince(Set<CacheTag> tags, long version) {
+        for (CacheTag tag : tags) {
+            long current = tag.isGlobal()
+                    ? entityVersions.get(tag.entity()).get()
+                    : Math.max(versionOf(tag), versionOf(CacheTag.global(tag.entity())));
+            if (current > version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    private long versionOf(CacheTag tag) {
+        Long version = versions.getIfPresent(tag);
+        return version != null ? version : evictedFloor.get();
+    }
+}
@@ -0,0 +1,75 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Índice de tags de uma camada que guarda valores além do cache principal
+ * (L2 compartilhado, cópias de reserva)
+ *
+ * O {@link CacheTagIndex} descarta a entrada quando o L1 a remove por tamanho
+ * ou expiração, mas a camada ainda pode guardar o valor. Aqui cada chave fica
+ * indexada pelo tempo de vida da própria camada, para que a invalidação por
+ * tag alcance o valor mesmo depois que o L1 o descartou.
+ */
+public class ExpiringTagIndex {
+
+    private final String cacheName;
+    private final CacheTagIndex index = new CacheTagIndex();
+    private final Cache<Object, Boolean> keys;
+
+    public ExpiringTagIndex(String cacheName, long maximumSize, Duration ttl) {
+        this.cacheName = cacheName;
+        // O listener de remoção roda junto com a remoção da chave: uma nova
+        // gravação da mesma chave é indexada depois dele
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .<Object, Boolean>evictionListener((key, value, cause) -> index.unregister(cacheName, key))
+                .build();
+    }
+
+    /**
+     * Associa a chave às tags informadas pelo tempo de vida da camada
+     */
+    public void register(Object key, Set<CacheTag> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        keys.put(key, Boolean.TRUE);
+        index.register(cacheName, key, tags);
+    }
+
+    /**
+     * Chaves afetadas pelas tags (mesma regra de tags globais do {@link CacheTagIndex})
+     */
+    public Set<Object> keysFor(Set<CacheTag> tags) {
+        Set<Object> result = new LinkedHashSet<>();
+        for (CacheTag tag : tags) {
+            for (CacheTagIndex.EntryRef ref : index.entriesFor(tag)) {
+                result.add(ref.key());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove a chave do índice (valor removido da camada)
+     */
+    public void remove(Object key) {
+        keys.invalidate(key);
+        index.unregister(cacheName, key);
+    }
+
+    /**
+     * Remove todas as chaves do índice (camada limpa)
+     */
+    public void clear() {
+        keys.invalidateAll();
+        index.unregisterCache(cacheName);
+    }
+}
@@ -0,0 +1,66 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.model.Categoria;
+import com.financeiro.financeiro_pessoal_backend.model.Parametro;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Remove do cache de segundo nível do Hibernate o que foi alterado fora da sessão
+ *
+ * Escritas via JPA neste nó já atualizam o cache no commit; as feitas com
+ * SQL direto (purga de conta) e as de outros nós chegam aqui como
+ * invalidação de tags (ver {@link DataVersions#addListener}). Usuários são
+ * removidos pelo ID; categorias e parâmetros, raramente alterados, têm a
+ * região inteira descartada, já que a tag traz o dono e não o ID. Em todos
+ * os casos o cache de consultas é esvaziado.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.hibernate-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class HibernateCacheInvalidator {
+
+    private final Cache cache;
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory, DataVersions dataVersions) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        dataVersions.addListener(this::evict);
+    }
+
+    private void evict(Set<CacheTag> tags) {
+        boolean removidas = false;
+        for (CacheTag tag : tags) {
+            switch (tag.entity()) {
+                case USUARIO -> {
+                    if (tag.isGlobal()) {
+                        cache.evictEntityData(Usuario.class);
+                    } else {
+                        cache.evictEntityData(Usuario.class, tag.usuarioId());
+                    }
+                    removidas = true;
+                }
+                case CATEGORIA -> {
+                    cache.evictEntityData(Categoria.class);
+                    removidas = true;
+                }
+                case PARAMETRO -> {
+                    cache.evictEntityData(Parametro.class);
+                    removidas = true;
+                }
+                default -> {
+                }
+            }
+        }
+        if (removidas) {
+            cache.evictDefaultQueryRegion();
+            log.debug("Cache de segundo nível invalidado - Tags: {}", tags);
+        }
+    }
+}
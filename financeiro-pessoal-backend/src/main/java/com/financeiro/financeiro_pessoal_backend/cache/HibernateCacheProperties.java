@@ -0,0 +1,34 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de segundo nível do Hibernate (prefixo {@code app.hibernate-cache})
+ *
+ * Cada região usada por uma entidade {@code @Cache} ou pelo cache de
+ * consultas ({@code default-query-results-region}) precisa de um limite em
+ * {@code regions.<nome>}; uma região sem configuração impede a subida. A
+ * região de timestamps do Hibernate é criada sem limite (uma entrada por
+ * tabela).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.hibernate-cache")
+public class HibernateCacheProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        private long maximumSize = 1000;
+
+        private Duration expireAfterWrite;
+    }
+}
@@ -0,0 +1,32 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método de escrita que altera as entidades informadas
+ *
+ * Ao concluir com sucesso (após o commit, se houver transação), publica um
+ * {@link CacheInvalidationEvent} com as tags do usuário afetado, removendo
+ * todas as entradas de cache que dependem delas, em qualquer cache.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface InvalidatesCache {
+
+    /**
+     * Entidades alteradas pelo método
+     */
+    CacheEntity[] value();
+
+    /**
+     * Nome do parâmetro que contém o ID do usuário afetado.
+     * Vazio para usar o dono dos dados registrado durante a execução
+     * ({@link CacheTagContext#owner(Long)}) ou, na falta dele, o usuário logado.
+     */
+    String usuarioParam() default "";
+}
@@ -0,0 +1,47 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * {@link SharedCacheStore} em memória, para testes e execução em um único nó
+ */
+public class LocalSharedCacheStore implements SharedCacheStore {
+
+    private record Key(String cacheName, Object key) {
+    }
+
+    private final Cache<Key, Object> store;
+
+    public LocalSharedCacheStore(long maximumSize, Duration ttl) {
+        this.store = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<Object> get(String cacheName, Object key) {
+        return Optional.ofNullable(store.getIfPresent(new Key(cacheName, key)));
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        if (value != null) {
+            store.put(new Key(cacheName, key), value);
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        store.invalidate(new Key(cacheName, key));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        store.asMap().keySet().removeIf(k -> k.cacheName().equals(cacheName));
+    }
+}
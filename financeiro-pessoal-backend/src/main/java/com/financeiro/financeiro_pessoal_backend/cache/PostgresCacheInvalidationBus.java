@@ -0,0 +1,276 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propaga invalidações de cache entre as réplicas via PostgreSQL LISTEN/NOTIFY
+ *
+ * As tags invalidadas localmente são acumuladas e enviadas em lote a cada
+ * {@code app.cache.bus.flush-interval-ms}; tags de usuário cobertas por uma
+ * tag global da mesma entidade são descartadas antes do envio. Cada nó escuta
+ * o canal numa conexão dedicada e ignora as mensagens que ele mesmo publicou.
+ * Se o envio falha, o lote volta para a fila e é reenviado no próximo ciclo
+ * (reenviar tags já publicadas só repete uma remoção); se a fila passa de
+ * {@value #MAX_PENDING} tags, as de usuário viram a tag global da entidade.
+ *
+ * Formato da mensagem: {@code <nodeId>|RECEITA:5,DESPESA:*}
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache.bus", name = "enabled", havingValue = "true")
+@Slf4j
+public class PostgresCacheInvalidationBus implements SmartLifecycle {
+
+    private static final int MAX_PAYLOAD = 7900;
+    private static final String GLOBAL = "*";
+    private static final int MAX_PENDING = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidator cacheInvalidator;
+    private final String channel;
+    private final long flushIntervalMs;
+    private final Counter publishFailures;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<CacheTag> pending = new LinkedHashSet<>();
+
+    private ScheduledExecutorService flusher;
+    private Thread listener;
+    private volatile boolean running;
+
+    public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                        DataSourceProperties dataSourceProperties,
+                                        CacheInvalidator cacheInvalidator,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.cache.bus.channel:cache_invalidation}") String channel,
+                                        @Value("${app.cache.bus.flush-interval-ms:100}") long flushIntervalMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Canal de invalidação inválido: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheInvalidator = cacheInvalidator;
+        this.channel = channel;
+        this.flushIntervalMs = flushIntervalMs;
+        this.publishFailures = Counter.builder("cache.bus.publish.failures")
+                .description("Lotes de invalidação que falharam ao publicar e voltaram para a fila")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira as tags invalidadas localmente para envio aos demais nós
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvalidation(CacheInvalidationEvent event) {
+        synchronized (pending) {
+            pending.addAll(event.tags());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-bus-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        listener = new Thread(this::listen, "cache-bus-listen");
+        listener.setDaemon(true);
+        listener.start();
+        log.info("Barramento de invalidação de cache iniciado - Canal: {}, Nó: {}", channel, nodeId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+        flusher.shutdown();
+        listener.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Envia as tags pendentes, agrupadas em mensagens dentro do limite do NOTIFY;
+     * em caso de falha o lote volta para a fila
+     */
+    void flush() {
+        Set<CacheTag> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = coalesce(pending);
+            pending.clear();
+        }
+        try {
+            for (String payload : encode(batch)) {
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+            }
+            log.debug("Invalidações publicadas - Tags: {}", batch.size());
+        } catch (RuntimeException e) {
+            publishFailures.increment();
+            log.warn("Falha ao publicar invalidações de cache, lote devolvido à fila - Tags: {}, Erro: {}",
+                    batch.size(), e.getMessage());
+            synchronized (pending) {
+                pending.addAll(batch);
+                if (pending.size() > MAX_PENDING) {
+                    Set<CacheTag> globais = new LinkedHashSet<>();
+                    pending.forEach(tag -> globais.add(CacheTag.global(tag.entity())));
+                    pending.clear();
+                    pending.addAll(globais);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove as tags de usuário já cobertas por uma tag global da mesma entidade
+     */
+    static Set<CacheTag> coalesce(Set<CacheTag> tags) {
+        Set<CacheEntity> globais = new HashSet<>();
+        tags.stream().filter(CacheTag::isGlobal).forEach(tag -> globais.add(tag.entity()));
+        Set<CacheTag> result = new LinkedHashSet<>();
+        for (CacheTag tag : tags) {
+            if (tag.isGlobal() || !globais.contains(tag.entity())) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    private List<String> encode(Set<CacheTag> tags) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder(nodeId).append('|');
+        int header = current.length();
+        for (CacheTag tag : tags) {
+            String item = tag.entity().name() + ':' + (tag.isGlobal() ? GLOBAL : tag.usuarioId());
+            if (current.length() > header && current.length() + item.length() + 1 > MAX_PAYLOAD) {
+                payloads.add(current.toString());
+                current.setLength(header);
+            }
+            if (current.length() > header) {
+                current.append(',');
+            }
+            current.append(item);
+        }
+        payloads.add(current.toString());
+        return payloads;
+    }
+
+    private Set<CacheTag> decode(String tagList) {
+        Set<CacheTag> tags = new LinkedHashSet<>();
+        for (String item : tagList.split(",")) {
+            int sep = item.indexOf(':');
+            if (sep < 0) {
+                continue;
+            }
+            try {
+                CacheEntity entity = CacheEntity.valueOf(item.substring(0, sep));
+                String usuario = item.substring(sep + 1);
+                tags.add(GLOBAL.equals(usuario)
+                        ? CacheTag.global(entity)
+                        : CacheTag.of(entity, Long.valueOf(usuario)));
+            } catch (IllegalArgumentException e) {
+                log.warn("Tag de invalidação inválida ignorada: {}", item);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Escuta o canal numa conexão dedicada, reconectando em caso de falha
+     */
+    private void listen() {
+        long backoff = 1000;
+        boolean reconexao = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                if (reconexao) {
+                    // Mensagens enviadas enquanto desconectado foram perdidas
+                    evictAll();
+                    reconexao = false;
+                }
+                backoff = 1000;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexão do barramento de cache perdida, reconectando em {} ms: {}", backoff, e.getMessage());
+                reconexao = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, 30000);
+            }
+        }
+    }
+
+    private void evictAll() {
+        Set<CacheTag> tags = new LinkedHashSet<>();
+        for (CacheEntity entity : CacheEntity.values()) {
+            tags.add(CacheTag.global(entity));
+        }
+        cacheInvalidator.evictLocal(tags);
+    }
+
+    private void receive(String payload) {
+        int sep = payload.indexOf('|');
+        if (sep < 0 || payload.substring(0, sep).equals(nodeId)) {
+            return;
+        }
+        Set<CacheTag> tags = decode(payload.substring(sep + 1));
+        if (!tags.isEmpty()) {
+            cacheInvalidator.evictLocal(tags);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.util.Optional;
+
+/**
+ * Armazenamento compartilhado entre réplicas (L2), consultado nas faltas do
+ * cache local (L1)
+ *
+ * Implementações devem ser seguras para uso concorrente e aplicar a própria
+ * expiração; o valor ausente é representado por {@link Optional#empty()}.
+ */
+public interface SharedCacheStore {
+
+    /**
+     * Busca o valor da entrada
+     */
+    Optional<Object> get(String cacheName, Object key);
+
+    /**
+     * Grava o valor da entrada
+     */
+    void put(String cacheName, Object key, Object value);
+
+    /**
+     * Remove a entrada
+     */
+    void evict(String cacheName, Object key);
+
+    /**
+     * Remove todas as entradas do cache
+     */
+    void clear(String cacheName);
+}
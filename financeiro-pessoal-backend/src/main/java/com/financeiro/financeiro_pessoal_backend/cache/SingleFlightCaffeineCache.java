@@ -0,0 +1,92 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache Caffeine cujas leituras sincronizadas carregam fora do lock do mapa
+ *
+ * O {@code get(key, loader)} padrão calcula o valor dentro de
+ * {@code ConcurrentHashMap.compute}, segurando um monitor durante todas as
+ * consultas do método; com threads virtuais isso prende a thread portadora.
+ * Aqui a primeira requisição da chave calcula sem lock e as concorrentes
+ * esperam o mesmo resultado. A gravação só acontece se a chave não foi
+ * removida durante o cálculo, para que uma invalidação por escrita não seja
+ * sobrescrita pelo valor antigo.
+ */
+public class SingleFlightCaffeineCache extends CaffeineCache {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        super(name, cache);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return (T) await(key, valueLoader, existing);
+        }
+
+        try {
+            T value = valueLoader.call();
+            Object stored = toStoreValue(value);
+            getNativeCache().asMap().compute(key, (k, current) -> inFlight.remove(k, created) ? stored : current);
+            created.complete(value);
+            return value;
+        } catch (Throwable e) {
+            created.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        inFlight.remove(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        inFlight.remove(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        inFlight.clear();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.clear();
+        return super.invalidate();
+    }
+}
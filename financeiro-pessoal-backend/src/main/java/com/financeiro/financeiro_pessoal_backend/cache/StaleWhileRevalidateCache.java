@@ -0,0 +1,211 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decorator que serve o último valor válido quando o recálculo falha ou demora
+ *
+ * Cada valor gravado é mantido numa cópia de reserva por até
+ * {@code staleFor}, mesmo depois de expirar no cache principal. Numa falta com
+ * cópia de reserva disponível, o recálculo roda em segundo plano (uma única
+ * execução por chave) e a requisição espera no máximo {@code loadTimeout}; se
+ * o recálculo falhar ou passar do prazo, a cópia é servida e o resultado,
+ * quando chegar, atualiza o cache. Remoções explícitas (invalidação por
+ * escrita) descartam também a cópia, pois indicam que os dados mudaram; as
+ * cópias têm índice de tags próprio ({@link #evictTags}), já que a entrada
+ * principal pode ter expirado e saído do {@link CacheTagIndex}.
+ *
+ * Vale apenas para leituras sincronizadas ({@code @Cacheable(sync = true)}).
+ */
+@Slf4j
+public class StaleWhileRevalidateCache implements Cache {
+
+    private final Cache delegate;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> staleValues;
+    private final ExpiringTagIndex staleIndex;
+    private final DataVersions dataVersions;
+    private final Duration loadTimeout;
+    private final Executor executor;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public StaleWhileRevalidateCache(Cache delegate, Duration staleFor, Duration loadTimeout,
+                                     long maximumSize, Executor executor, DataVersions dataVersions) {
+        this.delegate = delegate;
+        this.staleValues = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(staleFor)
+                .build();
+        this.staleIndex = new ExpiringTagIndex(delegate.getName(), maximumSize, staleFor);
+        this.dataVersions = dataVersions;
+        this.loadTimeout = loadTimeout;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        Object stale = staleValues.getIfPresent(key);
+        if (stale == null) {
+            T value = delegate.get(key, valueLoader);
+            remember(key, value);
+            return value;
+        }
+
+        try {
+            return (T) loadInBackground(key, valueLoader).get(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Recálculo lento, servindo valor anterior - Cache: {}, Chave: {}", getName(), key);
+        } catch (ExecutionException e) {
+            log.warn("Falha no recálculo, servindo valor anterior - Cache: {}, Chave: {}, Erro: {}",
+                    getName(), key, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return (T) stale;
+    }
+
+    /**
+     * Inicia (ou reaproveita) o recálculo da chave em segundo plano, propagando
+     * o contexto de segurança e as tags da requisição
+     */
+    private CompletableFuture<Object> loadInBackground(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        CacheTagContext.Frame frame = CacheTagContext.currentFrame();
+        Runnable task = () -> {
+            CacheTagContext.Frame previous = CacheTagContext.push(frame);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                Object value = delegate.get(key, valueLoader);
+                remember(key, value);
+                created.complete(value);
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                SecurityContextHolder.clearContext();
+                CacheTagContext.restore(previous);
+                inFlight.remove(key, created);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private void remember(Object key, Object value) {
+        if (value != null) {
+            Set<CacheTag> tags = CacheTagContext.current();
+            staleValues.put(key, value);
+            staleIndex.register(key, tags);
+            // Invalidação antes do registro não encontrou a cópia (ver TaggedCache)
+            if (dataVersions.changedSince(tags, CacheTagContext.startVersion())) {
+                staleValues.invalidate(key);
+                staleIndex.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Descarta as cópias de reserva que dependem das tags (chamado a cada
+     * invalidação, local ou recebida de outro nó)
+     */
+    public void evictTags(Set<CacheTag> tags) {
+        for (Object key : staleIndex.keysFor(tags)) {
+            staleValues.invalidate(key);
+            staleIndex.remove(key);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        remember(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            remember(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        staleValues.invalidate(key);
+        staleIndex.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        staleValues.invalidate(key);
+        staleIndex.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        staleValues.invalidateAll();
+        staleIndex.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        staleValues.invalidateAll();
+        staleIndex.clear();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,102 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Decorator de {@link Cache} que registra no {@link CacheTagIndex} as tags
+ * ativas no momento em que cada entrada é gravada
+ *
+ * O registro acontece depois da gravação; se as tags foram invalidadas desde
+ * o início da invocação ({@link CacheTagContext#startVersion()}), a
+ * invalidação pode não ter encontrado a entrada no índice, e ela é removida.
+ */
+public class TaggedCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheTagIndex index;
+    private final DataVersions dataVersions;
+
+    public TaggedCache(Cache delegate, CacheTagIndex index, DataVersions dataVersions) {
+        this.delegate = delegate;
+        this.index = index;
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Set<CacheTag> tags = CacheTagContext.current();
+        CacheRefresher refresher = CacheTagContext.currentRefresher();
+        T value = delegate.get(key, valueLoader);
+        register(key, tags, refresher);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        register(key, CacheTagContext.current(), CacheTagContext.currentRefresher());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        register(key, CacheTagContext.current(), CacheTagContext.currentRefresher());
+        return existing;
+    }
+
+    private void register(Object key, Set<CacheTag> tags, CacheRefresher refresher) {
+        index.register(getName(), key, tags, refresher);
+        if (dataVersions.changedSince(tags, CacheTagContext.startVersion())) {
+            evict(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        index.unregister(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        index.unregister(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        index.unregisterCache(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        index.unregisterCache(getName());
+        return invalidated;
+    }
+}
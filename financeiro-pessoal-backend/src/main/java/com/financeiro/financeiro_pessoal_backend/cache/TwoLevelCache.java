@@ -0,0 +1,129 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache em dois níveis: L1 local e L2 compartilhado ({@link SharedCacheStore})
+ *
+ * Na falta do L1, o valor do L2 é promovido ao L1 pelo {@code put} do L1, o que
+ * registra as tags ativas no índice local. Gravações e remoções são aplicadas
+ * nos dois níveis.
+ *
+ * O L2 vive mais que o L1, então as chaves gravadas no L2 por este nó têm
+ * índice de tags próprio ({@link #evictTags}): a invalidação remove o valor
+ * do L2 mesmo depois que o L1 o descartou, e ele não volta a ser promovido.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache local;
+    private final SharedCacheStore shared;
+    private final ExpiringTagIndex sharedIndex;
+    private final DataVersions dataVersions;
+
+    public TwoLevelCache(Cache local, SharedCacheStore shared, ExpiringTagIndex sharedIndex,
+                         DataVersions dataVersions) {
+        this.local = local;
+        this.shared = shared;
+        this.sharedIndex = sharedIndex;
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        Optional<Object> remote = shared.get(getName(), key);
+        if (remote.isEmpty()) {
+            return null;
+        }
+        local.put(key, remote.get());
+        return new SimpleValueWrapper(remote.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object result = value.get();
+        if (type != null && result != null && !type.isInstance(result)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName());
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, () -> {
+            Optional<Object> remote = shared.get(getName(), key);
+            if (remote.isPresent()) {
+                return (T) remote.get();
+            }
+            T value = valueLoader.call();
+            putShared(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        putShared(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        shared.evict(getName(), key);
+        sharedIndex.remove(key);
+        local.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        shared.clear(getName());
+        sharedIndex.clear();
+        local.clear();
+    }
+
+    /**
+     * Remove do L2 as chaves gravadas por este nó que dependem das tags
+     * (chamado a cada invalidação, local ou recebida de outro nó)
+     */
+    public void evictTags(Set<CacheTag> tags) {
+        for (Object key : sharedIndex.keysFor(tags)) {
+            shared.evict(getName(), key);
+            sharedIndex.remove(key);
+        }
+    }
+
+    private void putShared(Object key, Object value) {
+        Set<CacheTag> tags = CacheTagContext.current();
+        shared.put(getName(), key, value);
+        sharedIndex.register(key, tags);
+        // Invalidação antes do registro não encontrou a chave (ver TaggedCache)
+        if (dataVersions.changedSince(tags, CacheTagContext.startVersion())) {
+            shared.evict(getName(), key);
+            sharedIndex.remove(key);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Chave de cache tipada: usuário logado + classe e método + argumentos
+ *
+ * A classe evita colisão entre serviços com métodos de mesmo nome gravando
+ * no mesmo cache. Classe e nome do método são constantes da JVM, então a
+ * comparação costuma ser por identidade; os argumentos são comparados pelo
+ * conteúdo.
+ */
+public record UsuarioCacheKey(Long usuarioId, Class<?> declaringClass, String method, Object[] args) {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    public static UsuarioCacheKey of(Long usuarioId, Class<?> declaringClass, String method, Object... args) {
+        return new UsuarioCacheKey(usuarioId, declaringClass, method, args.length == 0 ? NO_ARGS : args.clone());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof UsuarioCacheKey other
+                && method.equals(other.method)
+                && declaringClass == other.declaringClass
+                && Objects.equals(usuarioId, other.usuarioId)
+                && Arrays.equals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * Objects.hashCode(usuarioId) + declaringClass.hashCode();
+        hash = 31 * hash + method.hashCode();
+        return 31 * hash + Arrays.hashCode(args);
+    }
+
+    @Override
+    public String toString() {
+        return declaringClass.getSimpleName() + "." + method + Arrays.toString(args) + "@" + usuarioId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+
+/**
+ * Gerador de chaves padrão dos métodos {@code @Cacheable} sem {@code key}
+ *
+ * Substitui as expressões SpEL por chaves {@link UsuarioCacheKey}, sem
+ * avaliação de expressão nem concatenação de strings a cada chamada.
+ */
+public class UsuarioCacheKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return UsuarioCacheKey.of(usuarioLogadoId(), method.getDeclaringClass(), method.getName(), params);
+    }
+
+    private Long usuarioLogadoId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal usuario) {
+            return usuario.id();
+        }
+        return null;
+    }
+}
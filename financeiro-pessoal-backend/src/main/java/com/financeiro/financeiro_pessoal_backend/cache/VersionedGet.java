@@ -0,0 +1,26 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Habilita ETag e {@code If-None-Match} nos GETs do controller ou método,
+ * com a ETag derivada da versão dos dados do usuário logado nas entidades
+ * informadas (ver {@link VersionedGetInterceptor}); não se aplica a
+ * administradores, que podem ler dados de outros usuários
+ *
+ * As entidades devem cobrir as {@link CacheTags} dos services chamados.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface VersionedGet {
+
+    /**
+     * Entidades das quais as respostas derivam
+     */
+    CacheEntity[] value();
+}
@@ -0,0 +1,88 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GET condicional dos handlers anotados com {@link VersionedGet}
+ *
+ * Calcula a ETag antes do controller, a partir do usuário, da versão dos
+ * dados ({@link DataVersions}) e da data corrente (respostas com "mês atual"
+ * ou "vencidas" mudam na virada do dia). Se bater com {@code If-None-Match},
+ * responde 304 sem chamar services nem o banco. Como a versão é lida antes
+ * dos dados, uma escrita concorrente no máximo gera uma ETag antiga para
+ * dados novos, o que só custa um 200 a mais na próxima requisição.
+ *
+ * Administradores ficam de fora: podem ler registros de outros usuários
+ * (ex.: {@code GET /despesas/{id}}), cuja versão não entra na ETag do
+ * chamador, e o dono só é conhecido depois que o service carrega o registro.
+ */
+@Component
+@RequiredArgsConstructor
+public class VersionedGetInterceptor implements HandlerInterceptor {
+
+    private static final CacheEntity[] NONE = new CacheEntity[0];
+
+    private final DataVersions dataVersions;
+    private final Map<Method, CacheEntity[]> entitiesByMethod = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        CacheEntity[] entities = entitiesByMethod.computeIfAbsent(handlerMethod.getMethod(),
+                method -> resolveEntities(handlerMethod));
+        UsuarioPrincipal usuario = usuarioLogado();
+        if (entities.length == 0 || usuario == null || usuario.tipoUsuario() == TipoUsuario.ADMIN) {
+            return true;
+        }
+        Long usuarioId = usuario.id();
+
+        String etag = "\"" + Long.toHexString(dataVersions.getEpoch())
+                + '-' + usuarioId
+                + '-' + dataVersions.versionOf(usuarioId, entities)
+                + '-' + LocalDate.now().toEpochDay() + "\"";
+
+        // O navegador guarda a resposta, mas sempre revalida
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private static CacheEntity[] resolveEntities(HandlerMethod handlerMethod) {
+        VersionedGet versionedGet = AnnotatedElementUtils.findMergedAnnotation(
+                handlerMethod.getMethod(), VersionedGet.class);
+        if (versionedGet == null) {
+            versionedGet = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), VersionedGet.class);
+        }
+        return versionedGet != null ? versionedGet.value() : NONE;
+    }
+
+    private static UsuarioPrincipal usuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal principal
+                ? principal : null;
+    }
+}
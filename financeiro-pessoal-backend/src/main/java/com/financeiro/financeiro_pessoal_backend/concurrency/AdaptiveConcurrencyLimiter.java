@@ -0,0 +1,144 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada (gradiente)
+ *
+ * A cada janela, a latência média recente é comparada com uma média móvel
+ * longa: enquanto a recente fica dentro de {@code tolerance} vezes a
+ * referência, o limite cresce em {@code sqrt(limite)}; acima disso, ele é
+ * multiplicado pelo gradiente (entre 0,5 e 1). Janelas com sobrecarga
+ * explícita (503, timeout ao obter conexão) reduzem o limite por
+ * {@code backoffRatio}. Com uso abaixo da metade do limite a janela não
+ * traz informação e o limite não muda.
+ *
+ * A admissão é um CAS no contador de requisições em andamento; cada
+ * prioridade só entra enquanto esse contador está abaixo da sua fração do
+ * limite, então as de menor prioridade são recusadas primeiro.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private volatile long windowStart = System.nanoTime();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = clamp(properties.getInitialLimit());
+    }
+
+    /**
+     * Tenta admitir uma requisição da prioridade informada
+     */
+    public boolean tryAcquire(ConcurrencyLimitProperties.Priority priority) {
+        int threshold = Math.max(1, (int) (limit * share(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= threshold) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e registra a latência da requisição
+     *
+     * @param rttNanos duração da requisição; negativa para não usar como amostra
+     * @param dropped  se a requisição falhou por sobrecarga
+     */
+    public void release(long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            windowDropped.set(true);
+        } else if (rttNanos >= 0) {
+            windowRttNanos.add(rttNanos);
+            windowSamples.increment();
+        }
+
+        long now = System.nanoTime();
+        if (now - windowStart >= properties.getWindow().toNanos()
+                && (windowDropped.get() || windowSamples.sum() >= properties.getMinWindowSamples())
+                && updateLock.tryLock()) {
+            try {
+                if (now - windowStart >= properties.getWindow().toNanos()) {
+                    update(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long now) {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttNanos.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        boolean dropped = windowDropped.getAndSet(false);
+        windowStart = now;
+
+        if (dropped) {
+            limit = clamp(limit * properties.getBackoffRatio());
+            return;
+        }
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = (double) rttSum / samples;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            double factor = 1.0 / Math.max(1, properties.getLongWindow());
+            longRttNanos = longRttNanos * (1 - factor) + shortRtt * factor;
+            // Depois de um período lento, a referência volta mais rápido ao normal
+            if (longRttNanos / shortRtt > 2) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longRttNanos / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - properties.getSmoothing()) + target * properties.getSmoothing());
+    }
+
+    private double share(ConcurrencyLimitProperties.Priority priority) {
+        return switch (priority) {
+            case HIGH -> 1.0;
+            case NORMAL -> properties.getNormalShare();
+            case LOW -> properties.getLowShare();
+        };
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,30 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chamadas simultâneas e idênticas (mesmo usuário, método e argumentos)
+ * compartilham uma única execução (ver {@link RequestCoalescer})
+ *
+ * Apenas para leituras sem efeitos colaterais cujo resultado não seja
+ * alterado por quem o recebe; os argumentos precisam implementar
+ * {@code equals}/{@code hashCode}. Desnecessária em métodos
+ * {@code @Cacheable(sync = true)}, que já executam uma vez por chave.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+
+    /**
+     * Entidades das quais o resultado deriva: uma escrita do usuário nelas
+     * impede que as chamadas seguintes recebam uma execução iniciada antes dela
+     */
+    CacheEntity[] value();
+}
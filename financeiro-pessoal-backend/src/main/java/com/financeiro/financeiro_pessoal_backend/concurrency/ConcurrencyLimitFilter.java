@@ -0,0 +1,154 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limita as requisições simultâneas antes que elas esperem por conexão no Hikari
+ *
+ * Executado depois do rate limit. Quando o banco fica lento, o
+ * {@link AdaptiveConcurrencyLimiter} reduz o limite e as requisições acima
+ * dele recebem 503 imediato com {@code Retry-After}, em vez de ficarem até o
+ * {@code connection-timeout} na fila do pool. Dashboards e relatórios
+ * ({@code LOW}) são recusados primeiro; autenticação e escritas ({@code HIGH})
+ * por último. Métricas: {@code concurrency_limit.limit},
+ * {@code concurrency_limit.in_flight} e {@code concurrency_limit.rejected}.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        Gauge.builder("concurrency_limit.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite atual de requisições simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("concurrency_limit.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requisições em andamento sob o limite")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ConcurrencyLimitProperties.Priority priority = properties.isEnabled() ? resolvePriority(request) : null;
+        if (priority == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire(priority)) {
+            Counter.builder("concurrency_limit.rejected")
+                    .tag("prioridade", priority.name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+            log.debug("Requisição recusada por sobrecarga - Rota: {}, Prioridade: {}, Limite: {}",
+                    request.getServletPath(), priority, limiter.getLimit());
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = false;
+        boolean sample = true;
+        try {
+            filterChain.doFilter(request, response);
+            // 503 de filas próprias (bulkhead de relatórios, BCrypt, SSE) não indica
+            // banco saturado: não reduz o limite nem entra como amostra de latência
+            sample = response.getStatus() != HttpStatus.SERVICE_UNAVAILABLE.value();
+        } catch (IOException | ServletException | RuntimeException e) {
+            dropped = isOverload(e);
+            throw e;
+        } finally {
+            // Streams (SSE) seguem assíncronos sem ocupar conexão: a duração não é amostra
+            long rtt = request.isAsyncStarted() || !sample ? -1 : System.nanoTime() - start;
+            limiter.release(rtt, dropped);
+        }
+    }
+
+    /**
+     * Prioridade da requisição; nula se ela não é limitada
+     */
+    private ConcurrencyLimitProperties.Priority resolvePriority(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (String exclude : properties.getExclude()) {
+            if (pathMatcher.match(exclude, path)) {
+                return null;
+            }
+        }
+        for (ConcurrencyLimitProperties.Route route : properties.getRoutes()) {
+            if (route.matchesMethod(request.getMethod()) && pathMatcher.match(route.getPattern(), path)) {
+                return route.getPriority();
+            }
+        }
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? ConcurrencyLimitProperties.Priority.NORMAL
+                : ConcurrencyLimitProperties.Priority.HIGH;
+    }
+
+    /**
+     * Falhas do pool de conexões ou da transação, que indicam banco saturado,
+     * e não erro da requisição
+     */
+    private boolean isOverload(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof SQLTransientException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now().toString());
+        errorDetails.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorDetails.put("error", "Service Unavailable");
+        errorDetails.put("message", "Servidor sobrecarregado. Tente novamente em instantes.");
+        errorDetails.put("path", request.getServletPath());
+
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
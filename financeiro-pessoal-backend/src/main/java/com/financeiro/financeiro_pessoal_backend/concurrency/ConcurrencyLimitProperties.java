@@ -0,0 +1,91 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Limite adaptativo de requisições simultâneas (prefixo {@code app.concurrency-limit})
+ *
+ * A prioridade da requisição vem da primeira rota cujo padrão (Ant) e método
+ * casam; sem rota, escritas são {@code HIGH} e leituras {@code NORMAL}.
+ * Requisições em {@code exclude} não são limitadas nem medidas.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 5;
+
+    private int maxLimit = 100;
+
+    /**
+     * Duração mínima da janela de amostras que gera um ajuste do limite
+     */
+    private Duration window = Duration.ofSeconds(1);
+
+    /**
+     * Amostras mínimas na janela; com menos, a janela continua aberta
+     */
+    private int minWindowSamples = 10;
+
+    /**
+     * Peso do novo limite calculado em cada ajuste (0-1)
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Janelas consideradas na latência de referência (média móvel longa)
+     */
+    private int longWindow = 60;
+
+    /**
+     * Quanto a latência recente pode passar da referência antes de reduzir o limite
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Fator aplicado ao limite numa janela com sobrecarga (503, timeout de conexão)
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Fração do limite disponível para cada prioridade; {@code HIGH} usa o limite inteiro
+     */
+    private double normalShare = 0.8;
+
+    private double lowShare = 0.5;
+
+    private List<String> exclude = new ArrayList<>();
+
+    private List<Route> routes = new ArrayList<>();
+
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    @Data
+    public static class Route {
+
+        private String pattern;
+
+        /**
+         * Métodos HTTP da rota (todos, se vazio)
+         */
+        private Set<String> methods = Set.of();
+
+        private Priority priority = Priority.NORMAL;
+
+        public boolean matchesMethod(String method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+}
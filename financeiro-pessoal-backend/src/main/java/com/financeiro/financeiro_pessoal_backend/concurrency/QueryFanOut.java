@@ -0,0 +1,352 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import com.financeiro.financeiro_pessoal_backend.exception.ServiceUnavailableException;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatistics;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatisticsContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executa em paralelo grupos independentes de consultas de um mesmo método
+ *
+ * Uso: {@code fanOut.start("operacao")}, um {@code fork} por grupo de
+ * consultas e {@code join()}; depois disso cada {@link Result} tem o valor.
+ * A thread chamadora também executa grupos (na transação dela, se houver);
+ * as threads extras vêm de um pool limitado e cada uma abre a própria
+ * transação somente leitura (no pool de conexões da classe de carga da
+ * chamadora, ver {@link WorkloadContext}), por isso os grupos devem devolver valores
+ * (agregados, DTOs) e não entidades com associações lazy. Assim uma requisição usa no máximo
+ * {@code app.fan-out.max-per-request} conexões, e todas juntas no máximo
+ * {@code app.fan-out.max-connections} além das chamadoras: sem permissão
+ * livre, os grupos rodam em sequência na chamadora, como antes.
+ *
+ * O {@code app.fan-out.deadline} vale para a requisição inteira e vira o
+ * timeout das transações dos grupos (o banco cancela a consulta); ao
+ * estourar, os grupos pendentes são cancelados e a chamada falha com 503.
+ * {@code service.fan_out.wall} e {@code service.fan_out.summed} comparam o
+ * tempo real com a soma dos tempos dos grupos.
+ */
+@Component
+@Slf4j
+public class QueryFanOut {
+
+    private final boolean enabled;
+    private final int maxPerRequest;
+    private final Duration deadline;
+    private final Semaphore connections;
+    private final ThreadPoolExecutor executor;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    public QueryFanOut(PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.fan-out.enabled:true}") boolean enabled,
+                       @Value("${app.fan-out.threads:8}") int threads,
+                       @Value("${app.fan-out.max-connections:4}") int maxConnections,
+                       @Value("${app.fan-out.max-per-request:3}") int maxPerRequest,
+                       @Value("${app.fan-out.deadline:5s}") Duration deadline) {
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxPerRequest = Math.max(1, maxPerRequest);
+        this.deadline = deadline;
+        this.connections = new Semaphore(maxConnections);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                r -> {
+                    Thread thread = new Thread(r, "query-fan-out-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "query-fan-out", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Inicia um conjunto de grupos para a operação informada
+     */
+    public FanOut start(String operacao) {
+        return new FanOut(operacao);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Valor de um grupo, disponível depois do {@link FanOut#join()}
+     */
+    public static final class Result<T> {
+
+        private final Callable<T> task;
+        private volatile T value;
+        private volatile boolean done;
+
+        private Result(Callable<T> task) {
+            this.task = task;
+        }
+
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("Resultado consultado antes do join()");
+            }
+            return value;
+        }
+    }
+
+    public final class FanOut {
+
+        private final String operacao;
+        private final List<Result<?>> results = new ArrayList<>();
+
+        private FanOut(String operacao) {
+            this.operacao = operacao;
+        }
+
+        /**
+         * Registra um grupo de consultas; nada executa antes do {@link #join()}
+         */
+        public <T> Result<T> fork(Callable<T> task) {
+            Result<T> result = new Result<>(task);
+            results.add(result);
+            return result;
+        }
+
+        /**
+         * Executa todos os grupos e espera até o prazo
+         */
+        public void join() {
+            long start = System.nanoTime();
+            long deadlineNanos = start + deadline.toNanos();
+            Queue<Result<?>> pending = new ConcurrentLinkedQueue<>(results);
+            AtomicBoolean cancelled = new AtomicBoolean();
+            AtomicLong summedNanos = new AtomicLong();
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            WorkloadType workload = WorkloadContext.current();
+            List<Worker> workers = new ArrayList<>();
+
+            int extra = enabled ? Math.min(maxPerRequest - 1, results.size() - 1) : 0;
+            for (int i = 0; i < extra && connections.tryAcquire(); i++) {
+                AtomicBoolean claimed = new AtomicBoolean();
+                try {
+                    workers.add(new Worker(claimed, executor.submit(() -> {
+                        // Descartada pela chamadora enquanto esperava na fila (ver join)
+                        if (!claimed.compareAndSet(false, true)) {
+                            return null;
+                        }
+                        try {
+                            // Grupos já executados por outros: não ocupa uma conexão à toa
+                            if (pending.isEmpty() || cancelled.get()) {
+                                return null;
+                            }
+                            SecurityContextHolder.setContext(securityContext);
+                            WorkloadType previous = WorkloadContext.set(workload);
+                            try (SqlStatisticsContext.Scope scope = SqlStatisticsContext.open()) {
+                                transaction(deadlineNanos).executeWithoutResult(status ->
+                                        drain(pending, cancelled, summedNanos, deadlineNanos));
+                                return scope.statistics();
+                            } finally {
+                                WorkloadContext.restore(previous);
+                                SecurityContextHolder.clearContext();
+                            }
+                        } finally {
+                            connections.release();
+                        }
+                    })));
+                } catch (RejectedExecutionException e) {
+                    connections.release();
+                    break;
+                }
+            }
+            if (enabled && workers.size() < extra) {
+                Counter.builder("service.fan_out.degraded")
+                        .description("Execuções com menos paralelismo que o pedido por falta de conexões ou threads")
+                        .tag("operacao", operacao)
+                        .register(meterRegistry)
+                        .increment();
+            }
+
+            try {
+                drain(pending, cancelled, summedNanos, deadlineNanos);
+                // Não há mais grupos a iniciar: só as threads extras já em execução
+                // têm grupos em andamento; as que ainda estão na fila são descartadas
+                for (Worker worker : workers) {
+                    if (discard(worker)) {
+                        continue;
+                    }
+                    long remaining = deadlineNanos - System.nanoTime();
+                    SqlStatisticsContext.merge(worker.future().get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+                }
+            } catch (TimeoutException | CancellationException e) {
+                cancel(cancelled, workers);
+                throw deadlineExceeded();
+            } catch (InterruptedException e) {
+                cancel(cancelled, workers);
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Consulta interrompida");
+            } catch (ExecutionException e) {
+                cancel(cancelled, workers);
+                if (e.getCause() instanceof DeadlineExceeded
+                        || e.getCause() instanceof TransactionTimedOutException) {
+                    throw deadlineExceeded();
+                }
+                throw rethrow(e.getCause());
+            } catch (DeadlineExceeded e) {
+                cancel(cancelled, workers);
+                throw deadlineExceeded();
+            } catch (RuntimeException e) {
+                cancel(cancelled, workers);
+                throw e;
+            }
+
+            long wall = System.nanoTime() - start;
+            timer("service.fan_out.wall", "Tempo real das execuções em paralelo").record(wall, TimeUnit.NANOSECONDS);
+            timer("service.fan_out.summed", "Soma dos tempos dos grupos das execuções em paralelo")
+                    .record(summedNanos.get(), TimeUnit.NANOSECONDS);
+            log.debug("Fan-out {} - Grupos: {}, Threads extras: {}, Real: {} ms, Soma: {} ms", operacao,
+                    results.size(), workers.size(), TimeUnit.NANOSECONDS.toMillis(wall),
+                    TimeUnit.NANOSECONDS.toMillis(summedNanos.get()));
+        }
+
+        /**
+         * Executa grupos pendentes até acabarem, o prazo estourar ou haver cancelamento
+         */
+        private void drain(Queue<Result<?>> pending, AtomicBoolean cancelled, AtomicLong summedNanos,
+                           long deadlineNanos) {
+            Result<?> result;
+            while (!cancelled.get() && (result = pending.poll()) != null) {
+                if (deadlineNanos - System.nanoTime() <= 0) {
+                    throw new DeadlineExceeded();
+                }
+                long start = System.nanoTime();
+                run(result);
+                summedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        private <T> void run(Result<T> result) {
+            try {
+                result.value = result.task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            result.done = true;
+        }
+
+        /**
+         * Transação somente leitura da thread extra, com o restante do prazo como timeout
+         */
+        private TransactionTemplate transaction(long deadlineNanos) {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L)));
+            return transaction;
+        }
+
+        /**
+         * Descarta a thread extra se ela ainda não começou, devolvendo a permissão de conexão
+         *
+         * @return falso se ela já está em execução
+         */
+        private boolean discard(Worker worker) {
+            if (!worker.claimed().compareAndSet(false, true)) {
+                return false;
+            }
+            worker.future().cancel(false);
+            connections.release();
+            return true;
+        }
+
+        private void cancel(AtomicBoolean cancelled, List<Worker> workers) {
+            cancelled.set(true);
+            for (Worker worker : workers) {
+                if (!discard(worker)) {
+                    worker.future().cancel(true);
+                }
+            }
+        }
+
+        private ServiceUnavailableException deadlineExceeded() {
+            Counter.builder("service.fan_out.deadline_exceeded")
+                    .description("Execuções em paralelo canceladas por prazo")
+                    .tag("operacao", operacao)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Prazo de {} ms esgotado - Operação: {}", deadline.toMillis(), operacao);
+            return new ServiceUnavailableException("Tempo esgotado ao calcular " + operacao);
+        }
+
+        private Timer timer(String name, String description) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tag("operacao", operacao)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Thread extra de um fan-out; {@code claimed} decide entre ela começar a
+     * executar e a chamadora descartá-la
+     */
+    private record Worker(AtomicBoolean claimed, Future<SqlStatistics> future) {
+    }
+
+    /**
+     * Prazo da requisição esgotado antes de iniciar um grupo
+     */
+    private static final class DeadlineExceeded extends RuntimeException {
+
+        DeadlineExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
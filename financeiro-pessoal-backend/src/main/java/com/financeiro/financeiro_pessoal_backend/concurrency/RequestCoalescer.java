@@ -0,0 +1,129 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Junta chamadas idênticas em andamento dos métodos {@link Coalesced}
+ *
+ * A primeira chamada de uma chave (usuário, método, argumentos) executa o
+ * método; as que chegam enquanto ela não termina esperam e recebem o mesmo
+ * resultado ou a mesma exceção, sem abrir transação nem consultar o banco.
+ * Nada é guardado depois: ao terminar, a chave sai do mapa.
+ *
+ * A chave inclui a versão dos dados do usuário nas entidades do
+ * {@link Coalesced} ({@link DataVersions}): depois que uma escrita dele é
+ * confirmada, as chamadas seguintes não se juntam a uma execução iniciada
+ * antes dela e enxergam a própria escrita.
+ *
+ * Roda por fora do cache e da transação. Chamadas de dentro de uma transação
+ * não são agrupadas, para não receberem um resultado que ignore as escritas
+ * ainda não confirmadas dela. As métricas {@code service.coalescing.calls}
+ * (resultado executada/compartilhada) dão a taxa de agrupamento.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+    private final DataVersions dataVersions;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, Counter[]> counters = new ConcurrentHashMap<>();
+
+    private record Key(Long usuarioId, long version, Method method, List<Object> args) {
+    }
+
+    public RequestCoalescer(MeterRegistry meterRegistry, DataVersions dataVersions) {
+        this.meterRegistry = meterRegistry;
+        this.dataVersions = dataVersions;
+        Gauge.builder("service.coalescing.in_flight", inFlight, Map::size)
+                .description("Execuções em andamento que podem ser compartilhadas")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        Long usuarioId = usuarioLogadoId();
+        if (usuarioId == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Key key = new Key(usuarioId, dataVersions.versionOf(usuarioId, coalesced.value()), method,
+                Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        Counter[] methodCounters = counters.computeIfAbsent(method,
+                m -> newCounters(AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName() + "." + m.getName()));
+
+        if (existing != null) {
+            methodCounters[1].increment();
+            return await(existing);
+        }
+
+        methodCounters[0].increment();
+        try {
+            Object result = joinPoint.proceed();
+            inFlight.remove(key, future);
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrompido aguardando execução compartilhada");
+        }
+    }
+
+    private Counter[] newCounters(String operacao) {
+        return new Counter[]{counter(operacao, "executada"), counter(operacao, "compartilhada")};
+    }
+
+    private Counter counter(String operacao, String resultado) {
+        return Counter.builder("service.coalescing.calls")
+                .description("Chamadas agrupáveis, executadas ou atendidas por uma execução em andamento")
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private static Long usuarioLogadoId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal principal
+                ? principal.id() : null;
+    }
+}
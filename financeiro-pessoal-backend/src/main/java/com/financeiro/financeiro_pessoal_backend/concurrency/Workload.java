@@ -0,0 +1,20 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classe de carga do método (ver {@link WorkloadBulkhead})
+ *
+ * Métodos sem a anotação são {@link WorkloadType#OLTP}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadType value();
+}
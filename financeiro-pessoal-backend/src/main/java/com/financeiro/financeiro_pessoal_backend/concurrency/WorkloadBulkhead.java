@@ -0,0 +1,152 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import com.financeiro.financeiro_pessoal_backend.exception.ServiceUnavailableException;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatistics;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatisticsContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isola os métodos {@link Workload}({@link WorkloadType#REPORTING}) das operações curtas
+ *
+ * Esses métodos executam num pool de threads próprio, com no máximo
+ * {@code app.workload.reporting.threads} em paralelo e até
+ * {@code queue-capacity} aguardando; acima disso, ou passado o
+ * {@code timeout}, a chamada falha na hora com 503. Na thread do pool, a
+ * transação obtém conexão do pool de conexões de relatórios (ver
+ * {@link WorkloadRoutingDataSource}). Assim uma rajada de relatórios não
+ * ocupa as threads da requisição nem as conexões de que o CRUD precisa.
+ *
+ * Roda depois do cache (acertos não trocam de thread) e antes da transação.
+ * Chamadas já dentro de uma transação ou de outro relatório executam na
+ * própria thread.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class WorkloadBulkhead {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public WorkloadBulkhead(MeterRegistry meterRegistry,
+                            @Value("${app.workload.reporting.threads:4}") int threads,
+                            @Value("${app.workload.reporting.queue-capacity:16}") int queueCapacity,
+                            @Value("${app.workload.reporting.timeout:30s}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "workload-reporting-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "workload-reporting");
+    }
+
+    @Around("@annotation(workload)")
+    public Object isolate(ProceedingJoinPoint joinPoint, Workload workload) throws Throwable {
+        if (workload.value() == WorkloadType.OLTP
+                || WorkloadContext.current() == workload.value()
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operacao = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Future<Execution> future;
+        try {
+            future = executor.submit(() -> {
+                WorkloadType previous = WorkloadContext.set(workload.value());
+                SecurityContextHolder.setContext(securityContext);
+                try (SqlStatisticsContext.Scope scope = SqlStatisticsContext.open()) {
+                    Object value;
+                    try {
+                        value = joinPoint.proceed();
+                    } catch (Throwable e) {
+                        return new Execution(null, e, scope.statistics());
+                    }
+                    return new Execution(value, null, scope.statistics());
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    WorkloadContext.restore(previous);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw rejeitar(workload.value(), operacao, "fila_cheia", e);
+        }
+
+        Execution execution;
+        try {
+            execution = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw rejeitar(workload.value(), operacao, "tempo_esgotado", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Consulta interrompida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+
+        SqlStatisticsContext.merge(execution.statistics());
+        if (execution.error() != null) {
+            throw execution.error();
+        }
+        return execution.value();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Resultado da execução no pool, com as estatísticas SQL da thread que a executou
+     */
+    private record Execution(Object value, Throwable error, SqlStatistics statistics) {
+    }
+
+    private ServiceUnavailableException rejeitar(WorkloadType workload, String operacao, String motivo, Exception e) {
+        Counter.builder("workload.rejected")
+                .tag("workload", workload.name().toLowerCase())
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Execução recusada pelo bulkhead - Operação: {}, Motivo: {}, Fila: {}",
+                operacao, motivo, executor.getQueue().size());
+        return new ServiceUnavailableException("Servidor ocupado. Tente novamente em instantes.", e);
+    }
+}
@@ -0,0 +1,38 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+/**
+ * Classe de carga em execução na thread atual, usada pelo
+ * {@link WorkloadRoutingDataSource} para escolher o pool de conexões
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * Classe de carga da thread atual ({@link WorkloadType#OLTP} se nenhuma)
+     */
+    public static WorkloadType current() {
+        WorkloadType type = CURRENT.get();
+        return type != null ? type : WorkloadType.OLTP;
+    }
+
+    /**
+     * Define a classe de carga e retorna a anterior, para restauração
+     */
+    public static WorkloadType set(WorkloadType type) {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(type);
+        return previous;
+    }
+
+    public static void restore(WorkloadType previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que entrega conexões do pool da classe de carga da thread atual
+ *
+ * A escolha acontece quando a conexão é obtida, isto é, no início da
+ * transação; uma transação já aberta continua no pool em que começou.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(DataSource oltp, DataSource reporting) {
+        setTargetDataSources(Map.of(WorkloadType.OLTP, oltp, WorkloadType.REPORTING, reporting));
+        setDefaultTargetDataSource(oltp);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
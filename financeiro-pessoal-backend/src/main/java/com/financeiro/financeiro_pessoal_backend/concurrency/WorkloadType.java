@@ -0,0 +1,18 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+/**
+ * Classe de carga de um método de service, que define o pool de threads e o
+ * pool de conexões em que ele executa (ver {@link WorkloadBulkhead})
+ */
+public enum WorkloadType {
+
+    /**
+     * Operações curtas (CRUD): threads da requisição e pool principal
+     */
+    OLTP,
+
+    /**
+     * Relatórios e resumos pesados: pool de threads e de conexões próprios
+     */
+    REPORTING
+}
@@ -1,33 +1,195 @@
 package com.financeiro.financeiro_pessoal_backend.config;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntryWeigher;
+import com.financeiro.financeiro_pessoal_backend.cache.CachePolicyProperties;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheRefreshLoader;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTagIndex;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.cache.ExpiringTagIndex;
+import com.financeiro.financeiro_pessoal_backend.cache.LocalSharedCacheStore;
+import com.financeiro.financeiro_pessoal_backend.cache.SharedCacheStore;
+import com.financeiro.financeiro_pessoal_backend.cache.SingleFlightCaffeineCache;
+import com.financeiro.financeiro_pessoal_backend.cache.StaleWhileRevalidateCache;
+import com.financeiro.financeiro_pessoal_backend.cache.TaggedCache;
+import com.financeiro.financeiro_pessoal_backend.cache.TwoLevelCache;
+import com.financeiro.financeiro_pessoal_backend.cache.UsuarioCacheKeyGenerator;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * O interceptor de cache roda antes do bulkhead e do transacional: acertos
+ * no cache não trocam de thread, não abrem transação nem ocupam conexão, e
+ * recálculos em segundo plano abrem a própria transação na thread em que
+ * executam.
+ */
 @Configuration
-@EnableCaching
-public class CacheConfig {
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
+@EnableConfigurationProperties(CachePolicyProperties.class)
+public class CacheConfig implements CachingConfigurer {
 
-    @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .maximumSize(1000)
-                .recordStats();
+    public static final List<String> CACHE_NAMES = List.of(
+            "dashboard", "receitas", "despesas", "metas",
+            "categorias", "parametros", "usuarios"
+    );
+
+    private static final long STALE_MAXIMUM_SIZE = 10_000;
+
+    private final AtomicInteger loaderThreads = new AtomicInteger();
+
+    private final AtomicInteger refreshThreads = new AtomicInteger();
+
+    private final ExecutorService staleLoadExecutor;
+
+    private final ExecutorService refreshExecutor;
+
+    public CacheConfig(@Value("${app.cache.stale-load-threads:4}") int staleLoadThreads,
+                       @Value("${app.cache.refresh-threads:4}") int refreshThreadCount,
+                       @Value("${app.cache.refresh-queue-capacity:1000}") int refreshQueueCapacity) {
+        this.staleLoadExecutor = Executors.newFixedThreadPool(staleLoadThreads, r -> {
+            Thread thread = new Thread(r, "cache-load-" + loaderThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Refresh e manutenção do Caffeine: recálculos bloqueiam em JDBC e não
+        // podem ocupar o ForkJoinPool comum. Com a fila cheia, o Caffeine faz a
+        // manutenção na thread chamadora e o refresh fica para a próxima leitura
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreadCount, refreshThreadCount,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(refreshQueueCapacity), r -> {
+            Thread thread = new Thread(r, "cache-refresh-" + refreshThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Chave padrão: usuário logado + método + argumentos
+     */
+    @Override
+    public KeyGenerator keyGenerator() {
+        return new UsuarioCacheKeyGenerator();
+    }
+
+    @PreDestroy
+    public void shutdownExecutors() {
+        staleLoadExecutor.shutdownNow();
+        refreshExecutor.shutdownNow();
     }
 
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "dashboard", "receitas", "despesas", "metas",
-                "categorias", "parametros"
-        );
-        cacheManager.setCaffeine(caffeine);
+    public CacheManager cacheManager(CachePolicyProperties properties,
+                                     CacheTagIndex cacheTagIndex,
+                                     DataVersions dataVersions,
+                                     ObjectProvider<SharedCacheStore> sharedCacheStore,
+                                     @Value("${app.cache.l2.maximum-size:10000}") long sharedMaximumSize,
+                                     @Value("${app.cache.l2.ttl:30m}") Duration sharedTtl) {
+        SharedCacheStore shared = sharedCacheStore.getIfAvailable();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(CACHE_NAMES.stream()
+                .map(name -> {
+                    CachePolicyProperties.Policy policy = properties.policyFor(name);
+                    Cache local = buildCache(name, policy, cacheTagIndex, dataVersions);
+                    if (policy.getStaleWhileRevalidate() != null) {
+                        StaleWhileRevalidateCache stale = new StaleWhileRevalidateCache(local,
+                                policy.getStaleWhileRevalidate(),
+                                policy.getLoadTimeout() != null ? policy.getLoadTimeout() : Duration.ofSeconds(2),
+                                policy.getMaximumSize() != null ? policy.getMaximumSize() : STALE_MAXIMUM_SIZE,
+                                staleLoadExecutor, dataVersions);
+                        dataVersions.addListener(stale::evictTags);
+                        local = stale;
+                    }
+                    if (shared == null) {
+                        return local;
+                    }
+                    TwoLevelCache twoLevel = new TwoLevelCache(local, shared,
+                            new ExpiringTagIndex(name, sharedMaximumSize, sharedTtl), dataVersions);
+                    dataVersions.addListener(twoLevel::evictTags);
+                    return twoLevel;
+                })
+                .toList());
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    /**
+     * L2 em memória, usado quando o cache compartilhado está habilitado e
+     * nenhuma outra implementação de {@link SharedCacheStore} foi registrada
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.l2", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(SharedCacheStore.class)
+    public SharedCacheStore localSharedCacheStore(@Value("${app.cache.l2.maximum-size:10000}") long maximumSize,
+                                                  @Value("${app.cache.l2.ttl:30m}") Duration ttl) {
+        return new LocalSharedCacheStore(maximumSize, ttl);
+    }
+
+    /**
+     * Expõe as estatísticas do Caffeine no Micrometer
+     * O registro padrão do Spring Boot não reconhece os caches decorados
+     */
+    @Bean
+    public CacheMeterBinderProvider<Cache> decoratedCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache
+                ? new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags)
+                : null;
+    }
+
+    /**
+     * Cria o cache Caffeine com a política configurada, decorado com o registro de tags
+     * Entradas expiradas ou removidas por tamanho/peso saem também do índice de tags
+     */
+    private Cache buildCache(String name, CachePolicyProperties.Policy policy, CacheTagIndex cacheTagIndex,
+                             DataVersions dataVersions) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        if (policy.getMaximumSize() != null && policy.getMaximumWeight() != null) {
+            throw new IllegalStateException(
+                    "Cache '" + name + "': maximum-size e maximum-weight não podem ser usados juntos");
+        }
+        if (policy.getMaximumWeight() != null) {
+            builder.maximumWeight(policy.getMaximumWeight()).weigher(new CacheEntryWeigher());
+        } else if (policy.getMaximumSize() != null) {
+            builder.maximumSize(policy.getMaximumSize());
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        builder.evictionListener((key, value, cause) -> cacheTagIndex.unregister(name, key));
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache;
+        if (policy.getRefreshAfterWrite() != null) {
+            nativeCache = builder.refreshAfterWrite(policy.getRefreshAfterWrite())
+                    .executor(refreshExecutor)
+                    .build(new CacheRefreshLoader(name, cacheTagIndex));
+        } else {
+            nativeCache = builder.build();
+        }
+        return new TaggedCache(new SingleFlightCaffeineCache(name, nativeCache), cacheTagIndex, dataVersions);
+    }
+}
@@ -0,0 +1,109 @@
+package com.financeiro.financeiro_pessoal_backend.config;
+
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTag;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadRoutingDataSource;
+import com.financeiro.financeiro_pessoal_backend.datasource.ReplicaHealth;
+import com.financeiro.financeiro_pessoal_backend.datasource.ReplicaProperties;
+import com.financeiro.financeiro_pessoal_backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Um pool de conexões por classe de carga, atrás de um DataSource roteador
+ *
+ * Os dois pools usam a mesma URL e credenciais ({@code spring.datasource.*});
+ * o OLTP é configurado em {@code spring.datasource.hikari.*} e o de
+ * relatórios em {@code app.workload.reporting.hikari.*}, cada um com seu
+ * tamanho e {@code statement_timeout}. JPA, Flyway e JdbcTemplate usam o
+ * roteador, que entrega o pool de relatórios só às threads do bulkhead.
+ *
+ * Com {@code app.datasource.replica.enabled}, um terceiro pool aponta para a
+ * réplica de leitura e as transações somente leitura passam a ir para ela
+ * (ver {@link ReplicaRoutingDataSource}); os dois pools do primário ficam
+ * como destino das escritas e das leituras que precisam do dado atual.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("oltp");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.workload.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("reporting");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, ReplicaProperties replica) {
+        DataSourceBuilder<HikariDataSource> builder = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl());
+        if (StringUtils.hasText(replica.getUsername())) {
+            builder.username(replica.getUsername()).password(replica.getPassword());
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaHealth replicaHealth(@Qualifier("replicaDataSource") DataSource replica,
+                                       ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaHealth(replica, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") DataSource oltp,
+                                 @Qualifier("reportingDataSource") DataSource reporting,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                 ObjectProvider<ReplicaHealth> replicaHealth,
+                                 ReplicaProperties replicaProperties,
+                                 DataVersions dataVersions,
+                                 MeterRegistry meterRegistry) {
+        DataSource primary = new WorkloadRoutingDataSource(oltp, reporting);
+        ReplicaHealth health = replicaHealth.getIfAvailable();
+        if (health == null) {
+            return primary;
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica.getObject(), health,
+                replicaProperties.getReadYourWritesWindow(), meterRegistry);
+        // Invalidações de cache chegam após o commit, inclusive as de outros nós
+        dataVersions.addListener(tags -> {
+            for (CacheTag tag : tags) {
+                if (!tag.isGlobal()) {
+                    routing.markWritten(tag.usuarioId());
+                }
+            }
+        });
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
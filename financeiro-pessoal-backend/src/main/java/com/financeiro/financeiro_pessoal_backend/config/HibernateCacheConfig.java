@@ -0,0 +1,74 @@
+package com.financeiro.financeiro_pessoal_backend.config;
+
+import com.financeiro.financeiro_pessoal_backend.cache.HibernateCacheProperties;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate em Caffeine (via JCache)
+ *
+ * Só as entidades marcadas com {@code @Cacheable} usam o cache, com
+ * estratégia {@code READ_WRITE}: a entrada é bloqueada durante a escrita e
+ * substituída no commit. Consultas entram no cache de consultas com a dica
+ * {@code org.hibernate.cacheable} e são descartadas quando qualquer tabela
+ * que leem é alterada. Alterações feitas fora da sessão são tratadas pelo
+ * {@code HibernateCacheInvalidator}.
+ */
+@Configuration
+@EnableConfigurationProperties(HibernateCacheProperties.class)
+@ConditionalOnProperty(prefix = "app.hibernate-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = regionConfiguration();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            if (region.getExpireAfterWrite() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+            }
+            cacheManager.createCache(name, configuration);
+        });
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, regionConfiguration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, JCacheRegionFactory.class.getName());
+            hibernateProperties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Guarda as próprias entradas do Hibernate, sem cópia por serialização a cada acesso
+     */
+    private static CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,68 @@
+package com.financeiro.financeiro_pessoal_backend.config;
+
+import com.financeiro.financeiro_pessoal_backend.observability.MethodMetrics;
+import com.financeiro.financeiro_pessoal_backend.observability.RepositoryMetricsListener;
+import com.financeiro.financeiro_pessoal_backend.observability.SlowQueryListener;
+import com.financeiro.financeiro_pessoal_backend.observability.SlowQueryLog;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlBudgetProperties;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource com o proxy que conta instruções, linhas e tempo de
+ * JDBC por requisição (ver {@code SqlMetricsFilter}) e por fingerprint
+ * (ver {@link SlowQueryLog}), e liga a medição de latência dos repositories
+ * (ver {@link MethodMetrics})
+ */
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class ObservabilityConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Roteadores e o proxy preguiçoso só delegam: as instruções são contadas nos pools de destino
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || bean instanceof AbstractRoutingDataSource || bean instanceof DelegatingDataSource) {
+                    return bean;
+                }
+                SqlStatisticsListener statisticsListener = new SqlStatisticsListener();
+                SlowQueryListener slowQueryListener = new SlowQueryListener(slowQueryLog::getObject);
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(statisticsListener)
+                        .listener(slowQueryListener)
+                        .methodListener(statisticsListener)
+                        .methodListener(slowQueryListener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MethodMetrics> methodMetrics) {
+        RepositoryMetricsListener listener = new RepositoryMetricsListener(methodMetrics::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+}
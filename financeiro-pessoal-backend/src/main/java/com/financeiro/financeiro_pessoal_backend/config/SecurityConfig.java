@@ -1,9 +1,18 @@
 package com.financeiro.financeiro_pessoal_backend.config;
 
+import com.financeiro.financeiro_pessoal_backend.concurrency.ConcurrencyLimitFilter;
+import com.financeiro.financeiro_pessoal_backend.concurrency.ConcurrencyLimitProperties;
+import com.financeiro.financeiro_pessoal_backend.ratelimit.RateLimitFilter;
+import com.financeiro.financeiro_pessoal_backend.ratelimit.RateLimitProperties;
+import com.financeiro.financeiro_pessoal_backend.security.BoundedPasswordEncoder;
 import com.financeiro.financeiro_pessoal_backend.security.JwtAccessDeniedHandler;
 import com.financeiro.financeiro_pessoal_backend.security.JwtAuthenticationEntryPoint;
 import com.financeiro.financeiro_pessoal_backend.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,9 +28,12 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(securedEnabled = true, jsr250Enabled = true)
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -29,6 +41,8 @@ public class SecurityConfig {
     private final CorsConfigurationSource corsConfigurationSource;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -36,6 +50,10 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Fim de respostas assíncronas (SSE) de requisições já autorizadas
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Estatísticas de SQL expõem as consultas da aplicação
+                        .requestMatchers("/actuator/sqlstats", "/actuator/sqlstats/**").hasRole("ADMIN")
                         // Endpoints públicos
                         .requestMatchers(
                                 "/auth/**",
@@ -61,7 +79,9 @@ public class SecurityConfig {
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint)
                         .accessDeniedHandler(jwtAccessDeniedHandler)
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(concurrencyLimitFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -71,8 +91,19 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Strength 12 para maior segurança
+    /**
+     * BCrypt executado no pool limitado; hashes com custo menor que o
+     * configurado são refeitos no próximo login (ver UserDetailsServiceImpl)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.bcrypt-strength:12}") int strength,
+            @Value("${security.password.threads:0}") int threads,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.timeout:5s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity,
+                timeout, meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.financeiro.financeiro_pessoal_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Modo de execução das requisições: threads de plataforma ou virtuais
+ *
+ * Com {@code spring.threads.virtual.enabled=true} e JDK 21+, o Spring Boot
+ * executa o Tomcat, o {@code @Async} e o {@code @Scheduled} em threads
+ * virtuais; em JDK anteriores a propriedade é ignorada. O modo é opcional
+ * e fica desligado por padrão (build e imagem padrão usam JDK 17). Sem o limite de
+ * threads do Tomcat, quem limita a concorrência no banco é o pool do Hikari
+ * ({@code spring.datasource.hikari.maximum-pool-size}). O gauge
+ * {@code app.threads.virtual} identifica o modo nas comparações de carga.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    private final boolean virtual;
+    private final int maximumPoolSize;
+
+    public ThreadingConfig(Environment environment,
+                           MeterRegistry meterRegistry,
+                           @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        this.maximumPoolSize = maximumPoolSize;
+
+        Gauge.builder("app.threads.virtual", () -> virtual ? 1 : 0)
+                .description("1 quando as requisições executam em threads virtuais")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreading() {
+        log.info("Execução de requisições - Threads virtuais: {}, JDK: {}, Conexões no pool: {}",
+                virtual ? "ativas" : "inativas", Runtime.version().feature(), maximumPoolSize);
+    }
+}
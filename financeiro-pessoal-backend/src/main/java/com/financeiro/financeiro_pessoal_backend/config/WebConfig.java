@@ -0,0 +1,19 @@
+package com.financeiro.financeiro_pessoal_backend.config;
+
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final VersionedGetInterceptor versionedGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(versionedGetInterceptor);
+    }
+}
@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.controller;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGet;
 import com.financeiro.financeiro_pessoal_backend.dto.request.CategoriaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.CategoriaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoCategoria;
@@ -20,6 +22,7 @@ import java.util.Map;
 @RequestMapping("/categorias")
 @RequiredArgsConstructor
 @Slf4j
+@VersionedGet({CacheEntity.CATEGORIA, CacheEntity.DESPESA})
 @Tag(name = "Categorias", description = "Gerenciamento de categorias")
 public class CategoriaController {
 
@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.controller;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGet;
 import com.financeiro.financeiro_pessoal_backend.dto.response.DashboardResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +22,7 @@ import java.util.Optional;
 @RequestMapping("/dashboard")
 @RequiredArgsConstructor
 @Slf4j
+@VersionedGet({CacheEntity.RECEITA, CacheEntity.DESPESA, CacheEntity.META, CacheEntity.CATEGORIA})
 @Tag(name = "Dashboard", description = "Dashboard e análises financeiras consolidadas")
 public class DashboardController {
 
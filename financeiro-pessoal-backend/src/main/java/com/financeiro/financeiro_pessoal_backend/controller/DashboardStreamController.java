@@ -0,0 +1,40 @@
+package com.financeiro.financeiro_pessoal_backend.controller;
+
+import com.financeiro.financeiro_pessoal_backend.service.DashboardStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Dashboard", description = "Dashboard e análises financeiras consolidadas")
+public class DashboardStreamController {
+
+    private final DashboardStreamService dashboardStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de mudanças do dashboard",
+            description = "Server-Sent Events: 'snapshot' ao conectar e 'delta' com os campos alterados do mês atual. "
+                    + "Requer o cabeçalho Authorization (use fetch/ReadableStream em vez de EventSource); a conexão "
+                    + "é encerrada quando o token expira ou a sessão é revogada")
+    public SseEmitter stream(
+            Authentication authentication,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        log.info("GET /dashboard/stream");
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        return dashboardStreamService.conectar(authentication, accessToken);
+    }
+}
@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.controller;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGet;
 import com.financeiro.financeiro_pessoal_backend.dto.request.DespesaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.DespesaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.ReceitaResponseDTO;
@@ -30,6 +32,7 @@ import java.util.Map;
 @RequestMapping("/despesas")
 @RequiredArgsConstructor
 @Slf4j
+@VersionedGet({CacheEntity.DESPESA, CacheEntity.CATEGORIA, CacheEntity.RECEITA, CacheEntity.USUARIO})
 @Tag(name = "Despesas", description = "Gerenciamento de despesas")
 public class DespesaController {
 
@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.controller;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGet;
 import com.financeiro.financeiro_pessoal_backend.dto.request.AporteMetaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.request.MetaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.MetaResponseDTO;
@@ -29,6 +31,7 @@ import java.util.Map;
 @RequestMapping("/metas")
 @RequiredArgsConstructor
 @Slf4j
+@VersionedGet({CacheEntity.META, CacheEntity.USUARIO})
 @Tag(name = "Metas", description = "Gerenciamento de metas financeiras")
 public class MetaController {
 
@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.controller;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGet;
 import com.financeiro.financeiro_pessoal_backend.dto.request.ParametroRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.ParametroResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoParametro;
@@ -20,6 +22,7 @@ import java.util.Map;
 @RequestMapping("/parametros")
 @RequiredArgsConstructor
 @Slf4j
+@VersionedGet({CacheEntity.PARAMETRO})
 @Tag(name = "Parâmetros", description = "Gerenciamento de parâmetros de configuração")
 public class ParametroController {
 
@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.controller;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.VersionedGet;
 import com.financeiro.financeiro_pessoal_backend.dto.request.ReceitaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.ReceitaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.service.ReceitaService;
@@ -25,6 +27,7 @@ import java.util.List;
 @RequestMapping("/receitas")
 @RequiredArgsConstructor
 @Slf4j
+@VersionedGet({CacheEntity.RECEITA, CacheEntity.DESPESA, CacheEntity.USUARIO})
 @Tag(name = "Receitas", description = "Gerenciamento de receitas")
 public class ReceitaController {
 
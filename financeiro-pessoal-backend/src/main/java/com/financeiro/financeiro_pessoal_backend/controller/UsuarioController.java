@@ -2,8 +2,12 @@ package com.financeiro.financeiro_pessoal_backend.controller;
 
 import com.financeiro.financeiro_pessoal_backend.dto.request.AlterarSenhaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.request.AtualizarUsuarioRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.request.UsuarioFiltroRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.response.CursorPageResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.response.PurgaContaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.UsuarioResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.service.PurgaContaService;
 import com.financeiro.financeiro_pessoal_backend.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,7 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/usuarios")
@@ -23,6 +27,7 @@ import java.util.List;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final PurgaContaService purgaContaService;
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar usuário por ID")
@@ -40,27 +45,12 @@ public class UsuarioController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/ativos")
-    @Operation(summary = "Listar usuários ativos", description = "Apenas admin")
-    public ResponseEntity<List<UsuarioResponseDTO>> findAllAtivos() {
-        log.info("GET /usuarios/ativos");
-        List<UsuarioResponseDTO> response = usuarioService.findAllAtivos();
-        return ResponseEntity.ok(response);
-    }
-
-    @GetMapping("/tipo/{tipo}")
-    @Operation(summary = "Buscar usuários por tipo", description = "Apenas admin")
-    public ResponseEntity<List<UsuarioResponseDTO>> findByTipo(@PathVariable TipoUsuario tipo) {
-        log.info("GET /usuarios/tipo/{}", tipo);
-        List<UsuarioResponseDTO> response = usuarioService.findByTipo(tipo);
-        return ResponseEntity.ok(response);
-    }
-
-    @GetMapping("/search")
-    @Operation(summary = "Buscar usuários por nome", description = "Apenas admin")
-    public ResponseEntity<List<UsuarioResponseDTO>> searchByNome(@RequestParam String nome) {
-        log.info("GET /usuarios/search?nome={}", nome);
-        List<UsuarioResponseDTO> response = usuarioService.searchByNome(nome);
+    @GetMapping
+    @Operation(summary = "Listar usuários",
+            description = "Apenas admin. Filtros por situação, tipo e nome; paginação por cursor (proximoCursor)")
+    public ResponseEntity<CursorPageResponseDTO<UsuarioResponseDTO>> listar(@Valid UsuarioFiltroRequestDTO filtro) {
+        log.info("GET /usuarios - Filtro: {}", filtro);
+        CursorPageResponseDTO<UsuarioResponseDTO> response = usuarioService.listar(filtro);
         return ResponseEntity.ok(response);
     }
 
@@ -92,6 +82,25 @@ public class UsuarioController {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping("/{id}/conta")
+    @Operation(summary = "Remover conta e dados definitivamente",
+            description = "Executa em segundo plano; acompanhe pelo endereço em Location")
+    public ResponseEntity<PurgaContaResponseDTO> removerConta(@PathVariable Long id) {
+        log.info("DELETE /usuarios/{}/conta", id);
+        PurgaContaResponseDTO response = purgaContaService.agendar(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/usuarios/purgas/" + response.getId()))
+                .body(response);
+    }
+
+    @GetMapping("/purgas/{purgaId}")
+    @Operation(summary = "Progresso da remoção de conta")
+    public ResponseEntity<PurgaContaResponseDTO> buscarPurga(@PathVariable String purgaId) {
+        log.info("GET /usuarios/purgas/{}", purgaId);
+        PurgaContaResponseDTO response = purgaContaService.buscarProgresso(purgaId);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}/reativar")
     @Operation(summary = "Reativar conta do usuário", description = "Apenas admin")
     public ResponseEntity<Void> reativar(@PathVariable Long id) {
@@ -0,0 +1,157 @@
+package com.financeiro.financeiro_pessoal_backend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Disponibilidade e atraso de replicação da réplica de leitura
+ *
+ * A cada {@code check-interval} consulta na réplica há quanto tempo foi
+ * aplicada a última transação recebida do primário (zero quando tudo o que
+ * chegou já foi aplicado). A réplica sai de uso quando o atraso passa de
+ * {@code max-lag} ou o atraso é desconhecido, após {@code failure-threshold}
+ * verificações seguidas com erro, ou na hora, quando uma requisição não
+ * consegue conexão com ela; volta na primeira verificação bem-sucedida.
+ *
+ * Uma instância que não está em recuperação (um PostgreSQL comum fazendo o
+ * papel de réplica em testes locais) é tratada como sem atraso.
+ */
+@Slf4j
+public class ReplicaHealth implements SmartLifecycle {
+
+    private static final String LAG_SQL = """
+            SELECT pg_is_in_recovery() AS em_recuperacao,
+                   CASE WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END AS atraso""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final int failureThreshold;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean available;
+    private volatile double lagSeconds;
+    private volatile boolean standaloneWarned;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ReplicaHealth(DataSource replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getMaxLag().compareTo(properties.getReadYourWritesWindow()) >= 0) {
+            throw new IllegalStateException(
+                    "app.datasource.replica.max-lag deve ser menor que read-your-writes-window");
+        }
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.getCheckInterval().toSeconds()));
+        this.maxLag = properties.getMaxLag();
+        this.checkInterval = properties.getCheckInterval();
+        this.failureThreshold = properties.getFailureThreshold();
+
+        Gauge.builder("datasource.replica.available", this, health -> health.available ? 1 : 0)
+                .description("Se a réplica de leitura está recebendo leituras")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, health -> health.lagSeconds)
+                .description("Atraso de replicação medido na última verificação")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Tira a réplica de uso após uma falha ao obter conexão; a próxima
+     * verificação bem-sucedida a devolve
+     */
+    public void markDown(Exception e) {
+        consecutiveFailures.set(failureThreshold);
+        setAvailable(false, "falha de conexão: " + e.getMessage());
+    }
+
+    /**
+     * Executa uma verificação; chamado pelo agendador
+     */
+    public void check() {
+        try {
+            jdbcTemplate.query(LAG_SQL, rs -> {
+                boolean emRecuperacao = rs.getBoolean("em_recuperacao");
+                double atraso = rs.getDouble("atraso");
+                boolean atrasoConhecido = !rs.wasNull();
+                consecutiveFailures.set(0);
+
+                if (!emRecuperacao && !standaloneWarned) {
+                    standaloneWarned = true;
+                    log.warn("Réplica de leitura não está em recuperação; tratada como sem atraso");
+                }
+                if (!atrasoConhecido) {
+                    setAvailable(false, "atraso de replicação desconhecido");
+                    return;
+                }
+                lagSeconds = atraso;
+                if (atraso * 1000 > maxLag.toMillis()) {
+                    setAvailable(false, String.format("atraso de replicação de %.1fs", atraso));
+                } else {
+                    setAvailable(true, null);
+                }
+            });
+        } catch (DataAccessException e) {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                setAvailable(false, "verificação falhou: " + e.getMessage());
+            } else {
+                log.debug("Verificação da réplica falhou ({}): {}", consecutiveFailures.get(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        check();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void setAvailable(boolean value, String motivo) {
+        if (available == value) {
+            return;
+        }
+        available = value;
+        if (value) {
+            log.info("Réplica de leitura disponível - Atraso: {}s", lagSeconds);
+        } else {
+            log.warn("Réplica de leitura fora de uso, leituras no primário - Motivo: {}", motivo);
+        }
+    }
+}
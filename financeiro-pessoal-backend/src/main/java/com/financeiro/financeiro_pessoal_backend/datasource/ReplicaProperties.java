@@ -0,0 +1,45 @@
+package com.financeiro.financeiro_pessoal_backend.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réplica de leitura (prefixo {@code app.datasource.replica})
+ *
+ * Usuário e senha vazios reutilizam os de {@code spring.datasource}; o pool
+ * é configurado em {@code app.datasource.replica.hikari.*}. O
+ * {@code maxLag} precisa ser menor que {@code readYourWritesWindow}: com a
+ * réplica mais atrasada que isso ela sai de uso, então quem acabou de
+ * escrever nunca lê dela um estado anterior à própria escrita.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Tempo em que as leituras de um usuário ficam no primário após uma escrita dele
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Atraso de replicação acima do qual a réplica deixa de receber leituras
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /**
+     * Verificações seguidas com falha até a réplica sair de uso
+     */
+    private int failureThreshold = 3;
+}
@@ -0,0 +1,155 @@
+package com.financeiro.financeiro_pessoal_backend.datasource;
+
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Envia as transações somente leitura para a réplica e o resto para o primário
+ *
+ * A escolha usa a marcação {@code readOnly} da transação, que só está
+ * definida depois que o gerenciador de transações obtém a conexão; por isso
+ * este DataSource fica atrás de um {@code LazyConnectionDataSourceProxy},
+ * que adia a obtenção até a primeira instrução.
+ *
+ * Continuam no primário: escritas e acessos fora de transação, leituras sem
+ * usuário autenticado (login, refresh token, tarefas em segundo plano), as
+ * leituras do usuário durante {@code read-your-writes-window} após uma
+ * escrita confirmada dele (neste nó ou, via invalidação de cache, em outro),
+ * e tudo enquanto o {@link ReplicaHealth} mantém a réplica fora de uso. Se a
+ * réplica recusa a conexão, a transação segue no primário.
+ *
+ * Métrica: {@code datasource.replica.routed}, por destino e motivo.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth health;
+    private final Cache<Long, Boolean> recentWriters;
+
+    private final Counter leitura;
+    private final Counter escrita;
+    private final Counter anonimo;
+    private final Counter escritaRecente;
+    private final Counter indisponivel;
+    private final Counter falhaConexao;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealth health,
+                                    Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.health = health;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+
+        this.leitura = counter(meterRegistry, "replica", "leitura");
+        this.escrita = counter(meterRegistry, "primario", "escrita");
+        this.anonimo = counter(meterRegistry, "primario", "anonimo");
+        this.escritaRecente = counter(meterRegistry, "primario", "escrita_recente");
+        this.indisponivel = counter(meterRegistry, "primario", "indisponivel");
+        this.falhaConexao = counter(meterRegistry, "primario", "falha_conexao");
+    }
+
+    /**
+     * Mantém as leituras do usuário no primário até a réplica alcançar a escrita
+     */
+    public void markWritten(Long usuarioId) {
+        recentWriters.put(usuarioId, Boolean.TRUE);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (!useReplica()) {
+            return source.get(primary);
+        }
+        try {
+            Connection connection = source.get(replica);
+            leitura.increment();
+            return connection;
+        } catch (SQLException e) {
+            health.markDown(e);
+            falhaConexao.increment();
+            return source.get(primary);
+        }
+    }
+
+    private boolean useReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            escrita.increment();
+            trackWrite();
+            return false;
+        }
+        Long usuarioId = currentUsuarioId();
+        if (usuarioId == null) {
+            anonimo.increment();
+            return false;
+        }
+        if (recentWriters.getIfPresent(usuarioId) != null) {
+            escritaRecente.increment();
+            return false;
+        }
+        if (!health.isAvailable()) {
+            indisponivel.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Registra a escrita do usuário quando a transação confirma
+     */
+    private void trackWrite() {
+        Long usuarioId = currentUsuarioId();
+        if (usuarioId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWritten(usuarioId);
+            }
+        });
+    }
+
+    private Long currentUsuarioId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal principal
+                ? principal.id() : null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String destino, String motivo) {
+        return Counter.builder("datasource.replica.routed")
+                .description("Conexões obtidas pelo roteador de réplica")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
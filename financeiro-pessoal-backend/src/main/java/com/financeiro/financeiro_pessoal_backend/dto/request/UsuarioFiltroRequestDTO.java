@@ -0,0 +1,43 @@
+package com.financeiro.financeiro_pessoal_backend.dto.request;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.OrdenacaoUsuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioFiltroRequestDTO {
+
+    @Builder.Default
+    private Boolean ativo = true;
+
+    private TipoUsuario tipo;
+
+    @Size(min = 2, max = 100, message = "O termo de busca deve ter entre 2 e 100 caracteres")
+    private String nome;
+
+    @Builder.Default
+    private OrdenacaoUsuario ordenacao = OrdenacaoUsuario.NOME;
+
+    @Builder.Default
+    private Sort.Direction direcao = Sort.Direction.ASC;
+
+    /**
+     * Posição retornada em {@code proximoCursor} pela página anterior
+     */
+    private String cursor;
+
+    @Min(value = 1, message = "Tamanho da página deve ser no mínimo 1")
+    @Max(value = 100, message = "Tamanho da página deve ser no máximo 100")
+    @Builder.Default
+    private Integer size = 20;
+}
@@ -0,0 +1,20 @@
+package com.financeiro.financeiro_pessoal_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponseDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String proximoCursor;
+}
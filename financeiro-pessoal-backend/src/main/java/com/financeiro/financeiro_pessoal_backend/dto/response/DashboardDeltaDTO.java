@@ -0,0 +1,25 @@
+package com.financeiro.financeiro_pessoal_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Evento do stream do dashboard: completo ("snapshot") ou só os campos que
+ * mudaram ("delta"); no delta, categoria com valor nulo deixou de ter despesas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDeltaDTO {
+
+    private Integer mes;
+    private Integer ano;
+    private Map<String, Object> totais;
+    private Map<String, BigDecimal> despesasPorCategoria;
+}
@@ -0,0 +1,27 @@
+package com.financeiro.financeiro_pessoal_backend.dto.response;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.StatusPurga;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgaContaResponseDTO {
+
+    private String id;
+    private Long usuarioId;
+    private StatusPurga status;
+    private String etapaAtual;
+    private Map<String, Long> removidosPorTabela;
+    private long totalRemovido;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+    private String erro;
+}
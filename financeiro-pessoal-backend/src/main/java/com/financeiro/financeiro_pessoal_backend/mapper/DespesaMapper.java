@@ -31,6 +31,21 @@ public interface DespesaMapper {
     @Mapping(target = "vencido", expression = "java(entity.isVencido())")
     DespesaResponseDTO toDto(Despesa entity);
 
+    /**
+     * Converte entity para DTO de response usando os nomes já consultados
+     * Das relações lê apenas o ID, sem inicializar proxies (usado nas escritas)
+     */
+    @Mapping(target = "id", source = "entity.id")
+    @Mapping(target = "usuarioId", source = "entity.usuario.id")
+    @Mapping(target = "usuarioNome", source = "usuarioNome")
+    @Mapping(target = "receitaId", source = "entity.receita.id")
+    @Mapping(target = "categoriaId", source = "entity.categoria.id")
+    @Mapping(target = "categoriaNome", source = "categoriaNome")
+    @Mapping(target = "statusParcela", expression = "java(entity.getStatusParcela())")
+    @Mapping(target = "parcelado", expression = "java(entity.isParcelado())")
+    @Mapping(target = "vencido", expression = "java(entity.isVencido())")
+    DespesaResponseDTO toDto(Despesa entity, String usuarioNome, String categoriaNome);
+
     /**
      * Atualiza entity existente com dados do DTO
      * Usado no método update
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -61,7 +62,9 @@ public class Receita extends BaseEntity {
     private String observacoes;
 
     // Relacionamentos
+    // Totais da listagem paginada: carrega as despesas da página numa só consulta
     @OneToMany(mappedBy = "receita", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 20)
     @Builder.Default
     private List<Despesa> despesas = new ArrayList<>();
 
@@ -0,0 +1,63 @@
+package com.financeiro.financeiro_pessoal_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token emitido; cada renovação marca o atual como usado e emite
+ * outro na mesma família
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken extends BaseEntity implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false, foreignKey = @ForeignKey(name = "fk_refresh_tokens_usuario"))
+    private Usuario usuario;
+
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean usado = false;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean revogado = false;
+
+    @Column(name = "usado_em")
+    private LocalDateTime usadoEm;
+
+    @Column(name = "sucessor_jti", length = 36)
+    private String sucessorJti;
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    /**
+     * O jti é gerado na emissão; sem isso o save faria um SELECT antes do INSERT
+     */
+    @Override
+    @Transient
+    public boolean isNew() {
+        return getCreatedAt() == null;
+    }
+}
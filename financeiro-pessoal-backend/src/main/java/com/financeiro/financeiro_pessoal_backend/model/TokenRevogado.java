@@ -0,0 +1,35 @@
+package com.financeiro.financeiro_pessoal_backend.model;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.MotivoRevogacao;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identificador revogado: jti de um access token ou família de refresh tokens
+ * Mantido até {@code expiraEm}, quando nenhum token com o identificador é mais aceito
+ */
+@Entity
+@Table(name = "tokens_revogados")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevogado extends BaseEntity {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private MotivoRevogacao motivo;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+}
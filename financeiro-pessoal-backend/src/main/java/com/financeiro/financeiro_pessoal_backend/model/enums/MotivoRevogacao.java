@@ -0,0 +1,19 @@
+package com.financeiro.financeiro_pessoal_backend.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum MotivoRevogacao {
+    LOGOUT("Logout", "Sessão encerrada pelo usuário"),
+    REUSO_DETECTADO("Reuso detectado", "Refresh token já utilizado foi apresentado novamente"),
+    SENHA_ALTERADA("Senha alterada", "Sessões anteriores à troca de senha"),
+    CONTA_DESATIVADA("Conta desativada", "Conta do usuário foi desativada");
+
+    private final String nome;
+    private final String descricao;
+
+    MotivoRevogacao(String nome, String descricao) {
+        this.nome = nome;
+        this.descricao = descricao;
+    }
+}
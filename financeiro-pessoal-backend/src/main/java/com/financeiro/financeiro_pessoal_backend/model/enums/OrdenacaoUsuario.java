@@ -0,0 +1,18 @@
+package com.financeiro.financeiro_pessoal_backend.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum OrdenacaoUsuario {
+    NOME("Nome", "nome"),
+    EMAIL("Email", "email"),
+    ID("Cadastro", "id");
+
+    private final String nome;
+    private final String propriedade;
+
+    OrdenacaoUsuario(String nome, String propriedade) {
+        this.nome = nome;
+        this.propriedade = propriedade;
+    }
+}
@@ -0,0 +1,19 @@
+package com.financeiro.financeiro_pessoal_backend.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum StatusPurga {
+    PENDENTE("Pendente", "Aguardando execução"),
+    EM_ANDAMENTO("Em Andamento", "Removendo os dados da conta"),
+    CONCLUIDA("Concluída", "Conta e dados removidos"),
+    FALHOU("Falhou", "Interrompida por erro; pode ser executada novamente");
+
+    private final String nome;
+    private final String descricao;
+
+    StatusPurga(String nome, String descricao) {
+        this.nome = nome;
+        this.descricao = descricao;
+    }
+}
@@ -0,0 +1,68 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Acertos e falhas do cache de segundo nível do Hibernate, por região
+ *
+ * Lidos das estatísticas do Hibernate ({@code hibernate.generate_statistics}):
+ * {@code hibernate.l2.requests} por região e resultado ({@code acerto} ou
+ * {@code falha}) e {@code hibernate.l2.hit_ratio} acumulado desde a subida.
+ * O cache de consultas aparece como a região {@code consultas}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.hibernate-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheMetrics {
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            if (RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME.equals(region)
+                    || RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(region)) {
+                continue;
+            }
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            register(meterRegistry, region, regionStatistics,
+                    CacheRegionStatistics::getHitCount, CacheRegionStatistics::getMissCount);
+        }
+        register(meterRegistry, "consultas", statistics,
+                Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+    }
+
+    private static <T> void register(MeterRegistry meterRegistry, String region, T source,
+                                     ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("hibernate.l2.requests", source, hits)
+                .description("Leituras no cache de segundo nível do Hibernate")
+                .tag("regiao", region)
+                .tag("resultado", "acerto")
+                .register(meterRegistry);
+        FunctionCounter.builder("hibernate.l2.requests", source, misses)
+                .description("Leituras no cache de segundo nível do Hibernate")
+                .tag("regiao", region)
+                .tag("resultado", "falha")
+                .register(meterRegistry);
+        Gauge.builder("hibernate.l2.hit_ratio", source, value -> {
+                    double acertos = hits.applyAsDouble(value);
+                    double total = acertos + misses.applyAsDouble(value);
+                    return total == 0 ? 0 : acertos / total;
+                })
+                .description("Fração das leituras atendidas pelo cache de segundo nível")
+                .tag("regiao", region)
+                .register(meterRegistry);
+    }
+}
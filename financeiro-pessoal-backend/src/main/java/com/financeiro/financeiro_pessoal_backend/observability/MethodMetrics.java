@@ -0,0 +1,86 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers {@code method.invocations} de services e repositories, com as tags
+ * {@code layer}, {@code class}, {@code method}, {@code outcome} e
+ * {@code exception}
+ *
+ * Os timers são criados uma vez por método e guardados por chave; a medição
+ * em si não consulta o registry nem usa reflexão. Histograma e buckets de
+ * SLO vêm de {@code management.metrics.distribution.*.method.invocations}.
+ */
+@Component
+public class MethodMetrics {
+
+    public static final String METRIC_NAME = "method.invocations";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    private record Key(Class<?> type, Method method) {
+    }
+
+    public MethodMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra uma invocação; {@code error} nulo indica sucesso
+     */
+    public void record(String layer, Class<?> type, Method method, long nanos, Throwable error) {
+        MethodTimers methodTimers = timers.get(new Key(type, method));
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(new Key(type, method),
+                    key -> new MethodTimers(layer, type.getSimpleName(), method.getName()));
+        }
+        Timer timer = error == null ? methodTimers.success : methodTimers.error(error.getClass());
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Timers de um método: o de sucesso fixo, os de erro por tipo de exceção
+     */
+    private final class MethodTimers {
+
+        private final String layer;
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        private MethodTimers(String layer, String className, String methodName) {
+            this.layer = layer;
+            this.className = className;
+            this.methodName = methodName;
+            this.success = timer("success", NONE);
+        }
+
+        private Timer error(Class<?> exceptionType) {
+            Timer timer = errors.get(exceptionType);
+            return timer != null ? timer
+                    : errors.computeIfAbsent(exceptionType, type -> timer("error", type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Latência de métodos de services e repositories")
+                    .tag("layer", layer)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
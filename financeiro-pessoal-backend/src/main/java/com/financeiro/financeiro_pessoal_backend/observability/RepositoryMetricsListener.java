@@ -0,0 +1,33 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mede os métodos dos repositories em {@link MethodMetrics}, usando o ponto de
+ * extensão do Spring Data (sem proxy adicional); a classe na tag é a
+ * interface do repository, também para métodos herdados como {@code save}
+ */
+public class RepositoryMetricsListener implements RepositoryMethodInvocationListener {
+
+    private final SingletonSupplier<MethodMetrics> methodMetrics;
+
+    /**
+     * Recebe um fornecedor: os repositories são criados antes do registry de métricas
+     */
+    public RepositoryMetricsListener(Supplier<MethodMetrics> methodMetrics) {
+        this.methodMetrics = SingletonSupplier.of(methodMetrics);
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RepositoryMethodInvocationResult result = invocation.getResult();
+        Throwable error = result != null && result.getState() == RepositoryMethodInvocationResult.State.ERROR
+                ? result.getError() : null;
+        methodMetrics.obtain().record("repository", invocation.getRepositoryInterface(), invocation.getMethod(),
+                invocation.getDuration(TimeUnit.NANOSECONDS), error);
+    }
+}
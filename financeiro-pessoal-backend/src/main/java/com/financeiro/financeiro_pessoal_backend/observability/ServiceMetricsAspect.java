@@ -0,0 +1,45 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mede os métodos públicos dos services em {@link MethodMetrics}
+ *
+ * Fica por fora das marcações de cache, do cache e da transação: o tempo
+ * inclui acertos de cache e o commit. Chamadas internas (this.metodo())
+ * não passam pelo proxy e entram no tempo do método chamador.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    private final MethodMetrics methodMetrics;
+
+    public ServiceMetricsAspect(MethodMetrics methodMetrics) {
+        this.methodMetrics = methodMetrics;
+    }
+
+    @Around("execution(public * com.financeiro.financeiro_pessoal_backend.service..*.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            methodMetrics.record("service", AopUtils.getTargetClass(joinPoint.getTarget()),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                    System.nanoTime() - start, error);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Alimenta o {@link SlowQueryLog} a partir do proxy do DataSource, para todas
+ * as instruções (inclusive fora de requisições HTTP)
+ *
+ * As linhas lidas ({@code ResultSet.next()}) são atribuídas à última instrução
+ * executada na thread, o que vale para o padrão do Hibernate de ler o
+ * resultado inteiro logo após a execução.
+ */
+public class SlowQueryListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_NANOS = "slowQuery.start";
+
+    private static final ThreadLocal<SlowQueryLog.FingerprintStats> LAST_STATEMENT = new ThreadLocal<>();
+
+    private final SingletonSupplier<SlowQueryLog> slowQueryLog;
+
+    /**
+     * Recebe um fornecedor: o DataSource é criado antes dos demais componentes
+     */
+    public SlowQueryListener(Supplier<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = SingletonSupplier.of(slowQueryLog);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        long affected = 0;
+        Object result = execInfo.getResult();
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                affected += Math.max(0, count);
+            }
+        } else if (result instanceof Number number) {
+            affected = Math.max(0, number.longValue());
+        }
+
+        // Batch de Statement: agrupa pelo primeiro SQL e atribui o tempo ao lote
+        String sql = queryInfoList.get(0).getQuery();
+        LAST_STATEMENT.set(slowQueryLog.obtain().record(sql, nanos, affected));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!"next".equals(executionContext.getMethod().getName())
+                || !(executionContext.getTarget() instanceof ResultSet)
+                || !Boolean.TRUE.equals(executionContext.getResult())) {
+            return;
+        }
+        SlowQueryLog.FingerprintStats stats = LAST_STATEMENT.get();
+        if (stats != null) {
+            stats.addRows(1);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas agregadas por fingerprint de SQL e log amostrado de consultas lentas
+ *
+ * Substitui o log de todas as instruções ({@code show-sql}/binder em TRACE):
+ * toda execução soma contagem, tempo e linhas no fingerprint, e só as que
+ * passam de {@code app.slow-query.threshold} são registradas em log, na
+ * proporção {@code app.slow-query.sample-rate}. O fingerprint de cada SQL é
+ * calculado uma vez e guardado; acima de {@code app.slow-query.max-fingerprints}
+ * as execuções novas vão para um único agregado.
+ */
+@Component
+@Slf4j
+public class SlowQueryLog {
+
+    static final String OVERFLOW_FINGERPRINT = "<outros>";
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final Duration threshold;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int maxFingerprints;
+
+    private final Cache<String, FingerprintStats> bySql;
+    private final Map<String, FingerprintStats> byFingerprint = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(@Value("${app.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${app.slow-query.sample-rate:1.0}") double sampleRate,
+                        @Value("${app.slow-query.max-fingerprints:1000}") int maxFingerprints) {
+        this.threshold = threshold;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxFingerprints = maxFingerprints;
+        this.bySql = Caffeine.newBuilder()
+                .maximumSize(maxFingerprints * 4L)
+                .build();
+    }
+
+    /**
+     * Agregado de um fingerprint
+     */
+    public static final class FingerprintStats {
+
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+
+        private FingerprintStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void addRows(long value) {
+            rows.add(value);
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+        }
+
+        public double getMeanMillis() {
+            long executions = count.sum();
+            return executions == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / executions;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getSlow() {
+            return slow.sum();
+        }
+    }
+
+    /**
+     * Registra uma execução e devolve o agregado, para somar depois as linhas lidas
+     */
+    FingerprintStats record(String sql, long nanos, long affectedRows) {
+        FingerprintStats stats = bySql.get(sql, this::statsFor);
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        if (affectedRows > 0) {
+            stats.rows.add(affectedRows);
+        }
+        if (nanos >= thresholdNanos) {
+            stats.slow.increment();
+            if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.warn("Consulta lenta - {} ms, Linhas afetadas: {}, Fingerprint: {}, SQL: {}",
+                        TimeUnit.NANOSECONDS.toMillis(nanos), affectedRows, stats.fingerprint, abbreviate(sql));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Fingerprints ordenados pelo tempo total, do maior para o menor
+     */
+    public List<FingerprintStats> top(int limit) {
+        return byFingerprint.values().stream()
+                .sorted(Comparator.comparingLong((FingerprintStats stats) -> stats.totalNanos.sum()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return byFingerprint.size();
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void reset() {
+        bySql.invalidateAll();
+        byFingerprint.clear();
+    }
+
+    private FingerprintStats statsFor(String sql) {
+        String fingerprint = SqlFingerprint.of(sql);
+        FingerprintStats stats = byFingerprint.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (byFingerprint.size() >= maxFingerprints) {
+            fingerprint = OVERFLOW_FINGERPRINT;
+        }
+        return byFingerprint.computeIfAbsent(fingerprint, FingerprintStats::new);
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,58 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Orçamento de SQL por requisição (prefixo {@code app.sql-budget})
+ *
+ * Cada requisição usa o primeiro endpoint cujo padrão (Ant) e método casam,
+ * ou os limites padrão. Requisições acima do orçamento são registradas em log.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    /**
+     * Mede o SQL de cada requisição HTTP
+     */
+    private boolean enabled = true;
+
+    private int maxStatements = 20;
+
+    private Duration maxJdbcTime = Duration.ofMillis(500);
+
+    /**
+     * Execuções do mesmo SQL numa requisição a partir das quais há suspeita de N+1
+     */
+    private int repeatedStatementThreshold = 5;
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+
+        private String pattern;
+
+        /**
+         * Métodos HTTP a que o orçamento se aplica (todos, se vazio)
+         */
+        private Set<String> methods = Set.of();
+
+        /**
+         * Limites do endpoint; os padrão valem para os que forem nulos
+         */
+        private Integer maxStatements;
+
+        private Duration maxJdbcTime;
+
+        public boolean matchesMethod(String method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma normalizada de um SQL, que agrupa execuções da mesma consulta
+ *
+ * Remove comentários, troca literais por {@code ?}, reduz listas de
+ * parâmetros ({@code IN (?, ?, ?)}) a uma só e normaliza espaços e caixa.
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRING_LITERALS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERALS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String normalized = COMMENTS.matcher(sql).replaceAll(" ");
+        normalized = STRING_LITERALS.matcher(normalized).replaceAll("?");
+        normalized = NUMERIC_LITERALS.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LISTS.matcher(normalized).replaceAll("(?, ...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return normalized.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,156 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o SQL executado em cada requisição HTTP
+ *
+ * Publica instruções, linhas e tempo de JDBC como histogramas
+ * ({@code http.server.requests.sql.*}) com as tags {@code method} e
+ * {@code uri} (o padrão do endpoint, como em {@code http.server.requests}),
+ * e registra em log as requisições que passam do orçamento configurado em
+ * {@link SqlBudgetProperties} ou que repetem o mesmo SQL (provável N+1).
+ *
+ * Roda antes da cadeia de segurança para contar também o SQL da autenticação.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public SqlMetricsFilter(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlStatisticsContext.Scope scope = SqlStatisticsContext.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope.statistics());
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        String method = request.getMethod();
+        if (pattern == null && statistics.getStatements() == 0) {
+            return;
+        }
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("Instruções SQL executadas por requisição")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000.0)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .description("Linhas lidas ou afetadas por requisição")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100_000.0)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Tempo gasto no driver JDBC por requisição")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry)
+                .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        checkBudget(request, method, uri, statistics);
+    }
+
+    private void checkBudget(HttpServletRequest request, String method, String uri, SqlStatistics statistics) {
+        SqlBudgetProperties.Endpoint endpoint = resolveEndpoint(request);
+        int maxStatements = endpoint != null && endpoint.getMaxStatements() != null
+                ? endpoint.getMaxStatements() : properties.getMaxStatements();
+        Duration maxJdbcTime = endpoint != null && endpoint.getMaxJdbcTime() != null
+                ? endpoint.getMaxJdbcTime() : properties.getMaxJdbcTime();
+        long jdbcMillis = TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos());
+
+        if (statistics.getStatements() > maxStatements || jdbcMillis > maxJdbcTime.toMillis()) {
+            exceeded(method, uri, "orcamento");
+            log.warn("Orçamento de SQL excedido - {} {}, Instruções: {}/{}, Linhas: {}, JDBC: {} ms/{} ms",
+                    method, uri, statistics.getStatements(), maxStatements, statistics.getRows(),
+                    jdbcMillis, maxJdbcTime.toMillis());
+        }
+
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        if (repeated != null && repeated.getValue() >= properties.getRepeatedStatementThreshold()) {
+            exceeded(method, uri, "repeticao");
+            log.warn("Possível N+1 - {} {}, Execuções: {}, SQL: {}",
+                    method, uri, repeated.getValue(), abbreviate(repeated.getKey()));
+        }
+    }
+
+    private void exceeded(String method, String uri, String motivo) {
+        Counter.builder("http.server.requests.sql.budget_exceeded")
+                .description("Requisições acima do orçamento de SQL ou com SQL repetido")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private SqlBudgetProperties.Endpoint resolveEndpoint(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (SqlBudgetProperties.Endpoint endpoint : properties.getEndpoints()) {
+            if (endpoint.matchesMethod(request.getMethod()) && pathMatcher.match(endpoint.getPattern(), path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
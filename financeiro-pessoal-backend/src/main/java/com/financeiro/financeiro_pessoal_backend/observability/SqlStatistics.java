@@ -0,0 +1,68 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contadores de SQL de um escopo (normalmente uma requisição HTTP)
+ *
+ * Usado por uma única thread; escopos aninhados somam seus números ao escopo
+ * pai quando fecham (ver {@link SqlStatisticsContext}).
+ */
+public class SqlStatistics {
+
+    /**
+     * Limite de SQLs distintos acompanhados para detectar repetição
+     */
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private long statements;
+    private long rows;
+    private long jdbcNanos;
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    void recordStatement(String sql, long nanos, long affectedRows) {
+        statements++;
+        jdbcNanos += nanos;
+        rows += affectedRows;
+        if (sql != null && (executions.size() < MAX_DISTINCT_STATEMENTS || executions.containsKey(sql))) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void merge(SqlStatistics other) {
+        statements += other.statements;
+        rows += other.rows;
+        jdbcNanos += other.jdbcNanos;
+        other.executions.forEach((sql, count) -> {
+            if (executions.size() < MAX_DISTINCT_STATEMENTS || executions.containsKey(sql)) {
+                executions.merge(sql, count, Integer::sum);
+            }
+        });
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * SQL executado mais vezes no escopo, candidato a N+1
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return executions.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+/**
+ * Escopo de contagem de SQL da thread atual
+ *
+ * Sem escopo aberto as instruções não são contadas. Ao fechar, um escopo
+ * aninhado soma seus números ao anterior, de modo que um teste envolvendo a
+ * requisição inteira enxerga também o que o filtro HTTP contou.
+ */
+public final class SqlStatisticsContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatisticsContext() {
+    }
+
+    /**
+     * Abre um escopo; deve ser fechado na mesma thread (try-with-resources)
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Estatísticas do escopo aberto, ou {@code null} se não houver
+     */
+    public static SqlStatistics current() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.statistics : null;
+    }
+
+    /**
+     * Soma ao escopo atual o que outra thread contou (ex.: consultas em paralelo)
+     */
+    public static void merge(SqlStatistics statistics) {
+        SqlStatistics current = current();
+        if (current != null && statistics != null) {
+            current.merge(statistics);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final SqlStatistics statistics = new SqlStatistics();
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public SqlStatistics statistics() {
+            return statistics;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statistics.merge(statistics);
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Alimenta o {@link SqlStatisticsContext} a partir do proxy do DataSource
+ *
+ * Conta cada instrução (cada item de um batch), o tempo gasto no driver e as
+ * linhas afetadas ou lidas; linhas de consulta são contadas a cada
+ * {@code ResultSet.next()} que devolve verdadeiro.
+ */
+public class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_NANOS = "sqlStatistics.start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatisticsContext.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatisticsContext.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (statistics == null || start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        Object result = execInfo.getResult();
+
+        if (execInfo.isBatch()) {
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(0, count);
+                }
+            }
+            String sql = queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+            int size = Math.max(1, execInfo.getBatchSize());
+            statistics.recordStatement(sql, nanos, total);
+            for (int i = 1; i < size; i++) {
+                statistics.recordStatement(sql, 0, 0);
+            }
+            return;
+        }
+
+        long affected = result instanceof Number number ? Math.max(0, number.longValue()) : 0;
+        for (int i = 0; i < queryInfoList.size(); i++) {
+            statistics.recordStatement(queryInfoList.get(i).getQuery(), i == 0 ? nanos : 0, i == 0 ? affected : 0);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!"next".equals(executionContext.getMethod().getName())
+                || !(executionContext.getTarget() instanceof ResultSet)
+                || !Boolean.TRUE.equals(executionContext.getResult())) {
+            return;
+        }
+        SqlStatistics statistics = SqlStatisticsContext.current();
+        if (statistics != null) {
+            statistics.recordRow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.financeiro.financeiro_pessoal_backend.observability;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/sqlstats}: consultas agregadas por fingerprint
+ * ({@link SlowQueryLog}) e estatísticas do Hibernate
+ *
+ * As estatísticas do Hibernate dependem de
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}. DELETE
+ * zera ambas.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SlowQueryLog slowQueryLog;
+    private final Statistics statistics;
+
+    public SqlStatsEndpoint(SlowQueryLog slowQueryLog, EntityManagerFactory entityManagerFactory) {
+        this.slowQueryLog = slowQueryLog;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record SqlStats(Duration slowQueryThreshold,
+                           double sampleRate,
+                           int fingerprints,
+                           List<SlowQueryLog.FingerprintStats> queries,
+                           Map<String, Object> hibernate) {
+    }
+
+    @ReadOperation
+    public SqlStats sqlStats(@Nullable Integer limit) {
+        return new SqlStats(
+                slowQueryLog.getThreshold(),
+                slowQueryLog.getSampleRate(),
+                slowQueryLog.size(),
+                slowQueryLog.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT),
+                hibernateStatistics());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+        statistics.clear();
+    }
+
+    private Map<String, Object> hibernateStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", statistics.isStatisticsEnabled());
+        stats.put("since", statistics.getStart());
+        stats.put("sessionsOpened", statistics.getSessionOpenCount());
+        stats.put("transactions", statistics.getTransactionCount());
+        stats.put("connectionsObtained", statistics.getConnectCount());
+        stats.put("statementsPrepared", statistics.getPrepareStatementCount());
+        stats.put("flushes", statistics.getFlushCount());
+        stats.put("entityLoads", statistics.getEntityLoadCount());
+        stats.put("entityFetches", statistics.getEntityFetchCount());
+        stats.put("entityInserts", statistics.getEntityInsertCount());
+        stats.put("entityUpdates", statistics.getEntityUpdateCount());
+        stats.put("entityDeletes", statistics.getEntityDeleteCount());
+        stats.put("collectionLoads", statistics.getCollectionLoadCount());
+        stats.put("collectionFetches", statistics.getCollectionFetchCount());
+        stats.put("queryExecutions", statistics.getQueryExecutionCount());
+        stats.put("queryExecutionMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        stats.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        stats.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        stats.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        stats.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        stats.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        stats.put("naturalIdCacheHits", statistics.getNaturalIdCacheHitCount());
+        stats.put("optimisticFailures", statistics.getOptimisticFailureCount());
+        return stats;
+    }
+}
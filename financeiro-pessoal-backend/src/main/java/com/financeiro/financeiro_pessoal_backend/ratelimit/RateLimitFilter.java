@@ -0,0 +1,133 @@
+package com.financeiro.financeiro_pessoal_backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita a taxa de requisições por rota, executado logo após a autenticação JWT
+ *
+ * A chave do balde é o id do usuário autenticado ou, nas rotas públicas
+ * (login, registro), o IP de origem. Acima da cota a requisição é recusada
+ * com 429 e {@code Retry-After}, antes de chegar aos controllers (e ao pool
+ * de conexões). Recusas são contadas em {@code rate_limit.rejected}.
+ *
+ * O IP vem de {@code request.getRemoteAddr()}; atrás de proxy, configure
+ * {@code server.forward-headers-strategy} em vez de confiar no cabeçalho.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        // Balde ocioso pelo tempo de se encher de novo pode ser descartado
+        Duration idleTimeout = properties.getRoutes().stream()
+                .map(route -> Duration.ofNanos(route.intervalNanos() * route.effectiveBurst()))
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.limiter = new TokenBucketRateLimiter(properties.getMaximumKeys(), idleTimeout);
+
+        Gauge.builder("rate_limit.buckets", limiter, TokenBucketRateLimiter::size)
+                .description("Baldes de rate limit em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitProperties.Route route = properties.isEnabled() ? resolveRoute(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean porUsuario = authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal;
+        String chave = porUsuario
+                ? "u" + ((UsuarioPrincipal) authentication.getPrincipal()).id()
+                : "ip" + request.getRemoteAddr();
+
+        long esperaNanos = limiter.tryAcquire(route.getName() + ':' + chave,
+                route.intervalNanos(), route.effectiveBurst());
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Counter.builder("rate_limit.rejected")
+                .tag("rota", route.getName())
+                .tag("chave", porUsuario ? "usuario" : "ip")
+                .register(meterRegistry)
+                .increment();
+        log.warn("Limite de requisições excedido - Rota: {}, Chave: {}", route.getName(), chave);
+        reject(request, response, esperaNanos);
+    }
+
+    private RateLimitProperties.Route resolveRoute(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (String exclude : properties.getExclude()) {
+            if (pathMatcher.match(exclude, path)) {
+                return null;
+            }
+        }
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.matchesMethod(request.getMethod()) && pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long esperaNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now().toString());
+        errorDetails.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorDetails.put("error", "Too Many Requests");
+        errorDetails.put("message", "Muitas requisições. Tente novamente em " + retryAfter + " segundo(s).");
+        errorDetails.put("path", request.getServletPath());
+
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
@@ -0,0 +1,74 @@
+package com.financeiro.financeiro_pessoal_backend.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cotas de requisições por rota (prefixo {@code app.rate-limit})
+ *
+ * Cada requisição usa a primeira rota cujo padrão (Ant) e método casam;
+ * requisições sem rota ou em {@code exclude} não são limitadas.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Número máximo de baldes (usuário/IP por rota) mantidos em memória
+     */
+    private long maximumKeys = 100_000;
+
+    private List<String> exclude = new ArrayList<>();
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /**
+         * Nome da rota, usado na chave do balde e nas métricas
+         */
+        private String name;
+
+        private String pattern;
+
+        /**
+         * Métodos HTTP limitados (todos, se vazio)
+         */
+        private Set<String> methods = Set.of();
+
+        /**
+         * Requisições permitidas por período, em regime
+         */
+        private int limit;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * Rajada máxima (capacidade do balde); igual a {@code limit} se nulo
+         */
+        private Integer burst;
+
+        public int effectiveBurst() {
+            return burst != null ? burst : limit;
+        }
+
+        /**
+         * Intervalo de reposição de um token, em nanossegundos
+         */
+        public long intervalNanos() {
+            return period.toNanos() / Math.max(1, limit);
+        }
+
+        public boolean matchesMethod(String method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+}
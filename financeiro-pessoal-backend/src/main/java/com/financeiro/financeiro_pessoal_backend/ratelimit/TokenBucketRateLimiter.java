@@ -0,0 +1,73 @@
+package com.financeiro.financeiro_pessoal_backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Baldes de tokens em memória, sem locks
+ *
+ * Cada balde é um único {@code AtomicLong} com o instante teórico em que ele
+ * estará cheio de novo (GCRA, equivalente a um token bucket): consumir um
+ * token avança esse instante em um intervalo de reposição, e a requisição é
+ * recusada se isso o levaria além da capacidade. A atualização é um CAS.
+ *
+ * Os baldes ficam num cache limitado a {@code maximumKeys}; um balde ocioso
+ * por mais de {@code idleTimeout} (tempo suficiente para se encher de novo)
+ * é descartado, o que equivale a mantê-lo cheio.
+ *
+ * O relógio (nanossegundos, monotônico) é injetável para os testes.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(long maximumKeys, Duration idleTimeout) {
+        this(maximumKeys, idleTimeout, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(long maximumKeys, Duration idleTimeout, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Tenta consumir um token do balde
+     *
+     * @param intervalNanos tempo para repor um token
+     * @param burst         capacidade do balde
+     * @return 0 se permitido; senão, nanossegundos até haver um token
+     */
+    public long tryAcquire(String key, long intervalNanos, int burst) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        long capacity = intervalNanos * burst;
+        while (true) {
+            long tat = bucket.get();
+            long base = tat - now > 0 ? tat : now;
+            long newTat = base + intervalNanos;
+            long excess = newTat - now - capacity;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Número de baldes em memória
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
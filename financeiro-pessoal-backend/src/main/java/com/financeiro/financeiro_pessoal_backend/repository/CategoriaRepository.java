@@ -2,8 +2,11 @@ package com.financeiro.financeiro_pessoal_backend.repository;
 
 import com.financeiro.financeiro_pessoal_backend.model.Categoria;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoCategoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -32,6 +35,7 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     /**
      * Busca categorias ativas do usuário
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Categoria c " +
             "WHERE c.usuario.id = :usuarioId " +
             "AND c.ativa = true " +
@@ -41,6 +45,7 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     /**
      * Busca categorias por tipo
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Categoria c " +
             "WHERE c.usuario.id = :usuarioId " +
             "AND c.tipo = :tipo " +
@@ -53,6 +58,7 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     /**
      * Busca categorias ativas por tipo
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Categoria c " +
             "WHERE c.usuario.id = :usuarioId " +
             "AND c.tipo = :tipo " +
@@ -101,6 +107,7 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     /**
      * Busca categorias de despesa ativas
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Categoria c " +
             "WHERE c.usuario.id = :usuarioId " +
             "AND c.tipo = 'DESPESA' " +
@@ -111,6 +118,7 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     /**
      * Busca categorias de receita ativas
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Categoria c " +
             "WHERE c.usuario.id = :usuarioId " +
             "AND c.tipo = 'RECEITA' " +
@@ -139,11 +147,13 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     /**
      * Conta total de categorias do usuário
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Long countByUsuarioId(Long usuarioId);
 
     /**
      * Conta categorias ativas do usuário
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(c) FROM Categoria c " +
             "WHERE c.usuario.id = :usuarioId " +
             "AND c.ativa = true")
@@ -3,6 +3,7 @@ package com.financeiro.financeiro_pessoal_backend.repository;
 import com.financeiro.financeiro_pessoal_backend.model.Despesa;
 import com.financeiro.financeiro_pessoal_backend.model.enums.StatusPagamento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,6 +33,67 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
             "WHERE d.id = :id")
     Optional<Despesa> findByIdWithRelations(@Param("id") Long id);
 
+    /**
+     * Nome do usuário e dados de posse da categoria e da receita informadas
+     * (vazio se o usuário não existe)
+     */
+    @Query("SELECT u.nome AS usuarioNome, " +
+            "c.id AS categoriaId, c.usuario.id AS categoriaUsuarioId, c.ativa AS categoriaAtiva, c.nome AS categoriaNome, " +
+            "r.id AS receitaId, r.usuario.id AS receitaUsuarioId " +
+            "FROM Usuario u " +
+            "LEFT JOIN Categoria c ON c.id = :categoriaId " +
+            "LEFT JOIN Receita r ON r.id = :receitaId " +
+            "WHERE u.id = :usuarioId")
+    Optional<DespesaVinculos> findVinculos(
+            @Param("usuarioId") Long usuarioId,
+            @Param("categoriaId") Long categoriaId,
+            @Param("receitaId") Long receitaId
+    );
+
+    /**
+     * Despesa com o nome do dono e os dados de posse da categoria e da
+     * receita informadas (vazio se a despesa não existe)
+     */
+    @Query("SELECT d AS despesa, u.nome AS usuarioNome, " +
+            "c.id AS categoriaId, c.usuario.id AS categoriaUsuarioId, c.ativa AS categoriaAtiva, c.nome AS categoriaNome, " +
+            "r.id AS receitaId, r.usuario.id AS receitaUsuarioId " +
+            "FROM Despesa d " +
+            "JOIN d.usuario u " +
+            "LEFT JOIN Categoria c ON c.id = :categoriaId " +
+            "LEFT JOIN Receita r ON r.id = :receitaId " +
+            "WHERE d.id = :id")
+    Optional<DespesaVinculos.ComDespesa> findComVinculos(
+            @Param("id") Long id,
+            @Param("categoriaId") Long categoriaId,
+            @Param("receitaId") Long receitaId
+    );
+
+    /**
+     * Despesa com o nome do dono e a categoria e receita atuais
+     */
+    @Query("SELECT d AS despesa, u.nome AS usuarioNome, " +
+            "c.id AS categoriaId, c.usuario.id AS categoriaUsuarioId, c.ativa AS categoriaAtiva, c.nome AS categoriaNome, " +
+            "r.id AS receitaId, r.usuario.id AS receitaUsuarioId " +
+            "FROM Despesa d " +
+            "JOIN d.usuario u " +
+            "LEFT JOIN d.categoria c " +
+            "LEFT JOIN d.receita r " +
+            "WHERE d.id = :id")
+    Optional<DespesaVinculos.ComDespesa> findComVinculosAtuais(@Param("id") Long id);
+
+    /**
+     * Busca apenas o dono da despesa, sem carregar a entidade
+     */
+    @Query("SELECT d.usuario.id FROM Despesa d WHERE d.id = :id")
+    Optional<Long> findUsuarioIdById(@Param("id") Long id);
+
+    /**
+     * Remove a despesa sem carregá-la
+     */
+    @Modifying
+    @Query("DELETE FROM Despesa d WHERE d.id = :id")
+    int deleteDespesaById(@Param("id") Long id);
+
     /**
      * Busca despesas do usuário com categoria e receita (evita N+1)
      */
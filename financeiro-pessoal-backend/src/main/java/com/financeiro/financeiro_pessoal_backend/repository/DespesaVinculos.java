@@ -0,0 +1,35 @@
+package com.financeiro.financeiro_pessoal_backend.repository;
+
+import com.financeiro.financeiro_pessoal_backend.model.Despesa;
+
+/**
+ * Dono, categoria e receita de uma despesa, lidos numa única consulta
+ *
+ * Traz o necessário para validar a posse dos vínculos e montar a resposta
+ * sem inicializar as relações lazy da despesa. Campos de categoria e
+ * receita são nulos quando o vínculo não foi informado ou não existe.
+ */
+public interface DespesaVinculos {
+
+    String getUsuarioNome();
+
+    Long getCategoriaId();
+
+    Long getCategoriaUsuarioId();
+
+    Boolean getCategoriaAtiva();
+
+    String getCategoriaNome();
+
+    Long getReceitaId();
+
+    Long getReceitaUsuarioId();
+
+    /**
+     * Vínculos junto com a própria despesa, gerenciada pela sessão
+     */
+    interface ComDespesa extends DespesaVinculos {
+
+        Despesa getDespesa();
+    }
+}
@@ -2,8 +2,11 @@ package com.financeiro.financeiro_pessoal_backend.repository;
 
 import com.financeiro.financeiro_pessoal_backend.model.Parametro;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoParametro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,6 +27,7 @@ public interface ParametroRepository extends JpaRepository<Parametro, Long> {
     /**
      * Busca parâmetro por usuário e chave
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Parametro p " +
             "WHERE p.usuario.id = :usuarioId " +
             "AND p.chave = :chave")
@@ -58,6 +62,7 @@ public interface ParametroRepository extends JpaRepository<Parametro, Long> {
     /**
      * Busca valor de um parâmetro específico
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p.valor FROM Parametro p " +
             "WHERE p.usuario.id = :usuarioId " +
             "AND p.chave = :chave")
@@ -0,0 +1,54 @@
+package com.financeiro.financeiro_pessoal_backend.repository;
+
+import com.financeiro.financeiro_pessoal_backend.model.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Busca o refresh token com bloqueio de escrita, serializando renovações
+     * concorrentes do mesmo token
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RefreshToken r WHERE r.jti = :jti")
+    Optional<RefreshToken> findByJtiForUpdate(@Param("jti") String jti);
+
+    /**
+     * Marca como revogados todos os tokens da família
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogado = true WHERE r.familia = :familia")
+    int revogarFamilia(@Param("familia") String familia);
+
+    /**
+     * Busca as famílias ainda válidas do usuário
+     */
+    @Query("SELECT DISTINCT r.familia FROM RefreshToken r " +
+            "WHERE r.usuario.id = :usuarioId " +
+            "AND r.revogado = false " +
+            "AND r.expiraEm > :agora")
+    List<String> findFamiliasAtivasByUsuarioId(
+            @Param("usuarioId") Long usuarioId,
+            @Param("agora") LocalDateTime agora
+    );
+
+    /**
+     * Remove tokens expirados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm < :agora")
+    int deleteExpirados(@Param("agora") LocalDateTime agora);
+}
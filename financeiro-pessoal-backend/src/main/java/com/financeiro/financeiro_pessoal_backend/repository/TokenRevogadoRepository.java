@@ -0,0 +1,66 @@
+package com.financeiro.financeiro_pessoal_backend.repository;
+
+import com.financeiro.financeiro_pessoal_backend.model.TokenRevogado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    /**
+     * Registra a revogação, ignorando identificadores já revogados
+     * Declara a tabela afetada: sem isso o Hibernate esvazia todo o cache de segundo nível
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tokens_revogados"))
+    @Query(value = "INSERT INTO tokens_revogados (id, usuario_id, motivo, expira_em, created_at, updated_at) " +
+            "VALUES (:id, :usuarioId, :motivo, :expiraEm, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int inserirSeAusente(
+            @Param("id") String id,
+            @Param("usuarioId") Long usuarioId,
+            @Param("motivo") String motivo,
+            @Param("expiraEm") LocalDateTime expiraEm
+    );
+
+    /**
+     * Busca revogações ainda vigentes
+     */
+    @Query("SELECT t FROM TokenRevogado t WHERE t.expiraEm > :agora")
+    List<TokenRevogado> findVigentes(@Param("agora") LocalDateTime agora);
+
+    /**
+     * Busca revogações ainda vigentes registradas a partir do instante informado
+     */
+    @Query("SELECT t FROM TokenRevogado t " +
+            "WHERE t.expiraEm > :agora " +
+            "AND t.createdAt >= :desde")
+    List<TokenRevogado> findVigentesDesde(
+            @Param("agora") LocalDateTime agora,
+            @Param("desde") LocalDateTime desde
+    );
+
+    /**
+     * Horário atual do banco, usado como marca d'água da sincronização
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime agora();
+
+    /**
+     * Remove revogações expiradas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm < :agora")
+    int deleteExpiradas(@Param("agora") LocalDateTime agora);
+}
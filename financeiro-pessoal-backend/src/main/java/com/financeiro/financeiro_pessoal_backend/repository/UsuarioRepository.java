@@ -2,8 +2,12 @@ package com.financeiro.financeiro_pessoal_backend.repository;
 
 import com.financeiro.financeiro_pessoal_backend.model.Usuario;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,11 +15,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
 
     /**
      * Busca usuário por email (usado no login)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Usuario> findByEmail(String email);
 
     /**
@@ -26,23 +31,21 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     /**
      * Busca usuário por email e ativo
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Usuario> findByEmailAndAtivoTrue(String email);
 
     /**
-     * Busca todos os usuários ativos
+     * Busca apenas a situação (ativo e tipo) do usuário, sem carregar a entidade
      */
-    List<Usuario> findByAtivoTrue();
+    @Query("SELECT new com.financeiro.financeiro_pessoal_backend.repository.UsuarioSituacao(u.ativo, u.tipoUsuario) " +
+            "FROM Usuario u WHERE u.id = :id")
+    Optional<UsuarioSituacao> findSituacaoById(@Param("id") Long id);
 
     /**
      * Busca usuários por tipo
      */
     List<Usuario> findByTipoUsuario(TipoUsuario tipoUsuario);
 
-    /**
-     * Busca usuários ativos por tipo
-     */
-    List<Usuario> findByTipoUsuarioAndAtivoTrue(TipoUsuario tipoUsuario);
-
     /**
      * Busca usuário com todas as receitas (evita N+1)
      */
@@ -96,10 +99,4 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * Conta usuários por tipo
      */
     Long countByTipoUsuario(TipoUsuario tipoUsuario);
-
-    /**
-     * Busca usuários por nome (case insensitive)
-     */
-    @Query("SELECT u FROM Usuario u WHERE LOWER(u.nome) LIKE LOWER(CONCAT('%', :nome, '%')) AND u.ativo = true")
-    List<Usuario> findByNomeContainingIgnoreCaseAndAtivoTrue(@Param("nome") String nome);
 }
\ No newline at end of file
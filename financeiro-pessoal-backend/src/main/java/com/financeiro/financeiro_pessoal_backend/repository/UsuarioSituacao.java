@@ -0,0 +1,9 @@
+package com.financeiro.financeiro_pessoal_backend.repository;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+
+/**
+ * Situação do usuário usada na autenticação: se está ativo e o tipo atual
+ */
+public record UsuarioSituacao(Boolean ativo, TipoUsuario tipoUsuario) {
+}
@@ -0,0 +1,39 @@
+package com.financeiro.financeiro_pessoal_backend.repository;
+
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros da listagem de usuários; só os filtros informados entram no SQL,
+ * mantendo o plano compatível com os índices de {@code usuarios}
+ */
+public final class UsuarioSpecifications {
+
+    private UsuarioSpecifications() {
+    }
+
+    public static Specification<Usuario> ativo(Boolean ativo) {
+        return (root, query, cb) -> ativo == null ? null : cb.equal(root.get("ativo"), ativo);
+    }
+
+    public static Specification<Usuario> tipo(TipoUsuario tipo) {
+        return (root, query, cb) -> tipo == null ? null : cb.equal(root.get("tipoUsuario"), tipo);
+    }
+
+    /**
+     * Busca parcial por nome; usa LOWER(nome) para casar com o índice trigram
+     */
+    public static Specification<Usuario> nomeContendo(String nome) {
+        return (root, query, cb) -> {
+            if (nome == null || nome.isBlank()) {
+                return null;
+            }
+            String termo = nome.trim().toLowerCase()
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+            return cb.like(cb.lower(root.get("nome")), "%" + termo + "%", '\\');
+        };
+    }
+}
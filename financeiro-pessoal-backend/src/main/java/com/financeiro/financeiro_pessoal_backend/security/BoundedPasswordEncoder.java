@@ -0,0 +1,142 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+import com.financeiro.financeiro_pessoal_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorator que executa hash e verificação de senha num pool dedicado e limitado
+ *
+ * O BCrypt é deliberadamente caro; rodando nas threads do Tomcat, uma rajada
+ * de logins ocupa todas as CPUs e atrasa o restante da API. Aqui no máximo
+ * {@code threads} operações rodam ao mesmo tempo, até {@code queueCapacity}
+ * aguardam, e as demais são recusadas na hora com
+ * {@link ServiceUnavailableException}. A requisição espera no máximo
+ * {@code timeout} pelo resultado.
+ *
+ * Métricas: {@code security.password.queue} (espera na fila),
+ * {@code security.password.hash} (tempo de hash) e
+ * {@code security.password.rejected}, por operação.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String ENCODE = "encode";
+    private static final String MATCHES = "matches";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hash");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(MATCHES, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Apenas lê o custo do hash; não precisa do pool
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(String operacao, Callable<T> task) {
+        long enfileirado = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long inicio = System.nanoTime();
+                timer("security.password.queue", operacao).record(inicio - enfileirado, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer("security.password.hash", operacao).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitar(operacao, "fila_cheia");
+            throw new ServiceUnavailableException("Servidor ocupado. Tente novamente em instantes.", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejeitar(operacao, "tempo_esgotado");
+            throw new ServiceUnavailableException("Servidor ocupado. Tente novamente em instantes.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falha ao processar senha", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Processamento de senha interrompido", e);
+        }
+    }
+
+    private void rejeitar(String operacao, String motivo) {
+        Counter.builder("security.password.rejected")
+                .tag("operacao", operacao)
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Operação de senha recusada - Operação: {}, Motivo: {}, Fila: {}",
+                operacao, motivo, executor.getQueue().size());
+    }
+
+    private Timer timer(String nome, String operacao) {
+        return Timer.builder(nome)
+                .tag("operacao", operacao)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encerra o pool ao desligar a aplicação
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
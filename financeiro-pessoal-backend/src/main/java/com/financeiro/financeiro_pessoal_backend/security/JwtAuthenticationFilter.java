@@ -1,5 +1,7 @@
 package com.financeiro.financeiro_pessoal_backend.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +23,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UsuarioStatusCache usuarioStatusCache;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final UsuarioRepository usuarioRepository;
 
     @Override
     protected void doFilterInternal(
@@ -50,20 +52,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extrai o token JWT do header
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
+            final DecodedJWT decodedJWT = jwtService.decodeAccessToken(jwt);
 
-            // Se o email foi extraído e não há autenticação no contexto
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Carrega os detalhes do usuário
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // Token revogado (logout ou família comprometida) é tratado como ausente
+            final boolean revogado = decodedJWT != null && tokenRevocationStore.isRevoked(
+                    decodedJWT.getId(), jwtService.getFamilia(decodedJWT));
+            if (revogado) {
+                log.warn("Token revogado apresentado - Sujeito: {}", decodedJWT.getSubject());
+            }
+
+            final UsuarioPrincipal principal = decodedJWT != null
+                    ? (revogado ? null : jwtService.toPrincipal(decodedJWT))
+                    : principalLegado(jwt);
 
-                // Valida o token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    // Cria o token de autenticação
+            // Se o token é válido e não há autenticação no contexto
+            if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Situação e tipo do usuário vêm do cache; o banco só é consultado na falta
+                if (usuarioStatusCache.isValido(principal)) {
+                    // Cria o token de autenticação a partir das claims
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
 
                     // Adiciona detalhes da requisição ao token
@@ -74,9 +84,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // Define a autenticação no contexto de segurança
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    log.debug("Usuário {} autenticado com sucesso", userEmail);
+                    log.debug("Usuário {} autenticado com sucesso", principal.email());
                 } else {
-                    log.warn("Token inválido para o usuário {}", userEmail);
+                    log.warn("Token de usuário inativo, inexistente ou com tipo alterado - ID: {}", principal.id());
                 }
             }
         } catch (Exception e) {
@@ -88,6 +98,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Principal de um token emitido antes das claims de id e tipo, carregado
+     * pelo email como antes; vale até esses tokens expirarem
+     */
+    private UsuarioPrincipal principalLegado(String jwt) {
+        DecodedJWT legado = jwtService.decodeLegacyAccessToken(jwt);
+        if (legado == null) {
+            return null;
+        }
+        return usuarioRepository.findByEmailAndAtivoTrue(legado.getSubject())
+                .map(UsuarioPrincipal::of)
+                .orElse(null);
+    }
+
     /**
      * Verifica se o endpoint é público (não requer autenticação)
      */
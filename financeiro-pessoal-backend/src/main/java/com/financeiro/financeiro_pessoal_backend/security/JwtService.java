@@ -2,22 +2,42 @@ package com.financeiro.financeiro_pessoal_backend.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.UUID;
 
 @Service
 @Slf4j
 public class JwtService {
 
+    private static final String CLAIM_USUARIO_ID = "uid";
+    private static final String CLAIM_TIPO_USUARIO = "role";
+    private static final String CLAIM_TIPO_TOKEN = "tipo";
+    private static final String CLAIM_FAMILIA = "fam";
+    private static final String TIPO_ACCESS = "access";
+    private static final String TIPO_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -27,78 +47,184 @@ public class JwtService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
+    @Value("${jwt.verified-cache.ttl:30s}")
+    private Duration verifiedCacheTtl;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    /**
+     * Tokens já verificados, indexados pelo SHA-256 do token
+     * Evita refazer HMAC e parse do JSON a cada requisição do mesmo token
+     */
+    private Cache<ByteBuffer, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        algorithm = Algorithm.HMAC256(secretKey);
+        verifier = JWT.require(algorithm).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfterWrite(verifiedCacheTtl)
+                .build();
+    }
+
     /**
-     * Extrai o username (email) do token
+     * Decodifica um access token válido
+     * Retorna null se o token for inválido, expirado ou de outro tipo
      */
-    public String extractUsername(String token) {
+    public DecodedJWT decodeAccessToken(String token) {
         try {
             DecodedJWT decodedJWT = decodeToken(token);
-            return decodedJWT.getSubject();
+            if (!TIPO_ACCESS.equals(decodedJWT.getClaim(CLAIM_TIPO_TOKEN).asString())) {
+                if (!isLegado(decodedJWT)) {
+                    log.warn("Token apresentado não é um access token");
+                }
+                return null;
+            }
+            return decodedJWT;
         } catch (JWTVerificationException e) {
-            log.error("Erro ao extrair username do token: {}", e.getMessage());
+            log.error("Erro ao decodificar token: {}", e.getMessage());
             return null;
         }
     }
 
     /**
-     * Gera um token JWT para o usuário
+     * Decodifica um access token emitido antes das claims de id, tipo e família
+     * Retorna null se o token for inválido, expirado ou não for legado
+     *
+     * Esses tokens não distinguem access de refresh; só são aceitos os com
+     * validade de access token, e deixam de existir uma {@code jwt.expiration}
+     * depois da implantação, quando este caminho pode ser removido.
      */
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(userDetails, jwtExpiration);
+    public DecodedJWT decodeLegacyAccessToken(String token) {
+        try {
+            DecodedJWT decodedJWT = decodeToken(token);
+            return isLegado(decodedJWT) ? decodedJWT : null;
+        } catch (JWTVerificationException e) {
+            log.error("Erro ao decodificar token: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
-     * Gera um refresh token JWT para o usuário
+     * Token sem tipo nem id do usuário e com validade de access token
      */
-    public String generateRefreshToken(UserDetails userDetails) {
-        return generateToken(userDetails, refreshExpiration);
+    private boolean isLegado(DecodedJWT decodedJWT) {
+        Instant emitidoEm = decodedJWT.getIssuedAtAsInstant();
+        Instant expiraEm = decodedJWT.getExpiresAtAsInstant();
+        return decodedJWT.getClaim(CLAIM_TIPO_TOKEN).isMissing()
+                && decodedJWT.getClaim(CLAIM_USUARIO_ID).isMissing()
+                && decodedJWT.getSubject() != null
+                && emitidoEm != null && expiraEm != null
+                && Duration.between(emitidoEm, expiraEm).toMillis() <= jwtExpiration;
     }
 
     /**
-     * Gera um token JWT com tempo de expiração customizado
+     * Decodifica um refresh token válido, sem passar pelo cache de tokens verificados
+     * Retorna null se o token for inválido, expirado, de outro tipo ou sem identificadores
      */
-    private String generateToken(UserDetails userDetails, long expiration) {
-        Instant now = Instant.now();
-        Instant expirationTime = now.plusMillis(expiration);
-
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
+    public DecodedJWT decodeRefreshToken(String token) {
+        try {
+            DecodedJWT decodedJWT = verifier.verify(token);
+            if (!TIPO_REFRESH.equals(decodedJWT.getClaim(CLAIM_TIPO_TOKEN).asString())
+                    || decodedJWT.getId() == null || getFamilia(decodedJWT) == null) {
+                log.warn("Token apresentado não é um refresh token");
+                return null;
+            }
+            return decodedJWT;
+        } catch (JWTVerificationException e) {
+            log.error("Erro ao decodificar refresh token: {}", e.getMessage());
+            return null;
+        }
+    }
 
-        return JWT.create()
-                .withSubject(userDetails.getUsername())
-                .withIssuedAt(Date.from(now))
-                .withExpiresAt(Date.from(expirationTime))
-                .withClaim("authorities", userDetails.getAuthorities().stream()
-                        .map(Object::toString)
-                        .toList())
-                .sign(algorithm);
+    /**
+     * Extrai o principal (id, email e tipo) das claims de um access token
+     * Retorna null se o token for inválido, expirado ou não tiver as claims
+     */
+    public UsuarioPrincipal extractPrincipal(String token) {
+        DecodedJWT decodedJWT = decodeAccessToken(token);
+        return decodedJWT != null ? toPrincipal(decodedJWT) : null;
     }
 
     /**
-     * Valida se o token é válido para o usuário
+     * Monta o principal a partir das claims do token já verificado
+     * Retorna null se o token não tiver as claims
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
+    public UsuarioPrincipal toPrincipal(DecodedJWT decodedJWT) {
         try {
-            final String username = extractUsername(token);
-            return (username != null &&
-                    username.equals(userDetails.getUsername()) &&
-                    !isTokenExpired(token));
-        } catch (Exception e) {
-            log.error("Erro ao validar token: {}", e.getMessage());
-            return false;
+            Long usuarioId = decodedJWT.getClaim(CLAIM_USUARIO_ID).asLong();
+            String tipoUsuario = decodedJWT.getClaim(CLAIM_TIPO_USUARIO).asString();
+            if (usuarioId == null || tipoUsuario == null || decodedJWT.getSubject() == null) {
+                log.warn("Token sem as claims do usuário");
+                return null;
+            }
+            return new UsuarioPrincipal(usuarioId, decodedJWT.getSubject(), TipoUsuario.valueOf(tipoUsuario));
+        } catch (JWTDecodeException | IllegalArgumentException e) {
+            log.error("Erro ao extrair principal do token: {}", e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Verifica se o token está expirado
+     * Extrai o id do usuário das claims do token
      */
-    private boolean isTokenExpired(String token) {
-        try {
-            DecodedJWT decodedJWT = decodeToken(token);
-            return decodedJWT.getExpiresAt().before(new Date());
-        } catch (JWTVerificationException e) {
-            log.error("Erro ao verificar expiração do token: {}", e.getMessage());
-            return true;
-        }
+    public Long getUsuarioId(DecodedJWT decodedJWT) {
+        return decodedJWT.getClaim(CLAIM_USUARIO_ID).asLong();
+    }
+
+    /**
+     * Extrai a família do token (sessão iniciada no login)
+     */
+    public String getFamilia(DecodedJWT decodedJWT) {
+        return decodedJWT.getClaim(CLAIM_FAMILIA).asString();
+    }
+
+    /**
+     * Gera um access token JWT para o usuário, vinculado à família da sessão
+     */
+    public String generateToken(Usuario usuario, String familia) {
+        return generateToken(usuario, TIPO_ACCESS, UUID.randomUUID().toString(), familia, jwtExpiration);
+    }
+
+    /**
+     * Gera um refresh token JWT para o usuário com o jti informado
+     */
+    public String generateRefreshToken(Usuario usuario, String familia, String jti) {
+        return generateToken(usuario, TIPO_REFRESH, jti, familia, refreshExpiration);
+    }
+
+    /**
+     * Duração do refresh token, usada para registrar sua expiração
+     */
+    public Duration getRefreshExpiration() {
+        return Duration.ofMillis(refreshExpiration);
+    }
+
+    /**
+     * Gera um token JWT com tipo, identificadores e tempo de expiração informados
+     */
+    private String generateToken(Usuario usuario, String tipo, String jti, String familia, long expiration) {
+        Instant now = Instant.now();
+        Instant expirationTime = now.plusMillis(expiration);
+
+        return JWT.create()
+                .withSubject(usuario.getUsername())
+                .withJWTId(jti)
+                .withIssuedAt(Date.from(now))
+                .withExpiresAt(Date.from(expirationTime))
+                .withClaim(CLAIM_TIPO_TOKEN, tipo)
+                .withClaim(CLAIM_FAMILIA, familia)
+                .withClaim(CLAIM_USUARIO_ID, usuario.getId())
+                .withClaim(CLAIM_TIPO_USUARIO, usuario.getTipoUsuario().name())
+                .withClaim("authorities", usuario.getAuthorities().stream()
+                        .map(Object::toString)
+                        .toList())
+                .sign(algorithm);
     }
 
     /**
@@ -118,13 +244,32 @@ public class JwtService {
     }
 
     /**
-     * Decodifica e verifica o token JWT
+     * Decodifica e verifica o token JWT com o verificador único
+     * Tokens já verificados vêm do cache enquanto não expirarem
      */
     private DecodedJWT decodeToken(String token) {
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
-        return JWT.require(algorithm)
-                .build()
-                .verify(token);
+        ByteBuffer key = hash(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            Instant expiresAt = cached.getExpiresAtAsInstant();
+            if (expiresAt == null || expiresAt.isAfter(Instant.now())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(key);
+            throw new TokenExpiredException("The Token has expired on " + expiresAt + ".", expiresAt);
+        }
+        DecodedJWT decodedJWT = verifier.verify(token);
+        verifiedTokens.put(key, decodedJWT);
+        return decodedJWT;
+    }
+
+    private ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
     /**
@@ -0,0 +1,8 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+/**
+ * Evento publicado ao revogar todas as sessões de um usuário (troca de
+ * senha, desativação), processado após o commit
+ */
+public record SessoesRevogadasEvent(Long usuarioId) {
+}
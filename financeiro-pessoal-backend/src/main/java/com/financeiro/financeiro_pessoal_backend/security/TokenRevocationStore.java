@@ -0,0 +1,201 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+import com.financeiro.financeiro_pessoal_backend.model.TokenRevogado;
+import com.financeiro.financeiro_pessoal_backend.repository.RefreshTokenRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.TokenRevogadoRepository;
+import com.financeiro.financeiro_pessoal_backend.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conjunto em memória dos identificadores de token revogados (jti de access
+ * token e famílias de refresh token), consultado a cada requisição sem
+ * acessar o banco
+ *
+ * A consulta passa primeiro por um filtro de Bloom, que descarta em O(1) e
+ * com memória fixa a quase totalidade dos tokens válidos; só os possíveis
+ * positivos chegam ao mapa exato. A tabela {@code tokens_revogados} é a fonte
+ * da verdade: a cada {@code security.revogacao.sync-interval} as revogações
+ * novas (de qualquer réplica) são lidas, e a cada
+ * {@code security.revogacao.rebuild-interval} o conjunto é reconstruído do
+ * zero, descartando as expiradas e removendo-as do banco junto com os
+ * refresh tokens vencidos. Revogações feitas neste nó valem imediatamente.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore implements SmartLifecycle {
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final Duration syncInterval;
+    private final Duration rebuildInterval;
+    private final Duration syncOverlap;
+
+    private volatile Snapshot snapshot;
+    private volatile LocalDateTime ultimaSincronizacao;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    /**
+     * Filtro e mapa exato trocados juntos na reconstrução
+     */
+    private record Snapshot(BloomFilter filter, Map<String, LocalDateTime> revogados) {
+
+        void add(String id, LocalDateTime expiraEm) {
+            revogados.merge(id, expiraEm, (atual, nova) -> atual.isAfter(nova) ? atual : nova);
+            filter.put(id);
+        }
+
+        boolean contains(String id) {
+            return filter.mightContain(id) && revogados.containsKey(id);
+        }
+    }
+
+    public TokenRevocationStore(TokenRevogadoRepository tokenRevogadoRepository,
+                                RefreshTokenRepository refreshTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${security.revogacao.expected-insertions:1000000}") long expectedInsertions,
+                                @Value("${security.revogacao.fpp:0.01}") double fpp,
+                                @Value("${security.revogacao.sync-interval:10s}") Duration syncInterval,
+                                @Value("${security.revogacao.rebuild-interval:1h}") Duration rebuildInterval,
+                                @Value("${security.revogacao.sync-overlap:1m}") Duration syncOverlap) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.syncInterval = syncInterval;
+        this.rebuildInterval = rebuildInterval;
+        this.syncOverlap = syncOverlap;
+        this.snapshot = newSnapshot(0);
+
+        Gauge.builder("security.tokens.revogados", this, store -> store.snapshot.revogados().size())
+                .description("Identificadores de token revogados em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica se algum dos identificadores informados foi revogado
+     */
+    public boolean isRevoked(String tokenId, String familia) {
+        Snapshot current = snapshot;
+        return (tokenId != null && current.contains(tokenId))
+                || (familia != null && current.contains(familia));
+    }
+
+    /**
+     * Aplica localmente uma revogação já gravada no banco
+     */
+    public void revoke(String id, LocalDateTime expiraEm) {
+        snapshot.add(id, expiraEm);
+    }
+
+    /**
+     * Aplica as revogações deste nó assim que a transação que as gravou confirma
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevogacao(TokenRevogadoEvent event) {
+        revoke(event.id(), event.expiraEm());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        rebuild();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync,
+                syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuild,
+                rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Lê as revogações registradas desde a última sincronização; a janela de
+     * sobreposição cobre transações que gravaram antes e confirmaram depois
+     */
+    void sync() {
+        if (ultimaSincronizacao == null) {
+            rebuild();
+            return;
+        }
+        try {
+            LocalDateTime agoraBanco = tokenRevogadoRepository.agora();
+            List<TokenRevogado> novos = tokenRevogadoRepository.findVigentesDesde(
+                    LocalDateTime.now(), ultimaSincronizacao.minus(syncOverlap));
+            Snapshot current = snapshot;
+            novos.forEach(t -> current.add(t.getId(), t.getExpiraEm()));
+            ultimaSincronizacao = agoraBanco;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao sincronizar tokens revogados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstrói filtro e mapa a partir do banco, descartando revogações expiradas
+     */
+    void rebuild() {
+        try {
+            LocalDateTime agora = LocalDateTime.now();
+            tokenRevogadoRepository.deleteExpiradas(agora);
+            int refreshRemovidos = refreshTokenRepository.deleteExpirados(agora);
+
+            LocalDateTime agoraBanco = tokenRevogadoRepository.agora();
+            List<TokenRevogado> vigentes = tokenRevogadoRepository.findVigentes(agora);
+            Snapshot rebuilt = newSnapshot(vigentes.size());
+            vigentes.forEach(t -> rebuilt.add(t.getId(), t.getExpiraEm()));
+
+            // Mantém as revogações locais ainda não lidas do banco; as que chegarem
+            // depois desta cópia voltam na próxima sincronização
+            snapshot.revogados().forEach((id, expiraEm) -> {
+                if (expiraEm.isAfter(agora)) {
+                    rebuilt.add(id, expiraEm);
+                }
+            });
+            snapshot = rebuilt;
+            ultimaSincronizacao = agoraBanco;
+
+            log.info("Tokens revogados recarregados - Vigentes: {}, Filtro: {} KB, Refresh tokens expirados removidos: {}",
+                    rebuilt.revogados().size(), rebuilt.filter().sizeInBytes() / 1024, refreshRemovidos);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recarregar tokens revogados: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot newSnapshot(int vigentes) {
+        return new Snapshot(
+                new BloomFilter(Math.max(expectedInsertions, vigentes * 2L), fpp),
+                new ConcurrentHashMap<>());
+    }
+}
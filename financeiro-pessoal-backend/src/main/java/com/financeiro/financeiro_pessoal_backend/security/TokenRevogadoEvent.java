@@ -0,0 +1,10 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado ao revogar um identificador de token, aplicado ao
+ * {@link TokenRevocationStore} local após o commit
+ */
+public record TokenRevogadoEvent(String id, LocalDateTime expiraEm) {
+}
@@ -1,9 +1,11 @@
 package com.financeiro.financeiro_pessoal_backend.security;
 
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
 import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -27,4 +29,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     return new UsernameNotFoundException("Usuário não encontrado: " + email);
                 });
     }
+
+    /**
+     * Regrava o hash da senha após um login bem-sucedido quando o custo do
+     * BCrypt configurado mudou (chamado pelo DaoAuthenticationProvider)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = usuarioRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + user.getUsername()));
+        usuario.setSenhaHash(newPassword);
+        log.info("Hash de senha atualizado para o custo atual - ID: {}", usuario.getId());
+        return usuarioRepository.save(usuario);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal leve montado a partir das claims do JWT (id, email e tipo),
+ * sem consulta ao banco a cada requisição
+ */
+public record UsuarioPrincipal(Long id, String email, TipoUsuario tipoUsuario) implements Principal {
+
+    public static UsuarioPrincipal of(Usuario usuario) {
+        return new UsuarioPrincipal(usuario.getId(), usuario.getEmail(), usuario.getTipoUsuario());
+    }
+
+    /**
+     * Nome do principal (email), usado por {@code Authentication.getName()}
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + tipoUsuario.name()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTag;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioSituacao;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Cache limitado da situação (ativo/inativo e tipo) dos usuários, consultado
+ * na autenticação por JWT para barrar contas desativadas e tokens emitidos
+ * com um tipo de usuário que já mudou, sem acessar o banco a cada requisição
+ *
+ * Escritas em usuários (desativar, reativar, alterar tipo) removem a entrada
+ * após o commit, inclusive nas demais réplicas quando o barramento de
+ * invalidação está ativo; sem ele, a mudança vale nelas ao expirar o TTL.
+ */
+@Component
+public class UsuarioStatusCache {
+
+    private static final UsuarioSituacao INEXISTENTE = new UsuarioSituacao(false, null);
+
+    private final LoadingCache<Long, UsuarioSituacao> situacoes;
+
+    public UsuarioStatusCache(UsuarioRepository usuarioRepository,
+                              DataVersions dataVersions,
+                              @Value("${security.usuario-status.maximum-size:10000}") long maximumSize,
+                              @Value("${security.usuario-status.ttl:60s}") Duration ttl) {
+        this.situacoes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build(id -> usuarioRepository.findSituacaoById(id).orElse(INEXISTENTE));
+        dataVersions.addListener(this::onDataChange);
+    }
+
+    /**
+     * Verifica se o usuário do token existe, está ativo e ainda tem o tipo
+     * informado nas claims (um rebaixamento de admin vale de imediato)
+     */
+    public boolean isValido(UsuarioPrincipal principal) {
+        UsuarioSituacao situacao = situacoes.get(principal.id());
+        return Boolean.TRUE.equals(situacao.ativo()) && situacao.tipoUsuario() == principal.tipoUsuario();
+    }
+
+    /**
+     * Remove a situação em cache do usuário
+     */
+    public void evict(Long usuarioId) {
+        situacoes.invalidate(usuarioId);
+    }
+
+    /**
+     * Remove as situações afetadas por escritas em usuários
+     */
+    private void onDataChange(Set<CacheTag> tags) {
+        for (CacheTag tag : tags) {
+            if (tag.entity() != CacheEntity.USUARIO) {
+                continue;
+            }
+            if (tag.isGlobal()) {
+                situacoes.invalidateAll();
+            } else {
+                situacoes.invalidate(tag.usuarioId());
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheInvalidator;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTag;
 import com.financeiro.financeiro_pessoal_backend.dto.request.LoginRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.request.RegisterRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.AuthResponseDTO;
@@ -11,7 +14,6 @@ import com.financeiro.financeiro_pessoal_backend.mapper.UsuarioMapper;
 import com.financeiro.financeiro_pessoal_backend.model.Usuario;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
 import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
-import com.financeiro.financeiro_pessoal_backend.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,12 +21,10 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.regex.Pattern;
 
 @Service
@@ -34,9 +34,10 @@ public class AuthenticationService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UsuarioMapper usuarioMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final RefreshTokenService refreshTokenService;
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
@@ -48,8 +49,8 @@ public class AuthenticationService {
 
     /**
      * Registra um novo usuário no sistema
+     * Sem transação envolvente: o hash da senha não deve segurar uma conexão do pool
      */
-    @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
         log.info("Iniciando registro de novo usuário: {}", request.getEmail());
 
@@ -75,27 +76,17 @@ public class AuthenticationService {
         usuario = usuarioRepository.save(usuario);
         log.info("Usuário registrado com sucesso - ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
 
-        // Gera tokens JWT
-        String token = jwtService.generateToken(usuario);
-        String refreshToken = jwtService.generateRefreshToken(usuario);
-        LocalDateTime expiresAt = jwtService.extractExpiration(token);
-
-        // Converte para DTO
-        UsuarioResponseDTO usuarioDTO = usuarioMapper.toDto(usuario);
+        // Listagens globais de usuários passam a estar desatualizadas
+        cacheInvalidator.invalidate(CacheTag.of(CacheEntity.USUARIO, usuario.getId()));
 
-        return AuthResponseDTO.builder()
-                .token(token)
-                .refreshToken(refreshToken)
-                .tipo("Bearer")
-                .usuario(usuarioDTO)
-                .expiraEm(expiresAt)
-                .build();
+        // Gera tokens JWT
+        return toAuthResponse(refreshTokenService.emitir(usuario));
     }
 
     /**
      * Realiza login do usuário
+     * Sem transação envolvente: a verificação da senha não deve segurar uma conexão do pool
      */
-    @Transactional(readOnly = true)
     public AuthResponseDTO login(LoginRequestDTO request) {
         log.info("Tentativa de login: {}", request.getEmail());
 
@@ -111,9 +102,10 @@ public class AuthenticationService {
             // Define contexto de segurança
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Busca usuário
-            Usuario usuario = usuarioRepository.findByEmail(request.getEmail().toLowerCase().trim())
-                    .orElseThrow(() -> new UnauthorizedException("Credenciais inválidas"));
+            // Usuário já carregado pelo AuthenticationManager
+            if (!(authentication.getPrincipal() instanceof Usuario usuario)) {
+                throw new UnauthorizedException("Credenciais inválidas");
+            }
 
             // Verifica se está ativo
             if (!usuario.getAtivo()) {
@@ -123,21 +115,8 @@ public class AuthenticationService {
 
             log.info("Login realizado com sucesso - ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
 
-            // Gera tokens
-            String token = jwtService.generateToken(usuario);
-            String refreshToken = jwtService.generateRefreshToken(usuario);
-            LocalDateTime expiresAt = jwtService.extractExpiration(token);
-
-            // Converte para DTO
-            UsuarioResponseDTO usuarioDTO = usuarioMapper.toDto(usuario);
-
-            return AuthResponseDTO.builder()
-                    .token(token)
-                    .refreshToken(refreshToken)
-                    .tipo("Bearer")
-                    .usuario(usuarioDTO)
-                    .expiraEm(expiresAt)
-                    .build();
+            // Gera tokens em uma nova família
+            return toAuthResponse(refreshTokenService.emitir(usuario));
 
         } catch (BadCredentialsException e) {
             log.warn("Falha no login - credenciais inválidas: {}", request.getEmail());
@@ -146,46 +125,17 @@ public class AuthenticationService {
     }
 
     /**
-     * Renova o token JWT
+     * Renova o token JWT, consumindo o refresh token apresentado
+     * Reapresentar um refresh token já usado revoga a sessão inteira
      */
-    @Transactional(readOnly = true)
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public AuthResponseDTO refreshToken(String token) {
         log.info("Renovando token JWT");
 
         try {
-            // Extrai email do token
-            String email = jwtService.extractUsername(token);
-
-            if (email == null) {
-                throw new UnauthorizedException("Token inválido");
-            }
-
-            // Busca usuário
-            Usuario usuario = usuarioRepository.findByEmailAndAtivoTrue(email)
-                    .orElseThrow(() -> new UnauthorizedException("Usuário não encontrado ou inativo"));
-
-            // Valida token com UserDetails
-            if (!jwtService.isTokenValid(token, usuario)) {
-                throw new UnauthorizedException("Token inválido ou expirado");
-            }
-
-            // Gera novos tokens
-            String newToken = jwtService.generateToken(usuario);
-            String newRefreshToken = jwtService.generateRefreshToken(usuario);
-            LocalDateTime expiresAt = jwtService.extractExpiration(newToken);
-
-            log.info("Token renovado com sucesso - Email: {}", email);
-
-            // Converte para DTO
-            UsuarioResponseDTO usuarioDTO = usuarioMapper.toDto(usuario);
-
-            return AuthResponseDTO.builder()
-                    .token(newToken)
-                    .refreshToken(newRefreshToken)
-                    .tipo("Bearer")
-                    .usuario(usuarioDTO)
-                    .expiraEm(expiresAt)
-                    .build();
+            RefreshTokenService.TokensEmitidos tokens = refreshTokenService.rotacionar(token);
+            log.info("Token renovado com sucesso - Email: {}", tokens.usuario().getEmail());
+            return toAuthResponse(tokens);
 
         } catch (Exception e) {
             log.error("Erro ao renovar token: {}", e.getMessage());
@@ -194,15 +144,12 @@ public class AuthenticationService {
     }
 
     /**
-     * Realiza logout (invalidação será feita no frontend)
+     * Realiza logout, revogando o access token e a sessão (família) dos tokens
      */
-    public void logout() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null) {
-            String email = authentication.getName();
-            log.info("Logout realizado - Email: {}", email);
-            SecurityContextHolder.clearContext();
-        }
+    public void logout(String accessToken, String refreshToken) {
+        refreshTokenService.revogarSessao(accessToken, refreshToken);
+        log.info("Logout realizado");
+        SecurityContextHolder.clearContext();
     }
 
     /**
@@ -223,6 +170,19 @@ public class AuthenticationService {
         return usuarioMapper.toDto(usuario);
     }
 
+    private AuthResponseDTO toAuthResponse(RefreshTokenService.TokensEmitidos tokens) {
+        // Converte para DTO
+        UsuarioResponseDTO usuarioDTO = usuarioMapper.toDto(tokens.usuario());
+
+        return AuthResponseDTO.builder()
+                .token(tokens.token())
+                .refreshToken(tokens.refreshToken())
+                .tipo("Bearer")
+                .usuario(usuarioDTO)
+                .expiraEm(tokens.expiraEm())
+                .build();
+    }
+
     /**
      * Valida dados de registro
      */
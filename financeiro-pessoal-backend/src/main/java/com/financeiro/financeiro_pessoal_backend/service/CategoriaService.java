@@ -1,5 +1,11 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.cache.InvalidatesCache;
+import com.financeiro.financeiro_pessoal_backend.concurrency.QueryFanOut;
+import com.financeiro.financeiro_pessoal_backend.concurrency.Workload;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadType;
 import com.financeiro.financeiro_pessoal_backend.dto.request.CategoriaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.CategoriaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.exception.DuplicateResourceException;
@@ -14,7 +20,6 @@ import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,12 +38,13 @@ public class CategoriaService {
     private final UsuarioRepository usuarioRepository;
     private final CategoriaMapper categoriaMapper;
     private final SecurityUtil securityUtil;
+    private final QueryFanOut fanOut;
 
     /**
      * Cria uma nova categoria
      */
     @Transactional
-    @CacheEvict(value = {"categorias", "despesas"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.CATEGORIA)
     public CategoriaResponseDTO create(CategoriaRequestDTO request) {
         log.info("Criando nova categoria: {}", request.getNome());
 
@@ -75,7 +81,8 @@ public class CategoriaService {
      * Busca categoria por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "categorias", key = "#id")
+    @CacheTags(CacheEntity.CATEGORIA)
+    @Cacheable(value = "categorias")
     public CategoriaResponseDTO findById(Long id) {
         log.debug("Buscando categoria por ID: {}", id);
 
@@ -108,7 +115,8 @@ public class CategoriaService {
      * Lista todas as categorias do usuário
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "categorias", key = "'usuario_' + @securityUtil.usuarioLogadoId")
+    @CacheTags(CacheEntity.CATEGORIA)
+    @Cacheable(value = "categorias")
     public List<CategoriaResponseDTO> findAllByUsuario() {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Listando categorias do usuário: {}", usuarioId);
@@ -273,7 +281,7 @@ public class CategoriaService {
      * Atualiza categoria
      */
     @Transactional
-    @CacheEvict(value = {"categorias", "despesas"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.CATEGORIA)
     public CategoriaResponseDTO update(Long id, CategoriaRequestDTO request) {
         log.info("Atualizando categoria - ID: {}", id);
 
@@ -307,7 +315,7 @@ public class CategoriaService {
      * Ativa categoria
      */
     @Transactional
-    @CacheEvict(value = {"categorias", "despesas"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.CATEGORIA)
     public CategoriaResponseDTO ativar(Long id) {
         log.info("Ativando categoria - ID: {}", id);
 
@@ -332,7 +340,7 @@ public class CategoriaService {
      * Desativa categoria (soft delete)
      */
     @Transactional
-    @CacheEvict(value = {"categorias", "despesas"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.CATEGORIA)
     public CategoriaResponseDTO desativar(Long id) {
         log.info("Desativando categoria - ID: {}", id);
 
@@ -357,7 +365,7 @@ public class CategoriaService {
      * Deleta categoria permanentemente
      */
     @Transactional
-    @CacheEvict(value = {"categorias", "despesas"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.CATEGORIA)
     public void delete(Long id) {
         log.info("Deletando categoria - ID: {}", id);
 
@@ -454,15 +462,28 @@ public class CategoriaService {
     /**
      * Resumo de categorias
      */
+    @Workload(WorkloadType.REPORTING)
     @Transactional(readOnly = true)
     public Map<String, Object> getResumo() {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Gerando resumo de categorias do usuário: {}", usuarioId);
 
-        Long total = categoriaRepository.countByUsuarioId(usuarioId);
-        Long ativas = categoriaRepository.countAtivasByUsuarioId(usuarioId);
-        Long despesas = categoriaRepository.countByUsuarioIdAndTipo(usuarioId, TipoCategoria.DESPESA);
-        Long receitas = categoriaRepository.countByUsuarioIdAndTipo(usuarioId, TipoCategoria.RECEITA);
+        QueryFanOut.FanOut consultas = fanOut.start("resumo_categorias");
+        QueryFanOut.Result<Long> totalCategorias = consultas.fork(() ->
+                categoriaRepository.countByUsuarioId(usuarioId));
+        QueryFanOut.Result<Long> categoriasAtivas = consultas.fork(() ->
+                categoriaRepository.countAtivasByUsuarioId(usuarioId));
+        QueryFanOut.Result<Long> categoriasDespesa = consultas.fork(() ->
+                categoriaRepository.countByUsuarioIdAndTipo(usuarioId, TipoCategoria.DESPESA));
+        QueryFanOut.Result<Long> categoriasReceita = consultas.fork(() ->
+                categoriaRepository.countByUsuarioIdAndTipo(usuarioId, TipoCategoria.RECEITA));
+        QueryFanOut.Result<Map<String, Long>> porTipo = consultas.fork(this::agruparPorTipo);
+        consultas.join();
+
+        Long total = totalCategorias.get();
+        Long ativas = categoriasAtivas.get();
+        Long despesas = categoriasDespesa.get();
+        Long receitas = categoriasReceita.get();
 
         Map<String, Object> resumo = new HashMap<>();
         resumo.put("total", total);
@@ -470,7 +491,7 @@ public class CategoriaService {
         resumo.put("inativas", total - ativas);
         resumo.put("despesas", despesas);
         resumo.put("receitas", receitas);
-        resumo.put("porTipo", agruparPorTipo());
+        resumo.put("porTipo", porTipo.get());
 
         log.info("Resumo de categorias gerado - Total: {}, Ativas: {}", total, ativas);
         return resumo;
@@ -1,5 +1,11 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.concurrency.Coalesced;
+import com.financeiro.financeiro_pessoal_backend.concurrency.QueryFanOut;
+import com.financeiro.financeiro_pessoal_backend.concurrency.Workload;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadType;
 import com.financeiro.financeiro_pessoal_backend.dto.response.DashboardResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.exception.ValidationException;
 import com.financeiro.financeiro_pessoal_backend.model.enums.StatusMeta;
@@ -32,12 +38,14 @@ public class DashboardService {
     private final MetaRepository metaRepository;
     private final CategoriaRepository categoriaRepository;
     private final SecurityUtil securityUtil;
+    private final QueryFanOut fanOut;
 
     /**
      * Retorna dados consolidados do dashboard
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "'geral_' + #mes + '_' + #ano + '_' + @securityUtil.usuarioLogadoId")
+    @CacheTags({CacheEntity.RECEITA, CacheEntity.DESPESA, CacheEntity.META, CacheEntity.CATEGORIA})
+    @Cacheable(value = "dashboard", sync = true)
     public DashboardResponseDTO getDashboard(Integer mes, Integer ano) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.info("Gerando dashboard para usuário {} - Mês: {}, Ano: {}", usuarioId, mes, ano);
@@ -55,37 +63,83 @@ public class DashboardService {
         LocalDate inicio = periodo.atDay(1);
         LocalDate fim = periodo.atEndOfMonth();
 
-        // Calcula totais do período
-        BigDecimal totalReceitas = receitaRepository.sumTotalReceitasByUsuarioIdAndPeriodo(usuarioId, inicio, fim);
-        BigDecimal totalDespesas = despesaRepository.sumTotalByUsuarioIdAndPeriodo(usuarioId, inicio, fim);
-        BigDecimal totalDespesasPagas = despesaRepository.sumTotalPagoByPeriodo(usuarioId, inicio, fim);
-        BigDecimal totalDespesasPendentes = despesaRepository.sumTotalPendenteByPeriodo(usuarioId, inicio, fim);
+        // Consultas independentes entre si, executadas em paralelo
+        QueryFanOut.FanOut consultas = fanOut.start("dashboard");
 
-        BigDecimal saldo = totalReceitas.subtract(totalDespesas);
-        BigDecimal saldoDisponivel = totalReceitas.subtract(totalDespesasPagas);
+        // Totais do período
+        QueryFanOut.Result<BigDecimal> receitasPeriodo = consultas.fork(() ->
+                receitaRepository.sumTotalReceitasByUsuarioIdAndPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<BigDecimal> despesasPeriodo = consultas.fork(() ->
+                despesaRepository.sumTotalByUsuarioIdAndPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<BigDecimal> despesasPagasPeriodo = consultas.fork(() ->
+                despesaRepository.sumTotalPagoByPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<BigDecimal> despesasPendentesPeriodo = consultas.fork(() ->
+                despesaRepository.sumTotalPendenteByPeriodo(usuarioId, inicio, fim));
 
         // Estatísticas de despesas
-        Long countDespesasPagas = despesaRepository.countByUsuarioIdAndStatus(usuarioId, StatusPagamento.PAGO);
-        Long countDespesasPendentes = despesaRepository.countByUsuarioIdAndStatus(usuarioId, StatusPagamento.PENDENTE);
-        List<Object[]> despesasPorCategoria = despesaRepository.sumByCategoria(usuarioId, inicio, fim);
+        QueryFanOut.Result<Long> despesasPagas = consultas.fork(() ->
+                despesaRepository.countByUsuarioIdAndStatus(usuarioId, StatusPagamento.PAGO));
+        QueryFanOut.Result<Long> despesasPendentes = consultas.fork(() ->
+                despesaRepository.countByUsuarioIdAndStatus(usuarioId, StatusPagamento.PENDENTE));
+        QueryFanOut.Result<List<Object[]>> porCategoria = consultas.fork(() ->
+                despesaRepository.sumByCategoria(usuarioId, inicio, fim));
 
         // Estatísticas de metas
-        BigDecimal valorObjetivoMetas = metaRepository.sumValorObjetivoEmAndamento(usuarioId);
-        BigDecimal valorAtualMetas = metaRepository.sumValorAtualEmAndamento(usuarioId);
-        BigDecimal totalEconomizado = metaRepository.sumTotalEconomizado(usuarioId);
-        BigDecimal progressoMedioMetas = metaRepository.calcularProgressoMedio(usuarioId);
-
-        Long countMetasEmAndamento = metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.EM_ANDAMENTO);
-        Long countMetasConcluidas = metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.CONCLUIDA);
-        Long countMetasVencidas = metaRepository.countVencidasByUsuarioId(usuarioId);
+        QueryFanOut.Result<BigDecimal> objetivoMetas = consultas.fork(() ->
+                metaRepository.sumValorObjetivoEmAndamento(usuarioId));
+        QueryFanOut.Result<BigDecimal> atualMetas = consultas.fork(() ->
+                metaRepository.sumValorAtualEmAndamento(usuarioId));
+        QueryFanOut.Result<BigDecimal> economizado = consultas.fork(() ->
+                metaRepository.sumTotalEconomizado(usuarioId));
+        QueryFanOut.Result<BigDecimal> progressoMedio = consultas.fork(() ->
+                metaRepository.calcularProgressoMedio(usuarioId));
+        QueryFanOut.Result<Long> metasEmAndamento = consultas.fork(() ->
+                metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.EM_ANDAMENTO));
+        QueryFanOut.Result<Long> metasConcluidas = consultas.fork(() ->
+                metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.CONCLUIDA));
+        QueryFanOut.Result<Long> metasVencidas = consultas.fork(() ->
+                metaRepository.countVencidasByUsuarioId(usuarioId));
 
         // Estatísticas de categorias
-        Long totalCategorias = categoriaRepository.countByUsuarioId(usuarioId);
-        Long categoriasAtivas = categoriaRepository.countAtivasByUsuarioId(usuarioId);
+        QueryFanOut.Result<Long> categorias = consultas.fork(() ->
+                categoriaRepository.countByUsuarioId(usuarioId));
+        QueryFanOut.Result<Long> ativas = consultas.fork(() ->
+                categoriaRepository.countAtivasByUsuarioId(usuarioId));
 
         // Médias
-        BigDecimal mediaDespesasMensal = despesaRepository.calcularMediaMensalByUsuarioId(usuarioId);
-        BigDecimal mediaReceitasMensal = receitaRepository.calcularMediaReceitasByUsuarioId(usuarioId);
+        QueryFanOut.Result<BigDecimal> mediaDespesas = consultas.fork(() ->
+                despesaRepository.calcularMediaMensalByUsuarioId(usuarioId));
+        QueryFanOut.Result<BigDecimal> mediaReceitas = consultas.fork(() ->
+                receitaRepository.calcularMediaReceitasByUsuarioId(usuarioId));
+
+        consultas.join();
+
+        BigDecimal totalReceitas = receitasPeriodo.get();
+        BigDecimal totalDespesas = despesasPeriodo.get();
+        BigDecimal totalDespesasPagas = despesasPagasPeriodo.get();
+        BigDecimal totalDespesasPendentes = despesasPendentesPeriodo.get();
+
+        BigDecimal saldo = totalReceitas.subtract(totalDespesas);
+        BigDecimal saldoDisponivel = totalReceitas.subtract(totalDespesasPagas);
+
+        Long countDespesasPagas = despesasPagas.get();
+        Long countDespesasPendentes = despesasPendentes.get();
+        List<Object[]> despesasPorCategoria = porCategoria.get();
+
+        BigDecimal valorObjetivoMetas = objetivoMetas.get();
+        BigDecimal valorAtualMetas = atualMetas.get();
+        BigDecimal totalEconomizado = economizado.get();
+        BigDecimal progressoMedioMetas = progressoMedio.get();
+
+        Long countMetasEmAndamento = metasEmAndamento.get();
+        Long countMetasConcluidas = metasConcluidas.get();
+        Long countMetasVencidas = metasVencidas.get();
+
+        Long totalCategorias = categorias.get();
+        Long categoriasAtivas = ativas.get();
+
+        BigDecimal mediaDespesasMensal = mediaDespesas.get();
+        BigDecimal mediaReceitasMensal = mediaReceitas.get();
 
         // Percentuais
         BigDecimal percentualGasto = calcularPercentual(totalDespesas, totalReceitas);
@@ -157,7 +211,8 @@ public class DashboardService {
      * Retorna total de receitas do período
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "'receitas_' + #inicio + '_' + #fim + '_' + @securityUtil.usuarioLogadoId")
+    @CacheTags(CacheEntity.RECEITA)
+    @Cacheable(value = "dashboard", sync = true)
     public BigDecimal getTotalReceitas(LocalDate inicio, LocalDate fim) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Calculando total de receitas - Período: {} a {}", inicio, fim);
@@ -173,7 +228,8 @@ public class DashboardService {
      * Retorna total de despesas do período
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "'despesas_' + #inicio + '_' + #fim + '_' + @securityUtil.usuarioLogadoId")
+    @CacheTags(CacheEntity.DESPESA)
+    @Cacheable(value = "dashboard", sync = true)
     public BigDecimal getTotalDespesas(LocalDate inicio, LocalDate fim) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Calculando total de despesas - Período: {} a {}", inicio, fim);
@@ -189,7 +245,8 @@ public class DashboardService {
      * Retorna saldo atual
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "'saldo_' +  @securityUtil.usuarioLogadoId", unless = "#result == null")
+    @CacheTags({CacheEntity.RECEITA, CacheEntity.DESPESA})
+    @Cacheable(value = "dashboard", sync = true)
     public Map<String, BigDecimal> getSaldo() {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Calculando saldo do usuário: {}", usuarioId);
@@ -220,6 +277,8 @@ public class DashboardService {
     /**
      * Compara dois períodos
      */
+    @Coalesced({CacheEntity.RECEITA, CacheEntity.DESPESA})
+    @Workload(WorkloadType.REPORTING)
     @Transactional(readOnly = true)
     public Map<String, Object> compararPeriodos(Integer mes1, Integer ano1, Integer mes2, Integer ano2) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
@@ -292,8 +351,10 @@ public class DashboardService {
     /**
      * Evolução dos últimos N meses
      */
+    @Workload(WorkloadType.REPORTING)
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "'evolucao_' + #meses + '_' +  @securityUtil.usuarioLogadoId")
+    @CacheTags({CacheEntity.RECEITA, CacheEntity.DESPESA})
+    @Cacheable(value = "dashboard", sync = true)
     public List<Map<String, Object>> getEvolucao(int meses) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Gerando evolução dos últimos {} meses", meses);
@@ -333,7 +394,8 @@ public class DashboardService {
      * Top N categorias mais gastas
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "'top_categorias_' + #limite + '_' + #mes + '_' + #ano + '_' +  @securityUtil.usuarioLogadoId")
+    @CacheTags({CacheEntity.DESPESA, CacheEntity.CATEGORIA})
+    @Cacheable(value = "dashboard", sync = true)
     public List<Map<String, Object>> getTopCategorias(int limite, Integer mes, Integer ano) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Buscando top {} categorias", limite);
@@ -380,6 +442,7 @@ public class DashboardService {
     /**
      * Indicadores financeiros
      */
+    @Coalesced({CacheEntity.RECEITA, CacheEntity.DESPESA, CacheEntity.META})
     @Transactional(readOnly = true)
     public Map<String, Object> getIndicadores() {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
@@ -389,13 +452,28 @@ public class DashboardService {
         LocalDate inicio = mesAtual.atDay(1);
         LocalDate fim = mesAtual.atEndOfMonth();
 
-        BigDecimal totalReceitas = receitaRepository.sumTotalReceitasByUsuarioIdAndPeriodo(usuarioId, inicio, fim);
-        BigDecimal totalDespesas = despesaRepository.sumTotalByUsuarioIdAndPeriodo(usuarioId, inicio, fim);
-        BigDecimal totalPago = despesaRepository.sumTotalPagoByPeriodo(usuarioId, inicio, fim);
-        BigDecimal totalPendente = despesaRepository.sumTotalPendenteByPeriodo(usuarioId, inicio, fim);
-
-        Long despesasVencidas = despesaRepository.countByUsuarioIdAndStatus(usuarioId, StatusPagamento.PENDENTE);
-        Long metasVencidas = metaRepository.countVencidasByUsuarioId(usuarioId);
+        QueryFanOut.FanOut consultas = fanOut.start("indicadores");
+        QueryFanOut.Result<BigDecimal> receitasPeriodo = consultas.fork(() ->
+                receitaRepository.sumTotalReceitasByUsuarioIdAndPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<BigDecimal> despesasPeriodo = consultas.fork(() ->
+                despesaRepository.sumTotalByUsuarioIdAndPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<BigDecimal> pagoPeriodo = consultas.fork(() ->
+                despesaRepository.sumTotalPagoByPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<BigDecimal> pendentePeriodo = consultas.fork(() ->
+                despesaRepository.sumTotalPendenteByPeriodo(usuarioId, inicio, fim));
+        QueryFanOut.Result<Long> pendentes = consultas.fork(() ->
+                despesaRepository.countByUsuarioIdAndStatus(usuarioId, StatusPagamento.PENDENTE));
+        QueryFanOut.Result<Long> vencidas = consultas.fork(() ->
+                metaRepository.countVencidasByUsuarioId(usuarioId));
+        consultas.join();
+
+        BigDecimal totalReceitas = receitasPeriodo.get();
+        BigDecimal totalDespesas = despesasPeriodo.get();
+        BigDecimal totalPago = pagoPeriodo.get();
+        BigDecimal totalPendente = pendentePeriodo.get();
+
+        Long despesasVencidas = pendentes.get();
+        Long metasVencidas = vencidas.get();
 
         BigDecimal saldo = totalReceitas.subtract(totalDespesas);
         BigDecimal taxaEconomia = calcularPercentual(saldo, totalReceitas);
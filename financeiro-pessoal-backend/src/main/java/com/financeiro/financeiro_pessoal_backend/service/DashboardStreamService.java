@@ -0,0 +1,550 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTag;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.dto.response.DashboardDeltaDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.response.DashboardResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.exception.ServiceUnavailableException;
+import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
+import com.financeiro.financeiro_pessoal_backend.security.JwtService;
+import com.financeiro.financeiro_pessoal_backend.security.SessoesRevogadasEvent;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevocationStore;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevogadoEvent;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioStatusCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Envia aos clientes conectados (SSE) as mudanças do dashboard do mês atual
+ *
+ * Cada escrita confirmada em receitas, despesas, metas ou categorias avança a
+ * versão dos dados ({@link DataVersions}) e marca o usuário como pendente; a
+ * cada {@code app.dashboard-stream.debounce} o dashboard de cada usuário
+ * pendente é recalculado uma vez (em geral pelo cache) e cada conexão recebe
+ * só os campos que mudaram desde o último evento que ela recebeu.
+ *
+ * As conexões não ocupam threads: o servlet é liberado assim que o emitter é
+ * devolvido, e um pool pequeno escreve os eventos. Cada conexão tem um buffer
+ * limitado; se ele enche (cliente lento), a conexão é encerrada e o cliente,
+ * ao reconectar, recebe um snapshot completo. Comentários de heartbeat mantêm
+ * proxies abertos e detectam conexões mortas.
+ *
+ * Cada conexão vale enquanto o access token que a abriu valeria: o timeout
+ * não passa da expiração dele, e a conexão é encerrada quando o token ou a
+ * família dele é revogado (logout, reuso), quando todas as sessões do usuário
+ * são revogadas (troca de senha, desativação) ou, antes de cada cálculo, se o
+ * usuário não está mais ativo com o mesmo tipo. O heartbeat repete a checagem
+ * de expiração e revogação, o que alcança revogações feitas em outros nós.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService implements SmartLifecycle {
+
+    private static final Set<CacheEntity> ENTIDADES_DASHBOARD = EnumSet.of(
+            CacheEntity.RECEITA, CacheEntity.DESPESA, CacheEntity.META, CacheEntity.CATEGORIA);
+
+    private final DashboardService dashboardService;
+    private final JwtService jwtService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final UsuarioStatusCache usuarioStatusCache;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final Duration debounce;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final int senderThreads;
+
+    private final Map<Long, Set<Conexao>> conexoes = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConexoes = new AtomicInteger();
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean todosPendentes = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+    private volatile boolean running;
+
+    public DashboardStreamService(DashboardService dashboardService,
+                                  JwtService jwtService,
+                                  TokenRevocationStore tokenRevocationStore,
+                                  UsuarioStatusCache usuarioStatusCache,
+                                  DataVersions dataVersions,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.dashboard-stream.timeout:15m}") Duration timeout,
+                                  @Value("${app.dashboard-stream.heartbeat-interval:25s}") Duration heartbeatInterval,
+                                  @Value("${app.dashboard-stream.debounce:500ms}") Duration debounce,
+                                  @Value("${app.dashboard-stream.buffer-size:16}") int bufferSize,
+                                  @Value("${app.dashboard-stream.max-connections:10000}") int maxConnections,
+                                  @Value("${app.dashboard-stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                  @Value("${app.dashboard-stream.sender-threads:4}") int senderThreads) {
+        this.dashboardService = dashboardService;
+        this.jwtService = jwtService;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.usuarioStatusCache = usuarioStatusCache;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.debounce = debounce;
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.senderThreads = senderThreads;
+
+        dataVersions.addListener(this::onDataChange);
+        Gauge.builder("dashboard.stream.connections", totalConexoes, AtomicInteger::get)
+                .description("Conexões SSE abertas do dashboard")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Conexão SSE de um usuário, com o último estado enviado a ela e o
+     * access token que a abriu
+     */
+    private static final class Conexao {
+
+        private final Long usuarioId;
+        private final UsuarioPrincipal principal;
+        private final String tokenId;
+        private final String familia;
+        private final Instant expiraEm;
+        private final SecurityContext securityContext;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final long abertaEm = System.nanoTime();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean fechada = new AtomicBoolean();
+        // Lock em vez de synchronized: não prende a thread portadora com threads virtuais
+        private final ReentrantLock lock = new ReentrantLock();
+        private Resumo ultimo;
+
+        private Conexao(UsuarioPrincipal principal, DecodedJWT token, String familia, SecurityContext securityContext,
+                        SseEmitter emitter, int bufferSize) {
+            this.usuarioId = principal.id();
+            this.principal = principal;
+            this.tokenId = token.getId();
+            this.familia = familia;
+            this.expiraEm = token.getExpiresAtAsInstant();
+            this.securityContext = securityContext;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * Campos do dashboard acompanhados pelo stream
+     */
+    private record Resumo(int mes, int ano, Map<String, Object> totais, Map<String, BigDecimal> categorias) {
+
+        static Resumo of(DashboardResponseDTO dashboard) {
+            Map<String, Object> totais = new LinkedHashMap<>();
+            totais.put("totalReceitas", dashboard.getTotalReceitas());
+            totais.put("totalDespesas", dashboard.getTotalDespesas());
+            totais.put("totalDespesasPagas", dashboard.getTotalDespesasPagas());
+            totais.put("totalDespesasPendentes", dashboard.getTotalDespesasPendentes());
+            totais.put("countDespesasPagas", dashboard.getCountDespesasPagas());
+            totais.put("countDespesasPendentes", dashboard.getCountDespesasPendentes());
+            totais.put("saldo", dashboard.getSaldo());
+            totais.put("saldoDisponivel", dashboard.getSaldoDisponivel());
+            totais.put("percentualGasto", dashboard.getPercentualGasto());
+            totais.put("taxaPagamento", dashboard.getTaxaPagamento());
+            totais.put("valorObjetivoMetas", dashboard.getValorObjetivoMetas());
+            totais.put("valorAtualMetas", dashboard.getValorAtualMetas());
+            totais.put("totalEconomizado", dashboard.getTotalEconomizado());
+            totais.put("countMetasEmAndamento", dashboard.getCountMetasEmAndamento());
+            totais.put("countMetasConcluidas", dashboard.getCountMetasConcluidas());
+            totais.put("countMetasVencidas", dashboard.getCountMetasVencidas());
+            Map<String, BigDecimal> categorias = dashboard.getDespesasPorCategoria() != null
+                    ? dashboard.getDespesasPorCategoria() : Map.of();
+            return new Resumo(dashboard.getMes(), dashboard.getAno(), totais, categorias);
+        }
+
+        DashboardDeltaDTO snapshot() {
+            return DashboardDeltaDTO.builder()
+                    .mes(mes)
+                    .ano(ano)
+                    .totais(totais)
+                    .despesasPorCategoria(categorias)
+                    .build();
+        }
+
+        /**
+         * Campos que mudaram em relação ao anterior; nulo se não houver mudança
+         */
+        DashboardDeltaDTO deltaFrom(Resumo anterior) {
+            Map<String, Object> totaisAlterados = new LinkedHashMap<>();
+            totais.forEach((campo, valor) -> {
+                if (!mesmoValor(anterior.totais.get(campo), valor)) {
+                    totaisAlterados.put(campo, valor);
+                }
+            });
+            Map<String, BigDecimal> categoriasAlteradas = new HashMap<>();
+            categorias.forEach((nome, valor) -> {
+                if (!mesmoValor(anterior.categorias.get(nome), valor)) {
+                    categoriasAlteradas.put(nome, valor);
+                }
+            });
+            anterior.categorias.keySet().stream()
+                    .filter(nome -> !categorias.containsKey(nome))
+                    .forEach(nome -> categoriasAlteradas.put(nome, null));
+
+            if (totaisAlterados.isEmpty() && categoriasAlteradas.isEmpty()) {
+                return null;
+            }
+            return DashboardDeltaDTO.builder()
+                    .mes(mes)
+                    .ano(ano)
+                    .totais(totaisAlterados)
+                    .despesasPorCategoria(categoriasAlteradas)
+                    .build();
+        }
+
+        private static boolean mesmoValor(Object anterior, Object atual) {
+            if (anterior instanceof BigDecimal a && atual instanceof BigDecimal b) {
+                return a.compareTo(b) == 0;
+            }
+            return Objects.equals(anterior, atual);
+        }
+    }
+
+    /**
+     * Abre o stream do usuário autenticado; o primeiro evento é o snapshot completo
+     *
+     * @param accessToken token da requisição, que limita a duração da conexão
+     */
+    public SseEmitter conectar(Authentication authentication, String accessToken) {
+        if (!running) {
+            throw new ServiceUnavailableException("Stream do dashboard indisponível");
+        }
+        UsuarioPrincipal principal = (UsuarioPrincipal) authentication.getPrincipal();
+        DecodedJWT token = accessToken != null ? jwtService.decodeAccessToken(accessToken) : null;
+        if (token == null || !principal.id().equals(jwtService.getUsuarioId(token))) {
+            throw new UnauthorizedException("Token inválido ou expirado");
+        }
+        long restante = Duration.between(Instant.now(), token.getExpiresAtAsInstant()).toMillis();
+        if (restante <= 0) {
+            throw new UnauthorizedException("Token inválido ou expirado");
+        }
+        if (totalConexoes.incrementAndGet() > maxConnections) {
+            totalConexoes.decrementAndGet();
+            contarDescarte("limite");
+            throw new ServiceUnavailableException("Limite de conexões do dashboard atingido. Tente novamente mais tarde.");
+        }
+
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authentication);
+        Conexao conexao = new Conexao(principal, token, jwtService.getFamilia(token), securityContext,
+                new SseEmitter(Math.min(timeout.toMillis(), restante)), bufferSize);
+        conexao.emitter.onCompletion(() -> remover(conexao));
+        conexao.emitter.onTimeout(() -> remover(conexao));
+        conexao.emitter.onError(e -> remover(conexao));
+
+        Set<Conexao> doUsuario = conexoes.compute(principal.id(), (id, atuais) -> {
+            Set<Conexao> set = atuais != null ? atuais : ConcurrentHashMap.newKeySet();
+            set.add(conexao);
+            return set;
+        });
+        // Abas além do limite: a conexão mais antiga dá lugar à nova
+        if (doUsuario.size() > maxConnectionsPerUser) {
+            doUsuario.stream()
+                    .filter(c -> c != conexao)
+                    .min(Comparator.comparingLong(c -> c.abertaEm))
+                    .ifPresent(this::fechar);
+        }
+
+        senders.execute(() -> atualizar(conexao, calcular(conexao)));
+        log.debug("Stream do dashboard aberto - Usuário ID: {}, Conexões: {}", principal.id(), totalConexoes.get());
+        return conexao.emitter;
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-stream-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sequence = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "dashboard-stream-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::processarPendentes,
+                debounce.toMillis(), debounce.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        conexoes.values().forEach(doUsuario -> doUsuario.forEach(this::fechar));
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Encerra as conexões abertas com o token ou a família revogados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevogacao(TokenRevogadoEvent event) {
+        conexoes.values().forEach(doUsuario -> doUsuario.stream()
+                .filter(conexao -> event.id().equals(conexao.tokenId) || event.id().equals(conexao.familia))
+                .forEach(this::encerrarSessao));
+    }
+
+    /**
+     * Encerra todas as conexões do usuário cujas sessões foram revogadas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessoesRevogadas(SessoesRevogadasEvent event) {
+        Set<Conexao> doUsuario = conexoes.get(event.usuarioId());
+        if (doUsuario != null) {
+            doUsuario.forEach(this::encerrarSessao);
+        }
+    }
+
+    /**
+     * Marca como pendentes os usuários afetados; uma tag global afeta todos
+     */
+    private void onDataChange(Set<CacheTag> tags) {
+        for (CacheTag tag : tags) {
+            if (!ENTIDADES_DASHBOARD.contains(tag.entity())) {
+                continue;
+            }
+            if (tag.isGlobal()) {
+                todosPendentes.set(true);
+            } else if (conexoes.containsKey(tag.usuarioId())) {
+                pendentes.add(tag.usuarioId());
+            }
+        }
+    }
+
+    /**
+     * Recalcula uma vez por usuário pendente e envia o delta a cada conexão dele
+     */
+    private void processarPendentes() {
+        Set<Long> usuarios = todosPendentes.getAndSet(false) ? Set.copyOf(conexoes.keySet()) : Set.of();
+        Set<Long> lote = new HashSet<>(usuarios);
+        pendentes.removeIf(lote::add);
+
+        for (Long usuarioId : lote) {
+            Set<Conexao> doUsuario = conexoes.get(usuarioId);
+            if (doUsuario == null || doUsuario.isEmpty()) {
+                continue;
+            }
+            senders.execute(() -> {
+                Resumo atual = calcular(doUsuario);
+                if (atual != null) {
+                    doUsuario.forEach(conexao -> atualizar(conexao, atual));
+                }
+            });
+        }
+    }
+
+    private void heartbeat() {
+        conexoes.values().forEach(doUsuario -> doUsuario.forEach(conexao -> {
+            if (tokenValido(conexao)) {
+                enfileirar(conexao, SseEmitter.event().comment("ping"));
+            } else {
+                encerrarSessao(conexao);
+            }
+        }));
+    }
+
+    /**
+     * Token da conexão ainda não expirou nem foi revogado (checagem em memória)
+     */
+    private boolean tokenValido(Conexao conexao) {
+        return Instant.now().isBefore(conexao.expiraEm)
+                && !tokenRevocationStore.isRevoked(conexao.tokenId, conexao.familia);
+    }
+
+    private void encerrarSessao(Conexao conexao) {
+        if (!conexao.fechada.get()) {
+            contarDescarte("sessao_encerrada");
+            log.debug("Sessão encerrada, fechando stream - Usuário ID: {}", conexao.usuarioId);
+            fechar(conexao);
+        }
+    }
+
+    /**
+     * Calcula com a primeira conexão do usuário cuja sessão ainda vale; as
+     * conexões de sessões encerradas são fechadas no caminho
+     */
+    private Resumo calcular(Set<Conexao> doUsuario) {
+        for (Conexao conexao : doUsuario) {
+            Resumo atual = calcular(conexao);
+            if (atual != null || !conexao.fechada.get()) {
+                return atual;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calcula o dashboard do mês atual no contexto de segurança da conexão,
+     * se a sessão dela ainda vale
+     */
+    private Resumo calcular(Conexao conexao) {
+        if (!tokenValido(conexao) || !usuarioStatusCache.isValido(conexao.principal)) {
+            encerrarSessao(conexao);
+            return null;
+        }
+        SecurityContext anterior = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(conexao.securityContext);
+        try {
+            YearMonth agora = YearMonth.now();
+            return Resumo.of(dashboardService.getDashboard(agora.getMonthValue(), agora.getYear()));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao calcular dashboard do stream - Usuário ID: {}: {}", conexao.usuarioId, e.getMessage());
+            return null;
+        } finally {
+            SecurityContextHolder.setContext(anterior);
+        }
+    }
+
+    private void atualizar(Conexao conexao, Resumo atual) {
+        if (atual == null || conexao.fechada.get()) {
+            return;
+        }
+        conexao.lock.lock();
+        try {
+            Resumo anterior = conexao.ultimo;
+            boolean completo = anterior == null || anterior.mes() != atual.mes() || anterior.ano() != atual.ano();
+            DashboardDeltaDTO evento = completo ? atual.snapshot() : atual.deltaFrom(anterior);
+            if (evento == null) {
+                return;
+            }
+            String tipo = completo ? "snapshot" : "delta";
+            conexao.ultimo = atual;
+            if (enfileirar(conexao, SseEmitter.event().name(tipo).data(evento))) {
+                Counter.builder("dashboard.stream.events")
+                        .tag("tipo", tipo)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        } finally {
+            conexao.lock.unlock();
+        }
+    }
+
+    /**
+     * Coloca o evento no buffer da conexão; buffer cheio encerra a conexão
+     */
+    private boolean enfileirar(Conexao conexao, SseEmitter.SseEventBuilder evento) {
+        if (conexao.fechada.get()) {
+            return false;
+        }
+        if (!conexao.buffer.offer(evento)) {
+            contarDescarte("buffer_cheio");
+            log.debug("Buffer do stream cheio, encerrando conexão - Usuário ID: {}", conexao.usuarioId);
+            fechar(conexao);
+            return false;
+        }
+        drenar(conexao);
+        return true;
+    }
+
+    /**
+     * Escreve os eventos do buffer; no máximo uma thread por conexão
+     */
+    private void drenar(Conexao conexao) {
+        if (!conexao.enviando.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                SseEmitter.SseEventBuilder evento;
+                while (!conexao.fechada.get() && (evento = conexao.buffer.poll()) != null) {
+                    conexao.emitter.send(evento);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Cliente do stream desconectado - Usuário ID: {}", conexao.usuarioId);
+                remover(conexao);
+            } finally {
+                conexao.enviando.set(false);
+            }
+            if (!conexao.fechada.get() && !conexao.buffer.isEmpty()) {
+                drenar(conexao);
+            }
+        });
+    }
+
+    private void fechar(Conexao conexao) {
+        remover(conexao);
+        try {
+            conexao.emitter.complete();
+        } catch (IllegalStateException e) {
+            // já encerrado pelo container
+        }
+    }
+
+    private void remover(Conexao conexao) {
+        if (!conexao.fechada.compareAndSet(false, true)) {
+            return;
+        }
+        conexao.buffer.clear();
+        totalConexoes.decrementAndGet();
+        conexoes.computeIfPresent(conexao.usuarioId, (id, set) -> {
+            set.remove(conexao);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void contarDescarte(String motivo) {
+        Counter.builder("dashboard.stream.dropped")
+                .description("Conexões do stream recusadas ou encerradas pelo servidor")
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .increment();
+    }
+}
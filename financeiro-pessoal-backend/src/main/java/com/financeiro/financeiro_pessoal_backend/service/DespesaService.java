@@ -1,5 +1,8 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.cache.InvalidatesCache;
 import com.financeiro.financeiro_pessoal_backend.dto.request.DespesaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.DespesaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.exception.ResourceNotFoundException;
@@ -8,16 +11,15 @@ import com.financeiro.financeiro_pessoal_backend.mapper.DespesaMapper;
 import com.financeiro.financeiro_pessoal_backend.model.Categoria;
 import com.financeiro.financeiro_pessoal_backend.model.Despesa;
 import com.financeiro.financeiro_pessoal_backend.model.Receita;
-import com.financeiro.financeiro_pessoal_backend.model.Usuario;
 import com.financeiro.financeiro_pessoal_backend.model.enums.StatusPagamento;
 import com.financeiro.financeiro_pessoal_backend.repository.CategoriaRepository;
 import com.financeiro.financeiro_pessoal_backend.repository.DespesaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.DespesaVinculos;
 import com.financeiro.financeiro_pessoal_backend.repository.ReceitaRepository;
 import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -49,47 +51,20 @@ public class DespesaService {
      * Cria uma nova despesa
      */
     @Transactional
-    @CacheEvict(value = {"despesas", "receitas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.DESPESA)
     public DespesaResponseDTO create(DespesaRequestDTO request) {
         log.info("Criando nova despesa: {}", request.getDescricao());
 
         Long usuarioId = securityUtil.getUsuarioLogadoId();
 
-        // Busca usuário
-        Usuario usuario = usuarioRepository.findById(usuarioId)
+        // Usuário, categoria e receita (opcionais) em uma única consulta
+        DespesaVinculos vinculos = despesaRepository
+                .findVinculos(usuarioId, request.getCategoriaId(), request.getReceitaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
 
         // Validações
         validateDespesa(request);
-
-        // Busca categoria (opcional)
-        Categoria categoria = null;
-        if (request.getCategoriaId() != null) {
-            categoria = categoriaRepository.findById(request.getCategoriaId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
-
-            // Valida se categoria pertence ao usuário
-            if (!categoria.getUsuario().getId().equals(usuarioId)) {
-                throw new ValidationException("Categoria não pertence ao usuário");
-            }
-
-            // Valida se categoria está ativa
-            if (!categoria.getAtiva()) {
-                throw new ValidationException("Categoria está desativada");
-            }
-        }
-
-        // Busca receita (opcional)
-        Receita receita = null;
-        if (request.getReceitaId() != null) {
-            receita = receitaRepository.findById(request.getReceitaId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Receita não encontrada"));
-
-            // Valida se receita pertence ao usuário
-            if (!receita.getUsuario().getId().equals(usuarioId)) {
-                throw new ValidationException("Receita não pertence ao usuário");
-            }
-        }
+        validateVinculos(vinculos, request, usuarioId);
 
         // Calcula fim do pagamento se parcelado
         LocalDate fimPagamento = null;
@@ -97,11 +72,11 @@ public class DespesaService {
             fimPagamento = request.getData().plusMonths(request.getParcelaTotal() - 1);
         }
 
-        // Cria despesa
+        // Cria despesa (relações por referência, sem novas consultas)
         Despesa despesa = Despesa.builder()
-                .usuario(usuario)
-                .receita(receita)
-                .categoria(categoria)
+                .usuario(usuarioRepository.getReferenceById(usuarioId))
+                .receita(referenciaReceita(request.getReceitaId()))
+                .categoria(referenciaCategoria(request.getCategoriaId()))
                 .data(request.getData())
                 .descricao(request.getDescricao())
                 .valor(request.getValor())
@@ -116,14 +91,15 @@ public class DespesaService {
         log.info("Despesa criada com sucesso - ID: {}, Valor: {}, Parcelado: {}",
                 despesa.getId(), despesa.getValor(), despesa.isParcelado());
 
-        return despesaMapper.toDto(despesa);
+        return despesaMapper.toDto(despesa, vinculos.getUsuarioNome(), vinculos.getCategoriaNome());
     }
 
     /**
      * Busca despesa por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "despesas", key = "#id")
+    @CacheTags({CacheEntity.DESPESA, CacheEntity.CATEGORIA, CacheEntity.RECEITA, CacheEntity.USUARIO})
+    @Cacheable(value = "despesas")
     public DespesaResponseDTO findById(Long id) {
         log.debug("Buscando despesa por ID: {}", id);
 
@@ -310,47 +286,27 @@ public class DespesaService {
      * Atualiza despesa
      */
     @Transactional
-    @CacheEvict(value = {"despesas", "receitas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.DESPESA)
     public DespesaResponseDTO update(Long id, DespesaRequestDTO request) {
         log.info("Atualizando despesa - ID: {}", id);
 
-        Despesa despesa = despesaRepository.findByIdWithRelations(id)
+        // Despesa, dono e nova categoria/receita em uma única consulta
+        DespesaVinculos.ComDespesa vinculos = despesaRepository
+                .findComVinculos(id, request.getCategoriaId(), request.getReceitaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Despesa não encontrada com ID: " + id));
+        Despesa despesa = vinculos.getDespesa();
+        Long usuarioId = despesa.getUsuario().getId();
 
         // Valida permissão
-        securityUtil.validarPermissaoUsuario(despesa.getUsuario().getId());
+        securityUtil.validarPermissaoUsuario(usuarioId);
 
-        // Validações
+        // Validações (vínculos devem pertencer ao dono da despesa)
         validateDespesa(request);
+        validateVinculos(vinculos, request, usuarioId);
 
-        // Atualiza categoria
-        if (request.getCategoriaId() != null) {
-            Categoria categoria = categoriaRepository.findById(request.getCategoriaId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
-
-            if (!categoria.getUsuario().getId().equals(despesa.getUsuario().getId())) {
-                throw new ValidationException("Categoria não pertence ao usuário");
-            }
-            if (!categoria.getAtiva()) {
-                throw new ValidationException("Categoria está desativada");
-            }
-            despesa.setCategoria(categoria);
-        } else {
-            despesa.setCategoria(null);
-        }
-
-        // Atualiza receita
-        if (request.getReceitaId() != null) {
-            Receita receita = receitaRepository.findById(request.getReceitaId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Receita não encontrada"));
-
-            if (!receita.getUsuario().getId().equals(despesa.getUsuario().getId())) {
-                throw new ValidationException("Receita não pertence ao usuário");
-            }
-            despesa.setReceita(receita);
-        } else {
-            despesa.setReceita(null);
-        }
+        // Atualiza categoria e receita
+        despesa.setCategoria(referenciaCategoria(request.getCategoriaId()));
+        despesa.setReceita(referenciaReceita(request.getReceitaId()));
 
         // Atualiza dados
         despesa.setData(request.getData());
@@ -371,19 +327,20 @@ public class DespesaService {
         despesa = despesaRepository.save(despesa);
         log.info("Despesa atualizada com sucesso - ID: {}", despesa.getId());
 
-        return despesaMapper.toDto(despesa);
+        return despesaMapper.toDto(despesa, vinculos.getUsuarioNome(), vinculos.getCategoriaNome());
     }
 
     /**
      * Marca despesa como paga
      */
     @Transactional
-    @CacheEvict(value = {"despesas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.DESPESA)
     public DespesaResponseDTO marcarComoPaga(Long id) {
         log.info("Marcando despesa como paga - ID: {}", id);
 
-        Despesa despesa = despesaRepository.findById(id)
+        DespesaVinculos.ComDespesa vinculos = despesaRepository.findComVinculosAtuais(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Despesa não encontrada com ID: " + id));
+        Despesa despesa = vinculos.getDespesa();
 
         securityUtil.validarPermissaoUsuario(despesa.getUsuario().getId());
 
@@ -391,19 +348,20 @@ public class DespesaService {
         despesa = despesaRepository.save(despesa);
 
         log.info("Despesa marcada como paga - ID: {}", id);
-        return despesaMapper.toDto(despesa);
+        return despesaMapper.toDto(despesa, vinculos.getUsuarioNome(), vinculos.getCategoriaNome());
     }
 
     /**
      * Marca despesa como pendente
      */
     @Transactional
-    @CacheEvict(value = {"despesas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.DESPESA)
     public DespesaResponseDTO marcarComoPendente(Long id) {
         log.info("Marcando despesa como pendente - ID: {}", id);
 
-        Despesa despesa = despesaRepository.findById(id)
+        DespesaVinculos.ComDespesa vinculos = despesaRepository.findComVinculosAtuais(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Despesa não encontrada com ID: " + id));
+        Despesa despesa = vinculos.getDespesa();
 
         securityUtil.validarPermissaoUsuario(despesa.getUsuario().getId());
 
@@ -411,23 +369,23 @@ public class DespesaService {
         despesa = despesaRepository.save(despesa);
 
         log.info("Despesa marcada como pendente - ID: {}", id);
-        return despesaMapper.toDto(despesa);
+        return despesaMapper.toDto(despesa, vinculos.getUsuarioNome(), vinculos.getCategoriaNome());
     }
 
     /**
      * Deleta despesa
      */
     @Transactional
-    @CacheEvict(value = {"despesas", "receitas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.DESPESA)
     public void delete(Long id) {
         log.info("Deletando despesa - ID: {}", id);
 
-        Despesa despesa = despesaRepository.findById(id)
+        Long usuarioId = despesaRepository.findUsuarioIdById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Despesa não encontrada com ID: " + id));
 
-        securityUtil.validarPermissaoUsuario(despesa.getUsuario().getId());
+        securityUtil.validarPermissaoUsuario(usuarioId);
 
-        despesaRepository.delete(despesa);
+        despesaRepository.deleteDespesaById(id);
         log.info("Despesa deletada com sucesso - ID: {}", id);
     }
 
@@ -584,6 +542,45 @@ public class DespesaService {
         }
     }
 
+    /**
+     * Valida se a categoria e a receita informadas existem e pertencem ao usuário
+     */
+    private void validateVinculos(DespesaVinculos vinculos, DespesaRequestDTO request, Long usuarioId) {
+        if (request.getCategoriaId() != null) {
+            if (vinculos.getCategoriaId() == null) {
+                throw new ResourceNotFoundException("Categoria não encontrada");
+            }
+            if (!vinculos.getCategoriaUsuarioId().equals(usuarioId)) {
+                throw new ValidationException("Categoria não pertence ao usuário");
+            }
+            if (!vinculos.getCategoriaAtiva()) {
+                throw new ValidationException("Categoria está desativada");
+            }
+        }
+        if (request.getReceitaId() != null) {
+            if (vinculos.getReceitaId() == null) {
+                throw new ResourceNotFoundException("Receita não encontrada");
+            }
+            if (!vinculos.getReceitaUsuarioId().equals(usuarioId)) {
+                throw new ValidationException("Receita não pertence ao usuário");
+            }
+        }
+    }
+
+    /**
+     * Referência à categoria já validada (sem consulta)
+     */
+    private Categoria referenciaCategoria(Long categoriaId) {
+        return categoriaId != null ? categoriaRepository.getReferenceById(categoriaId) : null;
+    }
+
+    /**
+     * Referência à receita já validada (sem consulta)
+     */
+    private Receita referenciaReceita(Long receitaId) {
+        return receitaId != null ? receitaRepository.getReferenceById(receitaId) : null;
+    }
+
     /**
      * Valida período
      */
@@ -1,5 +1,11 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.cache.InvalidatesCache;
+import com.financeiro.financeiro_pessoal_backend.concurrency.QueryFanOut;
+import com.financeiro.financeiro_pessoal_backend.concurrency.Workload;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadType;
 import com.financeiro.financeiro_pessoal_backend.dto.request.AporteMetaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.request.MetaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.MetaResponseDTO;
@@ -19,7 +25,6 @@ import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -45,12 +50,13 @@ public class MetaService {
     private final MetaMapper metaMapper;
     private final TransacaoMetaService transacaoMetaService;
     private final SecurityUtil securityUtil;
+    private final QueryFanOut fanOut;
 
     /**
      * Cria uma nova meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO create(MetaRequestDTO request) {
         log.info("Criando nova meta: {}", request.getNome());
 
@@ -88,7 +94,8 @@ public class MetaService {
      * Busca meta por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "metas", key = "#id")
+    @CacheTags({CacheEntity.META, CacheEntity.USUARIO})
+    @Cacheable(value = "metas")
     public MetaResponseDTO findById(Long id) {
         log.debug("Buscando meta por ID: {}", id);
 
@@ -266,7 +273,7 @@ public class MetaService {
      * Atualiza meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO update(Long id, MetaRequestDTO request) {
         log.info("Atualizando meta - ID: {}", id);
 
@@ -302,7 +309,7 @@ public class MetaService {
      * Adiciona aporte à meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO adicionarAporte(Long id, AporteMetaRequestDTO request) {
         log.info("Adicionando aporte à meta - ID: {}, Valor: {}", id, request.getValor());
 
@@ -352,7 +359,7 @@ public class MetaService {
      * Adiciona resgate à meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO adicionarResgate(Long id, AporteMetaRequestDTO request) {
         log.info("Adicionando resgate à meta - ID: {}, Valor: {}", id, request.getValor());
 
@@ -399,7 +406,7 @@ public class MetaService {
      * Cancela meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO cancelar(Long id) {
         log.info("Cancelando meta - ID: {}", id);
 
@@ -428,7 +435,7 @@ public class MetaService {
      * Pausa meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO pausar(Long id) {
         log.info("Pausando meta - ID: {}", id);
 
@@ -454,7 +461,7 @@ public class MetaService {
      * Retoma meta pausada
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public MetaResponseDTO retomar(Long id) {
         log.info("Retomando meta - ID: {}", id);
 
@@ -480,7 +487,7 @@ public class MetaService {
      * Deleta meta
      */
     @Transactional
-    @CacheEvict(value = {"metas", "dashboard"}, allEntries = true)
+    @InvalidatesCache(CacheEntity.META)
     public void delete(Long id) {
         log.info("Deletando meta - ID: {}", id);
 
@@ -513,21 +520,43 @@ public class MetaService {
     /**
      * Resumo de metas
      */
+    @Workload(WorkloadType.REPORTING)
     @Transactional(readOnly = true)
     public Map<String, Object> getResumo() {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Gerando resumo de metas do usuário: {}", usuarioId);
 
-        BigDecimal valorObjetivoTotal = metaRepository.sumValorObjetivoEmAndamento(usuarioId);
-        BigDecimal valorAtualTotal = metaRepository.sumValorAtualEmAndamento(usuarioId);
-        BigDecimal totalEconomizado = metaRepository.sumTotalEconomizado(usuarioId);
-        BigDecimal progressoMedio = metaRepository.calcularProgressoMedio(usuarioId);
-
-        Long countEmAndamento = metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.EM_ANDAMENTO);
-        Long countConcluidas = metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.CONCLUIDA);
-        Long countCanceladas = metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.CANCELADA);
-        Long countPausadas = metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.PAUSADA);
-        Long countVencidas = metaRepository.countVencidasByUsuarioId(usuarioId);
+        QueryFanOut.FanOut consultas = fanOut.start("resumo_metas");
+        QueryFanOut.Result<BigDecimal> objetivo = consultas.fork(() ->
+                metaRepository.sumValorObjetivoEmAndamento(usuarioId));
+        QueryFanOut.Result<BigDecimal> atual = consultas.fork(() ->
+                metaRepository.sumValorAtualEmAndamento(usuarioId));
+        QueryFanOut.Result<BigDecimal> economizado = consultas.fork(() ->
+                metaRepository.sumTotalEconomizado(usuarioId));
+        QueryFanOut.Result<BigDecimal> progresso = consultas.fork(() ->
+                metaRepository.calcularProgressoMedio(usuarioId));
+        QueryFanOut.Result<Long> emAndamento = consultas.fork(() ->
+                metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.EM_ANDAMENTO));
+        QueryFanOut.Result<Long> concluidas = consultas.fork(() ->
+                metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.CONCLUIDA));
+        QueryFanOut.Result<Long> canceladas = consultas.fork(() ->
+                metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.CANCELADA));
+        QueryFanOut.Result<Long> pausadas = consultas.fork(() ->
+                metaRepository.countByUsuarioIdAndStatus(usuarioId, StatusMeta.PAUSADA));
+        QueryFanOut.Result<Long> vencidas = consultas.fork(() ->
+                metaRepository.countVencidasByUsuarioId(usuarioId));
+        consultas.join();
+
+        BigDecimal valorObjetivoTotal = objetivo.get();
+        BigDecimal valorAtualTotal = atual.get();
+        BigDecimal totalEconomizado = economizado.get();
+        BigDecimal progressoMedio = progresso.get();
+
+        Long countEmAndamento = emAndamento.get();
+        Long countConcluidas = concluidas.get();
+        Long countCanceladas = canceladas.get();
+        Long countPausadas = pausadas.get();
+        Long countVencidas = vencidas.get();
 
         BigDecimal valorRestante = valorObjetivoTotal.subtract(valorAtualTotal);
 
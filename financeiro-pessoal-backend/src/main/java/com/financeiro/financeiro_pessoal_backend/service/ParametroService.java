@@ -1,5 +1,8 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.cache.InvalidatesCache;
 import com.financeiro.financeiro_pessoal_backend.dto.request.ParametroRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.ParametroResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.exception.DuplicateResourceException;
@@ -14,7 +17,6 @@ import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,7 +40,7 @@ public class ParametroService {
      * Cria um novo parâmetro
      */
     @Transactional
-    @CacheEvict(value = "parametros", allEntries = true)
+    @InvalidatesCache(CacheEntity.PARAMETRO)
     public ParametroResponseDTO create(ParametroRequestDTO request) {
         log.info("Criando novo parâmetro: {}", request.getChave());
 
@@ -79,7 +81,8 @@ public class ParametroService {
      * Busca parâmetro por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "parametros", key = "#id")
+    @CacheTags(CacheEntity.PARAMETRO)
+    @Cacheable(value = "parametros")
     public ParametroResponseDTO findById(Long id) {
         log.debug("Buscando parâmetro por ID: {}", id);
 
@@ -96,7 +99,8 @@ public class ParametroService {
      * Busca parâmetro por chave
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "parametros", key = "'chave_' + #chave + '_' + @securityUtil.usuarioLogadoId")
+    @CacheTags(CacheEntity.PARAMETRO)
+    @Cacheable(value = "parametros")
     public ParametroResponseDTO findByChave(String chave) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Buscando parâmetro por chave: {} do usuário: {}", chave, usuarioId);
@@ -170,7 +174,8 @@ public class ParametroService {
      * Lista todos os parâmetros do usuário
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "parametros", key = "'usuario_' + @securityUtil.usuarioLogadoId")
+    @CacheTags(CacheEntity.PARAMETRO)
+    @Cacheable(value = "parametros")
     public List<ParametroResponseDTO> findAllByUsuario() {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.debug("Listando parâmetros do usuário: {}", usuarioId);
@@ -303,7 +308,7 @@ public class ParametroService {
      * Atualiza parâmetro
      */
     @Transactional
-    @CacheEvict(value = "parametros", allEntries = true)
+    @InvalidatesCache(CacheEntity.PARAMETRO)
     public ParametroResponseDTO update(Long id, ParametroRequestDTO request) {
         log.info("Atualizando parâmetro - ID: {}", id);
 
@@ -336,7 +341,7 @@ public class ParametroService {
      * Atualiza apenas o valor do parâmetro
      */
     @Transactional
-    @CacheEvict(value = "parametros", allEntries = true)
+    @InvalidatesCache(CacheEntity.PARAMETRO)
     public ParametroResponseDTO updateValor(String chave, String valor) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.info("Atualizando valor do parâmetro: {}", chave);
@@ -358,7 +363,7 @@ public class ParametroService {
      * Deleta parâmetro
      */
     @Transactional
-    @CacheEvict(value = "parametros", allEntries = true)
+    @InvalidatesCache(CacheEntity.PARAMETRO)
     public void delete(Long id) {
         log.info("Deletando parâmetro - ID: {}", id);
 
@@ -376,7 +381,7 @@ public class ParametroService {
      * Deleta parâmetro por chave
      */
     @Transactional
-    @CacheEvict(value = "parametros", allEntries = true)
+    @InvalidatesCache(CacheEntity.PARAMETRO)
     public void deleteByChave(String chave) {
         Long usuarioId = securityUtil.getUsuarioLogadoId();
         log.info("Deletando parâmetro por chave: {}", chave);
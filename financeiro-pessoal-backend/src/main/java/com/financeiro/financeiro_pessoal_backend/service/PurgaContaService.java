@@ -0,0 +1,307 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheInvalidator;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTag;
+import com.financeiro.financeiro_pessoal_backend.dto.response.PurgaContaResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.exception.ResourceNotFoundException;
+import com.financeiro.financeiro_pessoal_backend.exception.ServiceUnavailableException;
+import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
+import com.financeiro.financeiro_pessoal_backend.model.enums.MotivoRevogacao;
+import com.financeiro.financeiro_pessoal_backend.model.enums.StatusPurga;
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Remoção definitiva de uma conta e de todos os seus dados
+ *
+ * Em vez de carregar a árvore de entidades e removê-la linha a linha pelo
+ * cascade do JPA, cada tabela é esvaziada com DELETEs em lote, na ordem das
+ * dependências (filhas antes das mães, despesas antes de receitas e
+ * categorias para evitar os SET NULL). Cada lote de até
+ * {@code app.purga.chunk-size} linhas roda em transação própria, com uma
+ * pausa entre lotes, limitando o tempo de bloqueio e os picos de WAL.
+ *
+ * A execução é assíncrona e idempotente: a conta é desativada e suas sessões
+ * revogadas antes de começar, e uma purga interrompida pode ser repetida.
+ * O progresso fica em memória neste nó por 24 horas.
+ */
+@Service
+@Slf4j
+public class PurgaContaService {
+
+    /**
+     * Etapas na ordem de execução; cada SQL recebe o id do usuário e o tamanho do lote
+     */
+    private static final List<Etapa> ETAPAS = List.of(
+            new Etapa("transacoes_meta", "DELETE FROM transacoes_meta WHERE id IN (" +
+                    "SELECT t.id FROM transacoes_meta t JOIN metas m ON m.id = t.meta_id " +
+                    "WHERE m.usuario_id = ? LIMIT ?)"),
+            new Etapa("despesas", loteDoUsuario("despesas")),
+            new Etapa("receitas", loteDoUsuario("receitas")),
+            new Etapa("metas", loteDoUsuario("metas")),
+            new Etapa("categorias", loteDoUsuario("categorias")),
+            new Etapa("parametros", loteDoUsuario("parametros")),
+            new Etapa("refresh_tokens", "DELETE FROM refresh_tokens WHERE jti IN (" +
+                    "SELECT jti FROM refresh_tokens WHERE usuario_id = ? LIMIT ?)"),
+            new Etapa("tokens_revogados", loteDoUsuario("tokens_revogados"))
+    );
+
+    private record Etapa(String tabela, String sql) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RefreshTokenService refreshTokenService;
+    private final CacheInvalidator cacheInvalidator;
+    private final SecurityUtil securityUtil;
+    private final int chunkSize;
+    private final Duration pausa;
+    private final ThreadPoolExecutor executor;
+
+    private final Cache<String, Progresso> purgas = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+    private final Map<Long, String> emAndamento = new ConcurrentHashMap<>();
+
+    public PurgaContaService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             RefreshTokenService refreshTokenService,
+                             CacheInvalidator cacheInvalidator,
+                             SecurityUtil securityUtil,
+                             @Value("${app.purga.chunk-size:5000}") int chunkSize,
+                             @Value("${app.purga.pause-between-chunks:50ms}") Duration pausa,
+                             @Value("${app.purga.queue-capacity:100}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTokenService = refreshTokenService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.securityUtil = securityUtil;
+        this.chunkSize = chunkSize;
+        this.pausa = pausa;
+        // Uma purga por vez: o objetivo é não competir com o tráfego normal
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "purga-conta");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Agenda a remoção definitiva da conta (próprio usuário ou admin)
+     * Retorna a purga já em andamento para o usuário, se houver
+     */
+    public PurgaContaResponseDTO agendar(Long usuarioId) {
+        Long usuarioLogadoId = securityUtil.getUsuarioLogadoId();
+        if (!usuarioId.equals(usuarioLogadoId) && !securityUtil.isAdmin()) {
+            log.warn("Usuário {} tentou remover a conta de outro usuário: {}", usuarioLogadoId, usuarioId);
+            throw new UnauthorizedException("Você não tem permissão para remover esta conta");
+        }
+
+        Progresso novo = new Progresso(UUID.randomUUID().toString(), usuarioId);
+        purgas.put(novo.id, novo);
+        String existente = emAndamento.putIfAbsent(usuarioId, novo.id);
+        if (existente != null) {
+            purgas.invalidate(novo.id);
+            Progresso progresso = purgas.getIfPresent(existente);
+            if (progresso == null) {
+                throw new ServiceUnavailableException("Remoção da conta já em andamento");
+            }
+            return progresso.toDto();
+        }
+
+        try {
+            // Bloqueia novos acessos antes de começar a apagar
+            desativar(usuarioId);
+        } catch (RuntimeException e) {
+            emAndamento.remove(usuarioId, novo.id);
+            purgas.invalidate(novo.id);
+            throw e;
+        }
+
+        try {
+            executor.execute(() -> executar(novo));
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(usuarioId, novo.id);
+            purgas.invalidate(novo.id);
+            throw new ServiceUnavailableException("Fila de remoção de contas cheia. Tente novamente mais tarde.", e);
+        }
+        log.info("Purga de conta agendada - Usuário ID: {}, Purga: {}", usuarioId, novo.id);
+        return novo.toDto();
+    }
+
+    /**
+     * Busca o progresso de uma purga (próprio usuário ou admin)
+     */
+    public PurgaContaResponseDTO buscarProgresso(String purgaId) {
+        Progresso progresso = purgas.getIfPresent(purgaId);
+        if (progresso == null) {
+            throw new ResourceNotFoundException("Purga não encontrada: " + purgaId);
+        }
+        if (!progresso.usuarioId.equals(securityUtil.getUsuarioLogadoId()) && !securityUtil.isAdmin()) {
+            throw new UnauthorizedException("Você não tem permissão para acessar esta purga");
+        }
+        return progresso.toDto();
+    }
+
+    private void desativar(Long usuarioId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int atualizados = jdbcTemplate.update("UPDATE usuarios SET ativo = false WHERE id = ?", usuarioId);
+            if (atualizados == 0) {
+                throw new ResourceNotFoundException("Usuário não encontrado com ID: " + usuarioId);
+            }
+            refreshTokenService.revogarTodas(usuarioId, MotivoRevogacao.CONTA_DESATIVADA);
+        });
+        cacheInvalidator.invalidate(CacheTag.of(CacheEntity.USUARIO, usuarioId));
+    }
+
+    private void executar(Progresso progresso) {
+        Long usuarioId = progresso.usuarioId;
+        progresso.iniciar();
+        try {
+            for (Etapa etapa : ETAPAS) {
+                progresso.etapa(etapa.tabela());
+                int removidas;
+                do {
+                    removidas = transactionTemplate.execute(status ->
+                            jdbcTemplate.update(etapa.sql(), usuarioId, chunkSize));
+                    progresso.removidas(etapa.tabela(), removidas);
+                    if (removidas == chunkSize) {
+                        Thread.sleep(pausa.toMillis());
+                    }
+                } while (removidas == chunkSize);
+            }
+
+            progresso.etapa("usuarios");
+            int removidas = transactionTemplate.execute(status ->
+                    jdbcTemplate.update("DELETE FROM usuarios WHERE id = ?", usuarioId));
+            progresso.removidas("usuarios", removidas);
+
+            progresso.concluir();
+            log.info("Purga de conta concluída - Usuário ID: {}, Linhas removidas: {}",
+                    usuarioId, progresso.total());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Purga de conta interrompida - Usuário ID: {}, Etapa: {}", usuarioId, progresso.etapaAtual);
+            progresso.falhar("Interrompida");
+        } catch (RuntimeException e) {
+            log.error("Falha na purga de conta - Usuário ID: {}, Etapa: {}", usuarioId, progresso.etapaAtual, e);
+            progresso.falhar(e.getMessage());
+        } finally {
+            // Lotes já confirmados removeram dados, qualquer que seja o desfecho
+            try {
+                invalidarCaches(usuarioId);
+            } finally {
+                emAndamento.remove(usuarioId, progresso.id);
+            }
+        }
+    }
+
+    private void invalidarCaches(Long usuarioId) {
+        Set<CacheTag> tags = Arrays.stream(CacheEntity.values())
+                .map(entity -> CacheTag.of(entity, usuarioId))
+                .collect(Collectors.toSet());
+        cacheInvalidator.invalidate(tags);
+    }
+
+    private static String loteDoUsuario(String tabela) {
+        return "DELETE FROM " + tabela + " WHERE id IN (SELECT id FROM " + tabela + " WHERE usuario_id = ? LIMIT ?)";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Estado mutável de uma purga, lido pelas consultas de progresso
+     */
+    private static final class Progresso {
+
+        private final String id;
+        private final Long usuarioId;
+        private final Map<String, Long> removidosPorTabela = new LinkedHashMap<>();
+        private StatusPurga status = StatusPurga.PENDENTE;
+        private String etapaAtual;
+        private LocalDateTime iniciadoEm;
+        private LocalDateTime concluidoEm;
+        private String erro;
+
+        Progresso(String id, Long usuarioId) {
+            this.id = id;
+            this.usuarioId = usuarioId;
+        }
+
+        synchronized void iniciar() {
+            status = StatusPurga.EM_ANDAMENTO;
+            iniciadoEm = LocalDateTime.now();
+        }
+
+        synchronized void etapa(String tabela) {
+            etapaAtual = tabela;
+            removidosPorTabela.putIfAbsent(tabela, 0L);
+        }
+
+        synchronized void removidas(String tabela, long linhas) {
+            removidosPorTabela.merge(tabela, linhas, Long::sum);
+        }
+
+        synchronized void concluir() {
+            status = StatusPurga.CONCLUIDA;
+            etapaAtual = null;
+            concluidoEm = LocalDateTime.now();
+        }
+
+        synchronized void falhar(String mensagem) {
+            status = StatusPurga.FALHOU;
+            erro = mensagem;
+            concluidoEm = LocalDateTime.now();
+        }
+
+        synchronized long total() {
+            return removidosPorTabela.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        synchronized PurgaContaResponseDTO toDto() {
+            return PurgaContaResponseDTO.builder()
+                    .id(id)
+                    .usuarioId(usuarioId)
+                    .status(status)
+                    .etapaAtual(etapaAtual)
+                    .removidosPorTabela(new LinkedHashMap<>(removidosPorTabela))
+                    .totalRemovido(total())
+                    .iniciadoEm(iniciadoEm)
+                    .concluidoEm(concluidoEm)
+                    .erro(erro)
+                    .build();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.cache.InvalidatesCache;
 import com.financeiro.financeiro_pessoal_backend.dto.request.ReceitaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.ReceitaResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.exception.ResourceNotFoundException;
@@ -12,7 +15,6 @@ import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
 import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -39,7 +41,7 @@ public class ReceitaService {
      * Cria uma nova receita
      */
     @Transactional
-    @CacheEvict(value = "receitas", allEntries = true)
+    @InvalidatesCache(CacheEntity.RECEITA)
     public ReceitaResponseDTO create(ReceitaRequestDTO request) {
         log.info("Criando nova receita para o período: {} a {}",
                 request.getPeriodoInicio(), request.getPeriodoFim());
@@ -82,7 +84,8 @@ public class ReceitaService {
      * Busca receita por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "receitas", key = "#id")
+    @CacheTags({CacheEntity.RECEITA, CacheEntity.DESPESA, CacheEntity.USUARIO})
+    @Cacheable(value = "receitas")
     public ReceitaResponseDTO findById(Long id) {
         log.debug("Buscando receita por ID: {}", id);
 
@@ -216,7 +219,7 @@ public class ReceitaService {
      * Atualiza receita
      */
     @Transactional
-    @CacheEvict(value = "receitas", allEntries = true)
+    @InvalidatesCache(CacheEntity.RECEITA)
     public ReceitaResponseDTO update(Long id, ReceitaRequestDTO request) {
         log.info("Atualizando receita - ID: {}", id);
 
@@ -271,7 +274,7 @@ public class ReceitaService {
      * Deleta receita
      */
     @Transactional
-    @CacheEvict(value = "receitas", allEntries = true)
+    @InvalidatesCache(CacheEntity.RECEITA)
     public void delete(Long id) {
         log.info("Deletando receita - ID: {}", id);
 
@@ -0,0 +1,200 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
+import com.financeiro.financeiro_pessoal_backend.model.RefreshToken;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.MotivoRevogacao;
+import com.financeiro.financeiro_pessoal_backend.repository.RefreshTokenRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.TokenRevogadoRepository;
+import com.financeiro.financeiro_pessoal_backend.security.JwtService;
+import com.financeiro.financeiro_pessoal_backend.security.SessoesRevogadasEvent;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevocationStore;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevogadoEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Emissão, rotação e revogação de refresh tokens
+ *
+ * Cada login inicia uma família; cada renovação consome o refresh token
+ * atual e emite outro na mesma família. Apresentar de novo um refresh token
+ * já consumido indica que ele vazou, e a família inteira (refresh e access
+ * tokens) é revogada. Exceção: dentro da janela de tolerância após o consumo
+ * (duas abas renovando juntas, nova tentativa após falha de rede), o sucessor
+ * já emitido é devolvido de novo em vez de revogar a sessão.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${security.refresh-token.reuse-grace:30s}")
+    private Duration janelaReuso;
+
+    /**
+     * Tokens emitidos para o usuário
+     */
+    public record TokensEmitidos(Usuario usuario, String token, String refreshToken, LocalDateTime expiraEm) {
+    }
+
+    /**
+     * Inicia uma nova família de tokens para o usuário
+     */
+    @Transactional
+    public TokensEmitidos emitir(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consome o refresh token e emite um novo par na mesma família
+     * A revogação por reuso precisa sobreviver à exceção lançada em seguida
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public TokensEmitidos rotacionar(String refreshToken) {
+        DecodedJWT decodedJWT = jwtService.decodeRefreshToken(refreshToken);
+        if (decodedJWT == null) {
+            throw new UnauthorizedException("Token inválido ou expirado");
+        }
+        String familia = jwtService.getFamilia(decodedJWT);
+
+        RefreshToken atual = refreshTokenRepository.findByJtiForUpdate(decodedJWT.getId())
+                .orElseThrow(() -> new UnauthorizedException("Token inválido"));
+        Usuario usuario = atual.getUsuario();
+
+        if (atual.getRevogado() || tokenRevocationStore.isRevoked(null, familia)) {
+            log.warn("Refresh token de sessão revogada - Usuário ID: {}", usuario.getId());
+            throw new UnauthorizedException("Sessão encerrada");
+        }
+
+        if (atual.getUsado()) {
+            Optional<TokensEmitidos> sucessor = reemitirSucessor(atual, usuario);
+            if (sucessor.isPresent()) {
+                log.info("Renovação repetida dentro da janela de tolerância - Usuário ID: {}, Família: {}",
+                        usuario.getId(), familia);
+                return sucessor.get();
+            }
+            log.warn("Reuso de refresh token detectado, revogando sessão - Usuário ID: {}, Família: {}",
+                    usuario.getId(), familia);
+            revogarFamilia(usuario.getId(), familia, MotivoRevogacao.REUSO_DETECTADO);
+            throw new UnauthorizedException("Sessão encerrada");
+        }
+
+        if (!usuario.getAtivo()) {
+            throw new UnauthorizedException("Usuário não encontrado ou inativo");
+        }
+
+        String sucessorJti = UUID.randomUUID().toString();
+        atual.setUsado(true);
+        atual.setUsadoEm(LocalDateTime.now());
+        atual.setSucessorJti(sucessorJti);
+        return emitir(usuario, familia, sucessorJti);
+    }
+
+    /**
+     * Encerra a sessão: revoga o access token apresentado e a família dos tokens
+     * Tokens inválidos ou expirados são ignorados
+     */
+    @Transactional
+    public void revogarSessao(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            DecodedJWT decodedJWT = jwtService.decodeAccessToken(accessToken);
+            if (decodedJWT != null) {
+                Long usuarioId = jwtService.getUsuarioId(decodedJWT);
+                revogar(decodedJWT.getId(), usuarioId, MotivoRevogacao.LOGOUT,
+                        LocalDateTime.ofInstant(decodedJWT.getExpiresAtAsInstant(), ZoneId.systemDefault()));
+                revogarFamilia(usuarioId, jwtService.getFamilia(decodedJWT), MotivoRevogacao.LOGOUT);
+            }
+        }
+        if (refreshToken != null) {
+            DecodedJWT decodedJWT = jwtService.decodeRefreshToken(refreshToken);
+            if (decodedJWT != null) {
+                revogarFamilia(jwtService.getUsuarioId(decodedJWT), jwtService.getFamilia(decodedJWT),
+                        MotivoRevogacao.LOGOUT);
+            }
+        }
+    }
+
+    /**
+     * Revoga todas as sessões ativas do usuário
+     */
+    @Transactional
+    public void revogarTodas(Long usuarioId, MotivoRevogacao motivo) {
+        List<String> familias = refreshTokenRepository.findFamiliasAtivasByUsuarioId(usuarioId, LocalDateTime.now());
+        familias.forEach(familia -> revogarFamilia(usuarioId, familia, motivo));
+        eventPublisher.publishEvent(new SessoesRevogadasEvent(usuarioId));
+        log.info("Sessões revogadas - Usuário ID: {}, Famílias: {}, Motivo: {}", usuarioId, familias.size(), motivo);
+    }
+
+    private TokensEmitidos emitir(Usuario usuario, String familia) {
+        return emitir(usuario, familia, UUID.randomUUID().toString());
+    }
+
+    private TokensEmitidos emitir(Usuario usuario, String familia, String jti) {
+        String refreshToken = jwtService.generateRefreshToken(usuario, familia, jti);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(jti)
+                .usuario(usuario)
+                .familia(familia)
+                .expiraEm(LocalDateTime.now().plus(jwtService.getRefreshExpiration()))
+                .build());
+
+        String token = jwtService.generateToken(usuario, familia);
+        return new TokensEmitidos(usuario, token, refreshToken, jwtService.extractExpiration(token));
+    }
+
+    /**
+     * Assina de novo o sucessor de um token consumido há pouco, se ele ainda não
+     * foi usado nem revogado (mesmo jti: continua valendo uma única renovação)
+     */
+    private Optional<TokensEmitidos> reemitirSucessor(RefreshToken atual, Usuario usuario) {
+        if (!usuario.getAtivo() || atual.getSucessorJti() == null || atual.getUsadoEm() == null
+                || atual.getUsadoEm().plus(janelaReuso).isBefore(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findById(atual.getSucessorJti())
+                .filter(sucessor -> !sucessor.getUsado() && !sucessor.getRevogado())
+                .map(sucessor -> {
+                    String refreshToken = jwtService.generateRefreshToken(usuario, sucessor.getFamilia(),
+                            sucessor.getJti());
+                    String token = jwtService.generateToken(usuario, sucessor.getFamilia());
+                    return new TokensEmitidos(usuario, token, refreshToken, jwtService.extractExpiration(token));
+                });
+    }
+
+    /**
+     * Revoga a família: vale enquanto algum token dela ainda puder estar válido
+     */
+    private void revogarFamilia(Long usuarioId, String familia, MotivoRevogacao motivo) {
+        if (familia == null) {
+            return;
+        }
+        refreshTokenRepository.revogarFamilia(familia);
+        revogar(familia, usuarioId, motivo, LocalDateTime.now().plus(jwtService.getRefreshExpiration()));
+    }
+
+    private void revogar(String id, Long usuarioId, MotivoRevogacao motivo, LocalDateTime expiraEm) {
+        if (id == null || usuarioId == null) {
+            return;
+        }
+        tokenRevogadoRepository.inserirSeAusente(id, usuarioId, motivo.name(), expiraEm);
+        eventPublisher.publishEvent(new TokenRevogadoEvent(id, expiraEm));
+    }
+}
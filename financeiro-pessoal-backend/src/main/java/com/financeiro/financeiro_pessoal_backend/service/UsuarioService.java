@@ -1,25 +1,40 @@
 package com.financeiro.financeiro_pessoal_backend.service;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTags;
+import com.financeiro.financeiro_pessoal_backend.cache.InvalidatesCache;
 import com.financeiro.financeiro_pessoal_backend.dto.request.AlterarSenhaRequestDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.request.AtualizarUsuarioRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.request.UsuarioFiltroRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.response.CursorPageResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.dto.response.UsuarioResponseDTO;
 import com.financeiro.financeiro_pessoal_backend.exception.ResourceNotFoundException;
 import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
 import com.financeiro.financeiro_pessoal_backend.exception.ValidationException;
 import com.financeiro.financeiro_pessoal_backend.mapper.UsuarioMapper;
 import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.MotivoRevogacao;
+import com.financeiro.financeiro_pessoal_backend.model.enums.OrdenacaoUsuario;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
 import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioSpecifications;
 import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -32,6 +47,7 @@ public class UsuarioService {
     private final UsuarioMapper usuarioMapper;
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtil securityUtil;
+    private final RefreshTokenService refreshTokenService;
 
     private static final Pattern PASSWORD_PATTERN = Pattern.compile(
             "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&#])[A-Za-z\\d@$!%*?&#]{8,}$"
@@ -41,7 +57,8 @@ public class UsuarioService {
      * Busca usuário por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "usuarios", key = "#id")
+    @CacheTags(value = CacheEntity.USUARIO, usuarioParam = "id")
+    @Cacheable(value = "usuarios")
     public UsuarioResponseDTO findById(Long id) {
         log.debug("Buscando usuário por ID: {}", id);
 
@@ -81,51 +98,88 @@ public class UsuarioService {
     }
 
     /**
-     * Lista todos os usuários ativos (apenas admin)
+     * Lista usuários com filtros e paginação por keyset (apenas admin)
+     * A página seguinte continua a partir do último item da anterior, sem OFFSET
+     * nem contagem total
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "usuarios", key = "'ativos'")
-    public List<UsuarioResponseDTO> findAllAtivos() {
-        log.debug("Listando todos os usuários ativos");
+    public CursorPageResponseDTO<UsuarioResponseDTO> listar(UsuarioFiltroRequestDTO filtro) {
+        log.debug("Listando usuários - Filtro: {}", filtro);
 
         // Apenas admin
         if (!securityUtil.isAdmin()) {
             throw new UnauthorizedException("Acesso negado. Apenas administradores podem listar usuários");
         }
 
-        List<Usuario> usuarios = usuarioRepository.findByAtivoTrue();
-        log.info("Total de usuários ativos encontrados: {}", usuarios.size());
-
-        return usuarios.stream()
+        OrdenacaoUsuario ordenacao = filtro.getOrdenacao();
+        Sort.Direction direcao = filtro.getDirecao();
+        Sort sort = ordenacao == OrdenacaoUsuario.ID
+                ? Sort.by(direcao, "id")
+                : Sort.by(direcao, ordenacao.getPropriedade(), "id");
+        ScrollPosition posicao = filtro.getCursor() != null
+                ? decodeCursor(filtro.getCursor(), ordenacao, direcao)
+                : ScrollPosition.keyset();
+
+        Specification<Usuario> spec = Specification.allOf(
+                UsuarioSpecifications.ativo(filtro.getAtivo()),
+                UsuarioSpecifications.tipo(filtro.getTipo()),
+                UsuarioSpecifications.nomeContendo(filtro.getNome()));
+
+        Window<Usuario> janela = usuarioRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(filtro.getSize())
+                .scroll(posicao));
+
+        List<UsuarioResponseDTO> content = janela.getContent().stream()
                 .map(usuarioMapper::toDto)
                 .collect(Collectors.toList());
+        String proximoCursor = janela.hasNext() && !janela.isEmpty()
+                ? encodeCursor(janela.getContent().get(janela.size() - 1), ordenacao, direcao)
+                : null;
+
+        return CursorPageResponseDTO.<UsuarioResponseDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(janela.hasNext())
+                .proximoCursor(proximoCursor)
+                .build();
     }
 
     /**
-     * Busca usuários por tipo (apenas admin)
+     * Cursor opaco: ordenação, direção, id e valor da coluna ordenada do último item
      */
-    @Transactional(readOnly = true)
-    public List<UsuarioResponseDTO> findByTipo(TipoUsuario tipo) {
-        log.debug("Buscando usuários por tipo: {}", tipo);
+    private String encodeCursor(Usuario ultimo, OrdenacaoUsuario ordenacao, Sort.Direction direcao) {
+        String valor = switch (ordenacao) {
+            case NOME -> ultimo.getNome();
+            case EMAIL -> ultimo.getEmail();
+            case ID -> "";
+        };
+        String cursor = ordenacao.name() + "|" + direcao.name() + "|" + ultimo.getId() + "|" + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
 
-        // Apenas admin
-        if (!securityUtil.isAdmin()) {
-            throw new UnauthorizedException("Acesso negado. Apenas administradores podem filtrar usuários por tipo");
+    private ScrollPosition decodeCursor(String cursor, OrdenacaoUsuario ordenacao, Sort.Direction direcao) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            if (partes.length != 4 || !partes[0].equals(ordenacao.name()) || !partes[1].equals(direcao.name())) {
+                throw new ValidationException("Cursor não corresponde à ordenação solicitada");
+            }
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            if (ordenacao != OrdenacaoUsuario.ID) {
+                chaves.put(ordenacao.getPropriedade(), partes[3]);
+            }
+            chaves.put("id", Long.valueOf(partes[2]));
+            return ScrollPosition.forward(chaves);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Cursor inválido");
         }
-
-        List<Usuario> usuarios = usuarioRepository.findByTipoUsuarioAndAtivoTrue(tipo);
-        log.info("Total de usuários encontrados do tipo {}: {}", tipo, usuarios.size());
-
-        return usuarios.stream()
-                .map(usuarioMapper::toDto)
-                .collect(Collectors.toList());
     }
 
     /**
      * Atualiza perfil do usuário
      */
     @Transactional
-    @CacheEvict(value = "usuarios", key = "#id")
+    @InvalidatesCache(value = CacheEntity.USUARIO, usuarioParam = "id")
     public UsuarioResponseDTO update(Long id, AtualizarUsuarioRequestDTO request) {
         log.info("Atualizando usuário - ID: {}", id);
 
@@ -171,7 +225,7 @@ public class UsuarioService {
      * Altera senha do usuário
      */
     @Transactional
-    @CacheEvict(value = "usuarios", key = "#id")
+    @InvalidatesCache(value = CacheEntity.USUARIO, usuarioParam = "id")
     public void alterarSenha(Long id, AlterarSenhaRequestDTO request) {
         log.info("Alterando senha do usuário - ID: {}", id);
 
@@ -213,6 +267,9 @@ public class UsuarioService {
         usuario.setSenhaHash(passwordEncoder.encode(request.getNovaSenha()));
         usuarioRepository.save(usuario);
 
+        // Sessões abertas com a senha anterior deixam de valer
+        refreshTokenService.revogarTodas(id, MotivoRevogacao.SENHA_ALTERADA);
+
         log.info("Senha alterada com sucesso para usuário ID: {}", id);
     }
 
@@ -220,7 +277,7 @@ public class UsuarioService {
      * Desativa conta do usuário (soft delete)
      */
     @Transactional
-    @CacheEvict(value = "usuarios", allEntries = true)
+    @InvalidatesCache(value = CacheEntity.USUARIO, usuarioParam = "id")
     public void desativar(Long id) {
         log.info("Desativando usuário - ID: {}", id);
 
@@ -240,6 +297,7 @@ public class UsuarioService {
 
         usuario.setAtivo(false);
         usuarioRepository.save(usuario);
+        refreshTokenService.revogarTodas(id, MotivoRevogacao.CONTA_DESATIVADA);
 
         log.info("Usuário desativado com sucesso - ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
     }
@@ -248,7 +306,7 @@ public class UsuarioService {
      * Reativa conta do usuário (apenas admin)
      */
     @Transactional
-    @CacheEvict(value = "usuarios", allEntries = true)
+    @InvalidatesCache(value = CacheEntity.USUARIO, usuarioParam = "id")
     public void reativar(Long id) {
         log.info("Reativando usuário - ID: {}", id);
 
@@ -270,30 +328,6 @@ public class UsuarioService {
         log.info("Usuário reativado com sucesso - ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
     }
 
-    /**
-     * Busca usuários por nome (apenas admin)
-     */
-    @Transactional(readOnly = true)
-    public List<UsuarioResponseDTO> searchByNome(String nome) {
-        log.debug("Buscando usuários por nome: {}", nome);
-
-        // Apenas admin
-        if (!securityUtil.isAdmin()) {
-            throw new UnauthorizedException("Apenas administradores podem buscar usuários por nome");
-        }
-
-        if (nome == null || nome.trim().length() < 2) {
-            throw new ValidationException("O termo de busca deve ter no mínimo 2 caracteres");
-        }
-
-        List<Usuario> usuarios = usuarioRepository.findByNomeContainingIgnoreCaseAndAtivoTrue(nome.trim());
-        log.info("Total de usuários encontrados com nome '{}': {}", nome, usuarios.size());
-
-        return usuarios.stream()
-                .map(usuarioMapper::toDto)
-                .collect(Collectors.toList());
-    }
-
     /**
      * Conta total de usuários ativos (apenas admin)
      */
@@ -1,8 +1,9 @@
 package com.financeiro.financeiro_pessoal_backend.util;
 
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTagContext;
 import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
-import com.financeiro.financeiro_pessoal_backend.model.Usuario;
 import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,9 +17,9 @@ import org.springframework.stereotype.Component;
 public class SecurityUtil {
 
     /**
-     * Retorna o usuário atualmente autenticado
+     * Retorna o principal do usuário atualmente autenticado (claims do token)
      */
-    public Usuario getUsuarioLogado() {
+    public UsuarioPrincipal getUsuarioLogado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -27,8 +28,8 @@ public class SecurityUtil {
 
         Object principal = authentication.getPrincipal();
 
-        if (principal instanceof Usuario) {
-            return (Usuario) principal;
+        if (principal instanceof UsuarioPrincipal usuario) {
+            return usuario;
         }
 
         throw new UnauthorizedException("Contexto de segurança inválido");
@@ -38,7 +39,7 @@ public class SecurityUtil {
      * Retorna o ID do usuário autenticado
      */
     public Long getUsuarioLogadoId() {
-        return getUsuarioLogado().getId();
+        return getUsuarioLogado().id();
     }
 
     /**
@@ -57,14 +58,7 @@ public class SecurityUtil {
      * Retorna o email do usuário autenticado
      */
     public String getEmailUsuarioLogado() {
-        return getUsuarioLogado().getEmail();
-    }
-
-    /**
-     * Retorna o nome do usuário autenticado
-     */
-    public String getNomeUsuarioLogado() {
-        return getUsuarioLogado().getNome();
+        return getUsuarioLogado().email();
     }
 
     /**
@@ -72,8 +66,7 @@ public class SecurityUtil {
      */
     public boolean isAdmin() {
         try {
-            Usuario usuario = getUsuarioLogado();
-            return usuario.getTipoUsuario() == TipoUsuario.ADMIN;
+            return getUsuarioLogado().tipoUsuario() == TipoUsuario.ADMIN;
         } catch (Exception e) {
             return false;
         }
@@ -84,8 +77,7 @@ public class SecurityUtil {
      */
     public boolean isUser() {
         try {
-            Usuario usuario = getUsuarioLogado();
-            return usuario.getTipoUsuario() == TipoUsuario.USER;
+            return getUsuarioLogado().tipoUsuario() == TipoUsuario.USER;
         } catch (Exception e) {
             return false;
         }
@@ -122,6 +114,8 @@ public class SecurityUtil {
 
     /**
      * Lança exceção se o usuário não tiver permissão para o recurso
+     * Registra o dono do recurso para as tags e invalidações de cache
+     * (um admin pode acessar dados de outro usuário)
      */
     public void validarPermissaoUsuario(Long usuarioId) {
         if (!temPermissaoParaUsuario(usuarioId)) {
@@ -129,6 +123,7 @@ public class SecurityUtil {
                     getUsuarioLogadoId(), usuarioId);
             throw new UnauthorizedException("Você não tem permissão para acessar este recurso");
         }
+        CacheTagContext.owner(usuarioId);
     }
 
     /**
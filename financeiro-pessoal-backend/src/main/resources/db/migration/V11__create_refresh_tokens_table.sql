@@ -0,0 +1,30 @@
+-- Refresh tokens emitidos (rotação com detecção de reuso)
+CREATE TABLE refresh_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    familia VARCHAR(36) NOT NULL,
+    expira_em TIMESTAMP NOT NULL,
+    usado BOOLEAN NOT NULL DEFAULT FALSE,
+    revogado BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_familia ON refresh_tokens(familia);
+CREATE INDEX idx_refresh_tokens_usuario ON refresh_tokens(usuario_id);
+CREATE INDEX idx_refresh_tokens_expira_em ON refresh_tokens(expira_em);
+
+-- Identificadores revogados (jti de access token ou família de refresh tokens)
+CREATE TABLE tokens_revogados (
+    id VARCHAR(36) PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    motivo VARCHAR(20) NOT NULL CHECK (motivo IN ('LOGOUT', 'REUSO_DETECTADO', 'SENHA_ALTERADA', 'CONTA_DESATIVADA')),
+    expira_em TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_tokens_revogados_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_tokens_revogados_created_at ON tokens_revogados(created_at);
+CREATE INDEX idx_tokens_revogados_expira_em ON tokens_revogados(expira_em);
@@ -0,0 +1,7 @@
+-- Listagem paginada por keyset: filtro por ativo e ordenação por nome/email com desempate por id
+CREATE INDEX idx_usuarios_ativo_nome_id ON usuarios(ativo, nome, id);
+CREATE INDEX idx_usuarios_ativo_email_id ON usuarios(ativo, email, id);
+
+-- Busca parcial por nome (LOWER(nome) LIKE '%termo%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_usuarios_nome_trgm ON usuarios USING gin (LOWER(nome) gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Sucessor emitido na rotação, para a janela de tolerância a renovações repetidas
+ALTER TABLE refresh_tokens ADD COLUMN sucessor_jti VARCHAR(36);
+ALTER TABLE refresh_tokens ADD COLUMN usado_em TIMESTAMP;
@@ -0,0 +1,2 @@
+-- Remoção em lotes por usuário na purga de conta (e ON DELETE CASCADE de usuarios)
+CREATE INDEX idx_tokens_revogados_usuario ON tokens_revogados(usuario_id);
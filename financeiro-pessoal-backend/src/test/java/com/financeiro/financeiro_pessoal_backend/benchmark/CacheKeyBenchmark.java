@@ -0,0 +1,125 @@
+package com.financeiro.financeiro_pessoal_backend.benchmark;
+
+import com.financeiro.financeiro_pessoal_backend.cache.UsuarioCacheKeyGenerator;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o custo por acerto de cache das chaves SpEL com as chaves tipadas
+ *
+ * Reproduz o que o interceptor de cache faz a cada chamada: cria o contexto
+ * de avaliação, avalia a expressão (já compilada) e consulta o mapa com a
+ * chave resultante. Execução (após {@code mvn test-compile}):
+ * {@code java -cp target/test-classes:target/classes:<classpath de teste> org.openjdk.jmh.Main CacheKeyBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private static final String SPEL_KEY =
+            "'geral_' + #mes + '_' + #ano + '_' + @securityUtil.usuarioLogadoId";
+
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final UsuarioCacheKeyGenerator keyGenerator = new UsuarioCacheKeyGenerator();
+    private final ConcurrentHashMap<Object, Object> cache = new ConcurrentHashMap<>();
+
+    private Expression expression;
+    private BeanFactoryResolver beanResolver;
+    private Method method;
+    private Object target;
+    private Object[] args;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        UsuarioPrincipal usuario = new UsuarioPrincipal(42L, "bench@financeiro.com", TipoUsuario.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("securityUtil", new SecurityUtil());
+        beanResolver = new BeanFactoryResolver(beanFactory);
+        expression = new SpelExpressionParser().parseExpression(SPEL_KEY);
+
+        target = this;
+        method = CacheKeyBenchmark.class.getDeclaredMethod("getDashboard", Integer.class, Integer.class);
+        args = new Object[]{10, 2025};
+
+        cache.put(spelKey(), "dashboard");
+        cache.put(keyGenerator.generate(target, method, args), "dashboard");
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object spelKeyGeneration() {
+        return spelKey();
+    }
+
+    @Benchmark
+    public Object typedKeyGeneration() {
+        return keyGenerator.generate(target, method, args);
+    }
+
+    @Benchmark
+    public Object spelKeyHit() {
+        return cache.get(spelKey());
+    }
+
+    @Benchmark
+    public Object typedKeyHit() {
+        return cache.get(keyGenerator.generate(target, method, args));
+    }
+
+    private Object spelKey() {
+        MethodBasedEvaluationContext context =
+                new MethodBasedEvaluationContext(target, method, args, parameterNames);
+        context.setBeanResolver(beanResolver);
+        return expression.getValue(context);
+    }
+
+    @SuppressWarnings("unused")
+    Object getDashboard(Integer mes, Integer ano) {
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheKeyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
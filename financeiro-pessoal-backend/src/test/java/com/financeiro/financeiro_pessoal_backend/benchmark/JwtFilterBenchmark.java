@@ -0,0 +1,154 @@
+package com.financeiro.financeiro_pessoal_backend.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioSituacao;
+import com.financeiro.financeiro_pessoal_backend.security.JwtAuthenticationFilter;
+import com.financeiro.financeiro_pessoal_backend.security.JwtService;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevocationStore;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioStatusCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo do processamento do JWT por requisição
+ *
+ * {@code legacyTokenProcessing} reproduz o fluxo anterior (três decodificações,
+ * cada uma recriando o algoritmo e o verificador, sem contar a consulta ao
+ * usuário no banco); os demais usam o {@link JwtService} atual com e sem o
+ * cache de tokens verificados, e o filtro completo com o cache de situação e
+ * a consulta ao conjunto de tokens revogados.
+ * Execução (após {@code mvn test-compile}):
+ * {@code java -cp target/test-classes:target/classes:<classpath de teste> org.openjdk.jmh.Main JwtFilterBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        cachedJwtService = jwtService(10_000);
+        uncachedJwtService = jwtService(0);
+
+        Usuario usuario = Usuario.builder()
+                .id(42L)
+                .email("bench@financeiro.com")
+                .tipoUsuario(TipoUsuario.USER)
+                .ativo(true)
+                .build();
+        token = cachedJwtService.generateToken(usuario, UUID.randomUUID().toString());
+
+        UsuarioRepository repository = (UsuarioRepository) Proxy.newProxyInstance(
+                UsuarioRepository.class.getClassLoader(),
+                new Class<?>[]{UsuarioRepository.class},
+                (proxy, method, args) -> method.getName().equals("findSituacaoById")
+                        ? Optional.of(new UsuarioSituacao(true, TipoUsuario.USER))
+                        : null);
+        UsuarioStatusCache statusCache = new UsuarioStatusCache(repository,
+                new DataVersions(10_000, Duration.ofHours(1)), 10_000, Duration.ofMinutes(1));
+
+        // Conjunto com 100 mil revogações; o token medido não está entre elas
+        TokenRevocationStore revocationStore = new TokenRevocationStore(
+                null, null, new SimpleMeterRegistry(), 1_000_000, 0.01,
+                Duration.ofSeconds(10), Duration.ofHours(1), Duration.ofMinutes(1));
+        LocalDateTime expiraEm = LocalDateTime.now().plusDays(7);
+        for (int i = 0; i < 100_000; i++) {
+            revocationStore.revoke(UUID.randomUUID().toString(), expiraEm);
+        }
+        filter = new JwtAuthenticationFilter(cachedJwtService, statusCache, revocationStore, repository);
+    }
+
+    private JwtService jwtService(long cacheSize) throws Exception {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(service, "verifiedCacheMaximumSize", cacheSize);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtl", Duration.ofSeconds(30));
+        Method init = JwtService.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(service);
+        return service;
+    }
+
+    @Benchmark
+    public boolean legacyTokenProcessing() {
+        String username = legacyDecode(token).getSubject();
+        String again = legacyDecode(token).getSubject();
+        boolean expired = legacyDecode(token).getExpiresAt().before(new java.util.Date());
+        return username.equals(again) && !expired;
+    }
+
+    @Benchmark
+    public Object singleVerifierWithoutCache() {
+        return uncachedJwtService.extractPrincipal(token);
+    }
+
+    @Benchmark
+    public Object singleVerifierWithCache() {
+        return cachedJwtService.extractPrincipal(token);
+    }
+
+    @Benchmark
+    public Object filterWithCaches() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        request.setServletPath("/api/dashboard");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private DecodedJWT legacyDecode(String jwt) {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm).build().verify(jwt);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,161 @@
+package com.financeiro.financeiro_pessoal_backend.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Carga HTTP para comparar threads de plataforma e threads virtuais
+ *
+ * Roda contra uma instância já no ar (com banco populado) e mede vazão e
+ * latência, e lê do actuator o uso de heap, as threads vivas e as esperas
+ * por conexão do Hikari antes e depois da carga. Para comparar, rode a mesma
+ * carga duas vezes, com a aplicação em JDK 21+ iniciada com
+ * {@code --spring.threads.virtual.enabled=false} e depois {@code =true}; use
+ * {@code --app.rate-limit.enabled=false} e vários tokens, pois chamadas
+ * idênticas do mesmo usuário são agrupadas ({@code @Coalesced}). As rotas
+ * padrão não passam pelo cache, então o custo é dominado pelo JDBC.
+ * Execução (após {@code mvn test-compile}):
+ * {@code java -cp target/test-classes -Dload.tokens=<jwt1,jwt2> -Dload.concurrency=400 com.financeiro.financeiro_pessoal_backend.benchmark.ThreadingLoadBenchmark}
+ */
+public class ThreadingLoadBenchmark {
+
+    private static final Pattern VALUE = Pattern.compile("\"statistic\"\\s*:\\s*\"VALUE\"\\s*,\\s*\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.url", "http://localhost:8080");
+        List<String> tokens = Arrays.asList(System.getProperty("load.tokens", "").split(","));
+        List<String> paths = Arrays.asList(System.getProperty("load.paths",
+                "/dashboard/indicadores,/dashboard/comparativo?mes1=1&ano1=2025&mes2=2&ano2=2025").split(","));
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT60S"));
+
+        if (tokens.get(0).isBlank()) {
+            throw new IllegalArgumentException("Informe -Dload.tokens com um ou mais access tokens");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+
+        System.out.printf("Carga: %s, %d clientes, aquecimento %ds, medição %ds%n",
+                baseUrl, concurrency, warmup.toSeconds(), duration.toSeconds());
+        run(client, baseUrl, tokens, paths, concurrency, warmup);
+
+        Snapshot antes = Snapshot.read(client, baseUrl);
+        Result result = run(client, baseUrl, tokens, paths, concurrency, duration);
+        Snapshot depois = Snapshot.read(client, baseUrl);
+
+        System.out.printf("Modo: %s%n", depois.virtual() == 1 ? "threads virtuais" : "threads de plataforma");
+        System.out.printf("Requisições: %d (%.1f req/s), erros: %d%n",
+                result.count(), result.count() / (double) duration.toSeconds(), result.errors());
+        System.out.printf("Latência p50/p95/p99/max: %.1f / %.1f / %.1f / %.1f ms%n",
+                result.percentile(50), result.percentile(95), result.percentile(99), result.percentile(100));
+        System.out.printf("Heap usado: %.1f MB -> %.1f MB%n", antes.heap() / 1048576, depois.heap() / 1048576);
+        System.out.printf("Threads vivas (JVM): %.0f -> %.0f%n", antes.threads(), depois.threads());
+        System.out.printf("Esperas por conexão (Hikari, fim da carga): %.0f%n", depois.pending());
+
+        client.executor().ifPresent(executor -> ((ExecutorService) executor).shutdownNow());
+    }
+
+    private static Result run(HttpClient client, String baseUrl, List<String> tokens, List<String> paths,
+                              int concurrency, Duration duration) throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int cliente = i;
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int n = 0;
+                String token = tokens.get(cliente % tokens.size());
+                for (int j = cliente; System.nanoTime() < end; j++) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(j % paths.size())))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (n == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, n * 2);
+                    }
+                    latencies[n++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, n);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        workers.shutdown();
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] sortedNanos, long errors) {
+
+        long count() {
+            return sortedNanos.length;
+        }
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+
+    private record Snapshot(double heap, double threads, double pending, double virtual) {
+
+        static Snapshot read(HttpClient client, String baseUrl) {
+            return new Snapshot(
+                    metric(client, baseUrl, "jvm.memory.used?tag=area:heap"),
+                    metric(client, baseUrl, "jvm.threads.live"),
+                    metric(client, baseUrl, "hikaricp.connections.pending"),
+                    metric(client, baseUrl, "app.threads.virtual"));
+        }
+
+        private static double metric(HttpClient client, String baseUrl, String name) {
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = VALUE.matcher(response.body());
+                return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+            } catch (Exception e) {
+                return Double.NaN;
+            }
+        }
+    }
+}
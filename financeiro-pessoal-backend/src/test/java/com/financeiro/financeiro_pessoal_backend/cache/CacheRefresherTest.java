@@ -0,0 +1,51 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.concurrency.Workload;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadContext;
+import com.financeiro.financeiro_pessoal_backend.concurrency.WorkloadType;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheRefresherTest {
+
+    private final DataVersions dataVersions = new DataVersions(1_000, Duration.ofHours(1));
+    private final Relatorios relatorios = new Relatorios();
+
+    @Test
+    void refreshUsaAClasseDeCargaDoMetodo() throws Exception {
+        assertThat(refresher("resumo").refresh()).isEqualTo(WorkloadType.REPORTING);
+        assertThat(refresher("listagem").refresh()).isEqualTo(WorkloadType.OLTP);
+        assertThat(WorkloadContext.current()).isEqualTo(WorkloadType.OLTP);
+    }
+
+    private CacheRefresher refresher(String metodo) throws NoSuchMethodException {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new CacheRefresher(relatorios, Relatorios.class.getMethod(metodo), new Object[0],
+                SecurityContextHolder.createEmptyContext(), Set.of(), dataVersions,
+                new TransactionTemplate(transactionManager));
+    }
+
+    static class Relatorios {
+
+        @Workload(WorkloadType.REPORTING)
+        public WorkloadType resumo() {
+            return WorkloadContext.current();
+        }
+
+        public WorkloadType listagem() {
+            return WorkloadContext.current();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tags e invalidações quando um admin acessa dados de outro usuário: as
+ * entradas e as invalidações devem usar o dono dos dados
+ */
+class CacheTagAspectTest {
+
+    private static final long ADMIN_ID = 1L;
+    private static final long DONO_ID = 42L;
+
+    interface DespesaOperacoes {
+
+        String buscar(Long usuarioId);
+
+        void excluir(Long usuarioId);
+    }
+
+    /**
+     * Serviço mínimo no formato dos reais: valida a permissão sobre o dono e
+     * grava no cache dentro do método anotado
+     */
+    static class DespesaOperacoesImpl implements DespesaOperacoes {
+
+        private final SecurityUtil securityUtil;
+        private final Cache cache;
+
+        DespesaOperacoesImpl(SecurityUtil securityUtil, Cache cache) {
+            this.securityUtil = securityUtil;
+            this.cache = cache;
+        }
+
+        @Override
+        @CacheTags(CacheEntity.DESPESA)
+        public String buscar(Long usuarioId) {
+            securityUtil.validarPermissaoUsuario(usuarioId);
+            String valor = "despesas-" + usuarioId;
+            cache.put(usuarioId, valor);
+            return valor;
+        }
+
+        @Override
+        @InvalidatesCache(CacheEntity.DESPESA)
+        public void excluir(Long usuarioId) {
+            securityUtil.validarPermissaoUsuario(usuarioId);
+        }
+    }
+
+    /**
+     * Executado logo depois de cada gravação no cache, antes do registro das tags
+     */
+    private Runnable aposGravar = () -> { };
+
+    private final CacheTagIndex index = new CacheTagIndex();
+    private final DataVersions dataVersions = new DataVersions(1_000, Duration.ofHours(1));
+    private final Cache cache = new TaggedCache(new ConcurrentMapCache("despesas") {
+        @Override
+        public void put(Object key, Object value) {
+            super.put(key, value);
+            aposGravar.run();
+        }
+    }, index, dataVersions);
+    private CacheInvalidator invalidator;
+    private DespesaOperacoes operacoes;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.afterPropertiesSet();
+
+        // Sem transação: o evento é processado na hora, como no fallbackExecution
+        invalidator = new CacheInvalidator(
+                event -> invalidator.onInvalidation((CacheInvalidationEvent) event),
+                index, cacheManager, dataVersions);
+
+        SecurityUtil securityUtil = new SecurityUtil();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new DespesaOperacoesImpl(securityUtil, cache));
+        factory.addInterface(DespesaOperacoes.class);
+        factory.addAspect(new CacheTagAspect(securityUtil, invalidator, dataVersions,
+                mock(PlatformTransactionManager.class)));
+        operacoes = factory.getProxy();
+
+        autenticar(ADMIN_ID, TipoUsuario.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void autenticar(long id, TipoUsuario tipo) {
+        UsuarioPrincipal principal = new UsuarioPrincipal(id, "u" + id + "@teste.com", tipo);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void leituraDoAdminFicaAssociadaAoDono() {
+        operacoes.buscar(DONO_ID);
+
+        assertThat(index.entriesFor(CacheTag.of(CacheEntity.DESPESA, DONO_ID)))
+                .containsExactly(new CacheTagIndex.EntryRef("despesas", DONO_ID));
+    }
+
+    @Test
+    void escritaDoAdminInvalidaAsEntradasDoDono() {
+        autenticar(DONO_ID, TipoUsuario.USER);
+        operacoes.buscar(DONO_ID);
+        autenticar(ADMIN_ID, TipoUsuario.ADMIN);
+        operacoes.buscar(ADMIN_ID);
+
+        operacoes.excluir(DONO_ID);
+
+        assertThat(cache.get(DONO_ID)).isNull();
+        assertThat(cache.get(ADMIN_ID)).isNotNull();
+    }
+
+    @Test
+    void escritaDoDonoInvalidaEntradaGravadaPeloAdmin() {
+        operacoes.buscar(DONO_ID);
+
+        autenticar(DONO_ID, TipoUsuario.USER);
+        operacoes.excluir(DONO_ID);
+
+        assertThat(cache.get(DONO_ID)).isNull();
+    }
+
+    @Test
+    void invalidacaoEntreGravacaoERegistroDescartaAEntrada() {
+        // A invalidação procura no índice antes de a entrada ser registrada
+        aposGravar = () -> invalidator.evictLocal(Set.of(CacheTag.of(CacheEntity.DESPESA, DONO_ID)));
+
+        operacoes.buscar(DONO_ID);
+
+        assertThat(cache.get(DONO_ID)).isNull();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void invalidacaoDeOutroUsuarioDuranteALeituraMantemAEntrada() {
+        aposGravar = () -> invalidator.evictLocal(Set.of(CacheTag.of(CacheEntity.DESPESA, 99L)));
+
+        operacoes.buscar(DONO_ID);
+
+        assertThat(cache.get(DONO_ID)).isNotNull();
+    }
+}
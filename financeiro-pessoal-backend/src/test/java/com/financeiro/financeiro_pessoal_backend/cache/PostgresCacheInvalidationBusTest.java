@@ -0,0 +1,46 @@
+package com.financeiro.financeiro_pessoal_backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostgresCacheInvalidationBusTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostgresCacheInvalidationBus bus = new PostgresCacheInvalidationBus(jdbcTemplate,
+            mock(DataSourceProperties.class), mock(CacheInvalidator.class), meterRegistry, "cache_invalidation", 100);
+
+    @Test
+    void loteQueFalhaVoltaParaAFilaEEReenviado() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Object.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("conexão recusada"))
+                .thenReturn(null);
+
+        bus.onInvalidation(new CacheInvalidationEvent(Set.of(CacheTag.of(CacheEntity.RECEITA, 5L))));
+        bus.flush();
+        bus.onInvalidation(new CacheInvalidationEvent(Set.of(CacheTag.of(CacheEntity.DESPESA, 7L))));
+        bus.flush();
+        bus.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Object.class), eq("cache_invalidation"),
+                payload.capture());
+        assertThat((String) payload.getAllValues().get(1)).contains("RECEITA:5", "DESPESA:7");
+        assertThat(meterRegistry.get("cache.bus.publish.failures").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final ConcurrencyLimitProperties.Priority HIGH = ConcurrencyLimitProperties.Priority.HIGH;
+
+    private ConcurrencyLimitProperties properties(int initialLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(5);
+        properties.setMaxLimit(100);
+        // Janela nula: cada liberação com amostras suficientes fecha a janela
+        properties.setWindow(Duration.ZERO);
+        properties.setMinWindowSamples(1);
+        properties.setBackoffRatio(0.5);
+        return properties;
+    }
+
+    @Test
+    void sobrecargaReduzOLimitePeloBackoff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(40));
+
+        assertThat(limiter.tryAcquire(HIGH)).isTrue();
+        limiter.release(-1, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void backoffRespeitaOLimiteMinimo() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(8));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(HIGH)).isTrue();
+            limiter.release(-1, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void liberacaoSemAmostraNaoAlteraOLimite() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(40));
+
+        assertThat(limiter.tryAcquire(HIGH)).isTrue();
+        limiter.release(-1, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void usoAbaixoDaMetadeDoLimiteNaoAlteraOLimite() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(40));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(HIGH)).isTrue();
+            limiter.release(1_000_000, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void recusaAcimaDaFracaoDaPrioridade() {
+        ConcurrencyLimitProperties properties = properties(10);
+        properties.setLowShare(0.5);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(ConcurrencyLimitProperties.Priority.LOW)).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire(ConcurrencyLimitProperties.Priority.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(HIGH)).isTrue();
+    }
+}
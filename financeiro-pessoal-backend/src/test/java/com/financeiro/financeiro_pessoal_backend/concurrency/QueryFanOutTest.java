@@ -0,0 +1,75 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class QueryFanOutTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    // Uma única thread extra, para que as demais fiquem na fila
+    private final QueryFanOut fanOut = new QueryFanOut(transactionManager, new SimpleMeterRegistry(),
+            true, 1, 4, 3, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void executaTodosOsGrupos() {
+        QueryFanOut.FanOut execucao = fanOut.start("teste");
+        List<QueryFanOut.Result<Integer>> results = List.of(
+                execucao.fork(() -> 1), execucao.fork(() -> 2), execucao.fork(() -> 3));
+
+        execucao.join();
+
+        assertThat(results).extracting(QueryFanOut.Result::get).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void naoEsperaThreadsExtrasQueAindaEstaoNaFila() throws Exception {
+        // Ocupa a thread do pool com um grupo de outra execução
+        CountDownLatch ocupadas = new CountDownLatch(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        QueryFanOut.FanOut bloqueada = fanOut.start("bloqueada");
+        for (int i = 0; i < 2; i++) {
+            bloqueada.fork(() -> {
+                ocupadas.countDown();
+                return liberar.await(10, TimeUnit.SECONDS);
+            });
+        }
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(bloqueada::join);
+        assertThat(ocupadas.await(5, TimeUnit.SECONDS)).isTrue();
+
+        QueryFanOut.FanOut execucao = fanOut.start("teste");
+        List<QueryFanOut.Result<Integer>> results = List.of(
+                execucao.fork(() -> 1), execucao.fork(() -> 2), execucao.fork(() -> 3));
+        long inicio = System.nanoTime();
+
+        execucao.join();
+
+        // A chamadora executou tudo; as threads extras na fila não viram prazo esgotado
+        assertThat(results).extracting(QueryFanOut.Result::get).containsExactly(1, 2, 3);
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+
+        liberar.countDown();
+        primeira.get(5, TimeUnit.SECONDS);
+        // Só a thread extra da primeira execução abriu transação
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+}
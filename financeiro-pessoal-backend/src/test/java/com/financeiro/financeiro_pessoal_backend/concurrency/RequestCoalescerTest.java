@@ -0,0 +1,153 @@
+package com.financeiro.financeiro_pessoal_backend.concurrency;
+
+import com.financeiro.financeiro_pessoal_backend.cache.CacheEntity;
+import com.financeiro.financeiro_pessoal_backend.cache.CacheTag;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private static final long USUARIO_ID = 7L;
+
+    interface Saldos {
+
+        int saldo();
+    }
+
+    /**
+     * Cada execução devolve um número novo; a primeira espera até ser liberada
+     */
+    static class SaldosImpl implements Saldos {
+
+        final AtomicInteger execucoes = new AtomicInteger();
+        final CountDownLatch iniciada = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+
+        @Override
+        @Coalesced(CacheEntity.DESPESA)
+        public int saldo() {
+            int execucao = execucoes.incrementAndGet();
+            if (execucao == 1) {
+                iniciada.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return execucao;
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataVersions dataVersions = new DataVersions(1_000, Duration.ofHours(1));
+    private final SaldosImpl target = new SaldosImpl();
+    private Saldos saldos;
+    private SecurityContext securityContext;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(Saldos.class);
+        factory.addAspect(new RequestCoalescer(meterRegistry, dataVersions));
+        saldos = factory.getProxy();
+
+        UsuarioPrincipal principal = new UsuarioPrincipal(USUARIO_ID, "user@teste.com", TipoUsuario.USER);
+        securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.liberar.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    private CompletableFuture<Integer> emOutraThread() {
+        return CompletableFuture.supplyAsync(() -> {
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return saldos.saldo();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+
+    /**
+     * Espera a chamada concorrente se juntar à execução em andamento
+     */
+    private void aguardarCompartilhada() throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (compartilhadas() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertThat(compartilhadas()).isEqualTo(1);
+    }
+
+    private double compartilhadas() {
+        return meterRegistry.find("service.coalescing.calls").tag("resultado", "compartilhada")
+                .counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    @Test
+    void chamadaSimultaneaRecebeOResultadoDaExecucaoEmAndamento() throws Exception {
+        CompletableFuture<Integer> primeira = emOutraThread();
+        assertThat(target.iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> segunda = emOutraThread();
+        aguardarCompartilhada();
+        target.liberar.countDown();
+
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(target.execucoes).hasValue(1);
+    }
+
+    @Test
+    void chamadaAposEscritaDoUsuarioNaoSeJuntaAExecucaoAnterior() throws Exception {
+        CompletableFuture<Integer> primeira = emOutraThread();
+        assertThat(target.iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dataVersions.bump(Set.of(CacheTag.of(CacheEntity.DESPESA, USUARIO_ID)));
+
+        assertThat(saldos.saldo()).isEqualTo(2);
+        target.liberar.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void escritaEmEntidadeNaoRelacionadaMantemOAgrupamento() throws Exception {
+        CompletableFuture<Integer> primeira = emOutraThread();
+        assertThat(target.iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dataVersions.bump(Set.of(CacheTag.of(CacheEntity.META, USUARIO_ID)));
+        CompletableFuture<Integer> segunda = emOutraThread();
+        aguardarCompartilhada();
+        target.liberar.countDown();
+
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+}
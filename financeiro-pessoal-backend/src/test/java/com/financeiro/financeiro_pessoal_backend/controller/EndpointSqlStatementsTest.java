@@ -0,0 +1,234 @@
+package com.financeiro.financeiro_pessoal_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.financeiro_pessoal_backend.dto.request.DespesaRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.model.Categoria;
+import com.financeiro.financeiro_pessoal_backend.model.Despesa;
+import com.financeiro.financeiro_pessoal_backend.model.Receita;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoCategoria;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.repository.CategoriaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.DespesaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.ReceitaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
+import com.financeiro.financeiro_pessoal_backend.security.JwtService;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioStatusCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.financeiro.financeiro_pessoal_backend.support.SqlStatementCounter.assertStatements;
+import static com.financeiro.financeiro_pessoal_backend.support.SqlStatementCounter.count;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número de instruções SQL por endpoint (requer o PostgreSQL da aplicação)
+ *
+ * Listagens e dashboard não podem crescer com o número de linhas (N+1); as
+ * escritas de despesa fazem uma consulta de validação e a escrita. Os caches
+ * de aplicação e o L2 do Hibernate são limpos antes de cada medição, e a
+ * situação do usuário já está em cache, então a autenticação não conta.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointSqlStatementsTest {
+
+    private static final int LINHAS_EXTRAS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UsuarioStatusCache usuarioStatusCache;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+    @Autowired
+    private ReceitaRepository receitaRepository;
+    @Autowired
+    private DespesaRepository despesaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario usuario;
+    private Categoria categoria;
+    private Receita receita;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(Usuario.builder()
+                .email("sql-" + UUID.randomUUID() + "@teste.com")
+                .senhaHash("nao-usada")
+                .nome("Usuário SQL")
+                .tipoUsuario(TipoUsuario.USER)
+                .ativo(true)
+                .build());
+        categoria = novaCategoria();
+        receita = novaReceita();
+        novaDespesa();
+        authorization = "Bearer " + jwtService.generateToken(usuario, UUID.randomUUID().toString());
+        usuarioStatusCache.isValido(UsuarioPrincipal.of(usuario));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Receitas, despesas e categorias saem pelo ON DELETE CASCADE
+        jdbcTemplate.update("DELETE FROM usuarios WHERE id = ?", usuario.getId());
+        limparCaches();
+    }
+
+    @Test
+    void dashboardNaoCresceComOsLancamentos() throws Exception {
+        int inicial = medir(get("/dashboard"));
+        for (int i = 0; i < LINHAS_EXTRAS; i++) {
+            novaReceita();
+            novaDespesa();
+        }
+
+        limparCaches();
+        assertStatements(mockMvc, autenticado(get("/dashboard")), inicial)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void dashboardEmCacheNaoExecutaSql() throws Exception {
+        mockMvc.perform(autenticado(get("/dashboard"))).andExpect(status().isOk());
+
+        assertStatements(mockMvc, autenticado(get("/dashboard")), 0)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listagemDeReceitasNaoCresceComAsLinhas() throws Exception {
+        int inicial = medir(get("/receitas"));
+        for (int i = 0; i < LINHAS_EXTRAS; i++) {
+            novaReceita();
+            novaDespesa();
+        }
+
+        limparCaches();
+        assertStatements(mockMvc, autenticado(get("/receitas")), inicial)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listagemDeDespesasNaoCresceComAsLinhas() throws Exception {
+        int inicial = medir(get("/despesas"));
+        for (int i = 0; i < LINHAS_EXTRAS; i++) {
+            categoria = novaCategoria();
+            receita = novaReceita();
+            novaDespesa();
+        }
+
+        limparCaches();
+        assertStatements(mockMvc, autenticado(get("/despesas")), inicial)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void criacaoDeDespesaFazUmaConsultaEOInsert() throws Exception {
+        limparCaches();
+        assertStatements(mockMvc, autenticado(post("/despesas"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request())), 2)
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void atualizacaoDeDespesaFazUmaConsultaEOUpdate() throws Exception {
+        Despesa despesa = novaDespesa();
+
+        limparCaches();
+        assertStatements(mockMvc, autenticado(put("/despesas/{id}", despesa.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request())), 2)
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Número de instruções da primeira chamada, com os caches vazios
+     */
+    private int medir(MockHttpServletRequestBuilder request) throws Exception {
+        limparCaches();
+        return (int) count(() -> mockMvc.perform(autenticado(request)).andExpect(status().isOk()))
+                .getStatements();
+    }
+
+    private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, authorization);
+    }
+
+    private void limparCaches() {
+        cacheManager.getCacheNames().forEach(nome -> Objects.requireNonNull(cacheManager.getCache(nome)).clear());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private DespesaRequestDTO request() {
+        return DespesaRequestDTO.builder()
+                .data(LocalDate.now())
+                .descricao("Mercado")
+                .valor(new BigDecimal("250.00"))
+                .categoriaId(categoria.getId())
+                .receitaId(receita.getId())
+                .build();
+    }
+
+    private Categoria novaCategoria() {
+        return categoriaRepository.save(Categoria.builder()
+                .usuario(usuario)
+                .nome("Categoria " + UUID.randomUUID().toString().substring(0, 8))
+                .tipo(TipoCategoria.DESPESA)
+                .ativa(true)
+                .build());
+    }
+
+    private Receita novaReceita() {
+        LocalDate hoje = LocalDate.now();
+        return receitaRepository.save(Receita.builder()
+                .usuario(usuario)
+                .periodoInicio(hoje.withDayOfMonth(1))
+                .periodoFim(hoje.withDayOfMonth(hoje.lengthOfMonth()))
+                .salario(new BigDecimal("5000.00"))
+                .build());
+    }
+
+    private Despesa novaDespesa() {
+        return despesaRepository.save(Despesa.builder()
+                .usuario(usuario)
+                .categoria(categoria)
+                .receita(receita)
+                .data(LocalDate.now())
+                .descricao("Despesa")
+                .valor(new BigDecimal("100.00"))
+                .build());
+    }
+}
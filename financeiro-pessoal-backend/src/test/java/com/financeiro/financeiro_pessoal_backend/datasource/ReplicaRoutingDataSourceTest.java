@@ -0,0 +1,114 @@
+package com.financeiro.financeiro_pessoal_backend.datasource;
+
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Long USUARIO_ID = 7L;
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaHealth health = mock(ReplicaHealth.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaRoutingDataSource routing =
+            new ReplicaRoutingDataSource(primary, replica, health, Duration.ofSeconds(5), meterRegistry);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(health.isAvailable()).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leituraAutenticadaVaiParaAReplica() throws SQLException {
+        autenticar();
+
+        assertThat(conectar(true)).isSameAs(replicaConnection);
+        assertThat(roteadas("replica", "leitura")).isEqualTo(1);
+    }
+
+    @Test
+    void escritaELeituraAnonimaFicamNoPrimario() throws SQLException {
+        assertThat(conectar(true)).isSameAs(primaryConnection);
+        autenticar();
+        assertThat(conectar(false)).isSameAs(primaryConnection);
+
+        assertThat(roteadas("primario", "anonimo")).isEqualTo(1);
+        assertThat(roteadas("primario", "escrita")).isEqualTo(1);
+    }
+
+    @Test
+    void leituraLogoAposEscritaConfirmadaFicaNoPrimario() throws SQLException {
+        autenticar();
+        conectar(false);
+        // Sem commit a escrita ainda não conta
+        assertThat(conectar(true)).isSameAs(replicaConnection);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(conectar(true)).isSameAs(primaryConnection);
+        assertThat(roteadas("primario", "escrita_recente")).isEqualTo(1);
+    }
+
+    @Test
+    void replicaForaDeUsoOuRecusandoConexaoDesviaParaOPrimario() throws SQLException {
+        autenticar();
+        when(health.isAvailable()).thenReturn(false);
+        assertThat(conectar(true)).isSameAs(primaryConnection);
+
+        SQLException recusada = new SQLTransientConnectionException("conexão recusada");
+        when(health.isAvailable()).thenReturn(true);
+        when(replica.getConnection()).thenThrow(recusada);
+        assertThat(conectar(true)).isSameAs(primaryConnection);
+
+        verify(health).markDown(recusada);
+        assertThat(roteadas("primario", "indisponivel")).isEqualTo(1);
+        assertThat(roteadas("primario", "falha_conexao")).isEqualTo(1);
+    }
+
+    private Connection conectar(boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        return routing.getConnection();
+    }
+
+    private void autenticar() {
+        UsuarioPrincipal principal = new UsuarioPrincipal(USUARIO_ID, "usuario@teste.com", TipoUsuario.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private double roteadas(String destino, String motivo) {
+        return meterRegistry.get("datasource.replica.routed")
+                .tag("destino", destino).tag("motivo", motivo).counter().count();
+    }
+}
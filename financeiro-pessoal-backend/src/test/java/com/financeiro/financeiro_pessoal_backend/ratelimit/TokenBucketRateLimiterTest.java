@@ -0,0 +1,81 @@
+package com.financeiro.financeiro_pessoal_backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long INTERVALO = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /**
+     * Relógio controlado pelo teste; começa longe de zero como o {@code nanoTime}
+     */
+    private final AtomicLong relogio = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private final TokenBucketRateLimiter limiter =
+            new TokenBucketRateLimiter(1_000, Duration.ofMinutes(1), relogio::get);
+
+    @Test
+    void permiteAteACapacidadeERecusaEmSeguida() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ip", INTERVALO, 3)).isZero();
+        }
+
+        // O próximo token chega um intervalo depois do primeiro consumo
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 3)).isEqualTo(INTERVALO);
+    }
+
+    @Test
+    void recusaNaoConsomeToken() {
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 1)).isZero();
+
+        relogio.addAndGet(INTERVALO / 4);
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 1)).isEqualTo(INTERVALO * 3 / 4);
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 1)).isEqualTo(INTERVALO * 3 / 4);
+
+        relogio.addAndGet(INTERVALO * 3 / 4);
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 1)).isZero();
+    }
+
+    @Test
+    void repoeUmTokenPorIntervalo() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isPositive();
+
+        relogio.addAndGet(INTERVALO - 1);
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isEqualTo(1);
+
+        relogio.addAndGet(1);
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isZero();
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isPositive();
+    }
+
+    @Test
+    void baldeOciosoVoltaCheioSemPassarDaCapacidade() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isZero();
+        }
+
+        relogio.addAndGet(INTERVALO * 10);
+
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isZero();
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isZero();
+        assertThat(limiter.tryAcquire("ip", INTERVALO, 2)).isEqualTo(INTERVALO);
+    }
+
+    @Test
+    void baldesSaoIndependentesPorChave() {
+        assertThat(limiter.tryAcquire("a", INTERVALO, 1)).isZero();
+        assertThat(limiter.tryAcquire("a", INTERVALO, 1)).isPositive();
+
+        assertThat(limiter.tryAcquire("b", INTERVALO, 1)).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+}
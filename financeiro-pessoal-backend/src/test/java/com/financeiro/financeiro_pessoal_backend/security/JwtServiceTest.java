@@ -0,0 +1,77 @@
+package com.financeiro.financeiro_pessoal_backend.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long ACCESS_MS = 86_400_000L;
+    private static final long REFRESH_MS = 604_800_000L;
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", ACCESS_MS);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", REFRESH_MS);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheTtl", Duration.ofSeconds(30));
+        jwtService.init();
+    }
+
+    @Test
+    void tokenLegadoComValidadeDeAccessEAceitoSoPeloCaminhoLegado() {
+        String legado = tokenLegado(ACCESS_MS);
+
+        assertThat(jwtService.decodeAccessToken(legado)).isNull();
+        assertThat(jwtService.decodeLegacyAccessToken(legado).getSubject()).isEqualTo("usuario@teste.com");
+    }
+
+    @Test
+    void refreshTokenLegadoNaoEAceitoComoAccess() {
+        assertThat(jwtService.decodeLegacyAccessToken(tokenLegado(REFRESH_MS))).isNull();
+    }
+
+    @Test
+    void tokenAtualNaoPassaPeloCaminhoLegado() {
+        Usuario usuario = Usuario.builder()
+                .id(1L)
+                .email("usuario@teste.com")
+                .tipoUsuario(TipoUsuario.USER)
+                .ativo(true)
+                .build();
+        String token = jwtService.generateToken(usuario, UUID.randomUUID().toString());
+
+        assertThat(jwtService.decodeLegacyAccessToken(token)).isNull();
+        assertThat(jwtService.toPrincipal(jwtService.decodeAccessToken(token)).id()).isEqualTo(1L);
+    }
+
+    /**
+     * Token no formato emitido antes das claims de id, tipo e família
+     */
+    private String tokenLegado(long validadeMs) {
+        Instant agora = Instant.now();
+        return JWT.create()
+                .withSubject("usuario@teste.com")
+                .withIssuedAt(Date.from(agora))
+                .withExpiresAt(Date.from(agora.plusMillis(validadeMs)))
+                .withClaim("authorities", List.of("ROLE_USER"))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+}
@@ -0,0 +1,122 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.financeiro.financeiro_pessoal_backend.cache.DataVersions;
+import com.financeiro.financeiro_pessoal_backend.dto.response.DashboardResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
+import com.financeiro.financeiro_pessoal_backend.model.enums.TipoUsuario;
+import com.financeiro.financeiro_pessoal_backend.security.JwtService;
+import com.financeiro.financeiro_pessoal_backend.security.SessoesRevogadasEvent;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevocationStore;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevogadoEvent;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioPrincipal;
+import com.financeiro.financeiro_pessoal_backend.security.UsuarioStatusCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardStreamServiceTest {
+
+    private static final Long USUARIO_ID = 1L;
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenRevocationStore tokenRevocationStore = mock(TokenRevocationStore.class);
+    private final UsuarioStatusCache usuarioStatusCache = mock(UsuarioStatusCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UsuarioPrincipal principal = new UsuarioPrincipal(USUARIO_ID, "usuario@teste.com", TipoUsuario.USER);
+    private final Authentication authentication =
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+    private DashboardStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        DashboardService dashboardService = mock(DashboardService.class);
+        when(dashboardService.getDashboard(anyInt(), anyInt())).thenReturn(DashboardResponseDTO.builder().mes(1).ano(2026).build());
+        when(usuarioStatusCache.isValido(principal)).thenReturn(true);
+        service = new DashboardStreamService(dashboardService, jwtService, tokenRevocationStore,
+                usuarioStatusCache, mock(DataVersions.class), meterRegistry,
+                Duration.ofMinutes(15), Duration.ofHours(1), Duration.ofHours(1), 16, 100, 5, 1);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void revogacaoDoTokenOuDaFamiliaEncerraSoAsConexoesDele() {
+        service.conectar(authentication, token("t1", "jti-1", "familia-1", Duration.ofMinutes(10)));
+        service.conectar(authentication, token("t2", "jti-2", "familia-2", Duration.ofMinutes(10)));
+        service.conectar(authentication, token("t3", "jti-3", "familia-3", Duration.ofMinutes(10)));
+
+        service.onRevogacao(new TokenRevogadoEvent("jti-1", LocalDateTime.now().plusMinutes(10)));
+        service.onRevogacao(new TokenRevogadoEvent("familia-2", LocalDateTime.now().plusDays(7)));
+
+        assertThat(conexoesAbertas()).isEqualTo(1);
+        assertThat(descartes()).isEqualTo(2);
+    }
+
+    @Test
+    void revogacaoDeTodasAsSessoesEncerraTodasAsConexoesDoUsuario() {
+        service.conectar(authentication, token("t1", "jti-1", "familia-1", Duration.ofMinutes(10)));
+        service.conectar(authentication, token("t2", "jti-2", "familia-2", Duration.ofMinutes(10)));
+
+        service.onSessoesRevogadas(new SessoesRevogadasEvent(USUARIO_ID));
+
+        assertThat(conexoesAbertas()).isZero();
+    }
+
+    @Test
+    void timeoutNaoPassaDaExpiracaoDoToken() {
+        long timeout = service.conectar(authentication,
+                token("t1", "jti-1", "familia-1", Duration.ofMinutes(2))).getTimeout();
+
+        assertThat(timeout).isLessThanOrEqualTo(Duration.ofMinutes(2).toMillis())
+                .isGreaterThan(Duration.ofMinutes(1).toMillis());
+    }
+
+    @Test
+    void tokenAusenteOuDeOutroUsuarioERecusado() {
+        token("t1", "jti-1", "familia-1", Duration.ofMinutes(10));
+        when(jwtService.getUsuarioId(jwtService.decodeAccessToken("t1"))).thenReturn(2L);
+
+        assertThatThrownBy(() -> service.conectar(authentication, null))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> service.conectar(authentication, "t1"))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThat(conexoesAbertas()).isZero();
+    }
+
+    private String token(String valor, String jti, String familia, Duration validade) {
+        DecodedJWT decoded = mock(DecodedJWT.class);
+        when(decoded.getId()).thenReturn(jti);
+        when(decoded.getExpiresAtAsInstant()).thenReturn(Instant.now().plus(validade));
+        when(jwtService.decodeAccessToken(valor)).thenReturn(decoded);
+        when(jwtService.getUsuarioId(decoded)).thenReturn(USUARIO_ID);
+        when(jwtService.getFamilia(decoded)).thenReturn(familia);
+        return valor;
+    }
+
+    private double conexoesAbertas() {
+        return meterRegistry.get("dashboard.stream.connections").gauge().value();
+    }
+
+    private double descartes() {
+        return meterRegistry.get("dashboard.stream.dropped").tag("motivo", "sessao_encerrada").counter().count();
+    }
+}
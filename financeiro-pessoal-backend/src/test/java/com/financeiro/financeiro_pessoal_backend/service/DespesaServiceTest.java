@@ -0,0 +1,169 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.financeiro.financeiro_pessoal_backend.dto.request.DespesaRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.exception.ResourceNotFoundException;
+import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
+import com.financeiro.financeiro_pessoal_backend.exception.ValidationException;
+import com.financeiro.financeiro_pessoal_backend.mapper.DespesaMapper;
+import com.financeiro.financeiro_pessoal_backend.model.Despesa;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.repository.CategoriaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.DespesaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.DespesaVinculos;
+import com.financeiro.financeiro_pessoal_backend.repository.ReceitaRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DespesaServiceTest {
+
+    private static final Long USUARIO_ID = 7L;
+    private static final Long OUTRO_USUARIO_ID = 8L;
+    private static final Long CATEGORIA_ID = 10L;
+    private static final Long RECEITA_ID = 20L;
+
+    @Mock
+    private DespesaRepository despesaRepository;
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    @Mock
+    private CategoriaRepository categoriaRepository;
+    @Mock
+    private ReceitaRepository receitaRepository;
+    @Mock
+    private DespesaMapper despesaMapper;
+    @Mock
+    private SecurityUtil securityUtil;
+
+    @InjectMocks
+    private DespesaService despesaService;
+
+    @BeforeEach
+    void setUp() {
+        when(securityUtil.getUsuarioLogadoId()).thenReturn(USUARIO_ID);
+    }
+
+    @Test
+    void usuarioInexistenteVemAntesDaValidacaoDosDados() {
+        when(despesaRepository.findVinculos(USUARIO_ID, CATEGORIA_ID, null)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> despesaService.create(request(null, CATEGORIA_ID, null)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Usuário não encontrado");
+    }
+
+    @Test
+    void dadosInvalidosVemAntesDosVinculos() {
+        DespesaVinculos vinculos = vinculos(null, null, null, null, null);
+        when(despesaRepository.findVinculos(USUARIO_ID, CATEGORIA_ID, RECEITA_ID)).thenReturn(Optional.of(vinculos));
+
+        assertThatThrownBy(() -> despesaService.create(request(null, CATEGORIA_ID, RECEITA_ID)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Data é obrigatória");
+    }
+
+    @Test
+    void categoriaEValidadaAntesDaReceita() {
+        DespesaVinculos inexistentes = vinculos(null, null, null, null, null);
+        DespesaVinculos categoriaDeOutro = vinculos(CATEGORIA_ID, OUTRO_USUARIO_ID, true, null, null);
+        DespesaVinculos categoriaDesativada = vinculos(CATEGORIA_ID, USUARIO_ID, false, RECEITA_ID, OUTRO_USUARIO_ID);
+        DespesaVinculos receitaDeOutro = vinculos(CATEGORIA_ID, USUARIO_ID, true, RECEITA_ID, OUTRO_USUARIO_ID);
+        when(despesaRepository.findVinculos(USUARIO_ID, CATEGORIA_ID, RECEITA_ID)).thenReturn(
+                Optional.of(inexistentes), Optional.of(categoriaDeOutro),
+                Optional.of(categoriaDesativada), Optional.of(receitaDeOutro));
+        DespesaRequestDTO request = request(LocalDate.now(), CATEGORIA_ID, RECEITA_ID);
+
+        assertThatThrownBy(() -> despesaService.create(request))
+                .isInstanceOf(ResourceNotFoundException.class).hasMessage("Categoria não encontrada");
+        assertThatThrownBy(() -> despesaService.create(request))
+                .isInstanceOf(ValidationException.class).hasMessage("Categoria não pertence ao usuário");
+        assertThatThrownBy(() -> despesaService.create(request))
+                .isInstanceOf(ValidationException.class).hasMessage("Categoria está desativada");
+        assertThatThrownBy(() -> despesaService.create(request))
+                .isInstanceOf(ValidationException.class).hasMessage("Receita não pertence ao usuário");
+        verify(despesaRepository, never()).save(any());
+    }
+
+    @Test
+    void atualizacaoDeDespesaInexistenteOuDeOutroUsuarioFalhaAntesDaValidacao() {
+        when(despesaRepository.findComVinculos(1L, CATEGORIA_ID, null)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> despesaService.update(1L, request(null, CATEGORIA_ID, null)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Despesa não encontrada com ID: 1");
+
+        DespesaVinculos.ComDespesa vinculos = mock(DespesaVinculos.ComDespesa.class);
+        when(vinculos.getDespesa()).thenReturn(despesaDe(OUTRO_USUARIO_ID));
+        when(despesaRepository.findComVinculos(2L, CATEGORIA_ID, null)).thenReturn(Optional.of(vinculos));
+        doThrow(new UnauthorizedException("Você não tem permissão para acessar este recurso"))
+                .when(securityUtil).validarPermissaoUsuario(OUTRO_USUARIO_ID);
+
+        assertThatThrownBy(() -> despesaService.update(2L, request(null, CATEGORIA_ID, null)))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(despesaRepository, never()).save(any());
+    }
+
+    @Test
+    void vinculosDaAtualizacaoSaoValidadosContraODonoDaDespesa() {
+        // Admin editando a despesa de outro usuário com a categoria do próprio admin
+        DespesaVinculos.ComDespesa vinculos = mock(DespesaVinculos.ComDespesa.class);
+        when(vinculos.getDespesa()).thenReturn(despesaDe(OUTRO_USUARIO_ID));
+        when(vinculos.getCategoriaId()).thenReturn(CATEGORIA_ID);
+        when(vinculos.getCategoriaUsuarioId()).thenReturn(USUARIO_ID);
+        when(vinculos.getCategoriaAtiva()).thenReturn(true);
+        when(despesaRepository.findComVinculos(3L, CATEGORIA_ID, null)).thenReturn(Optional.of(vinculos));
+
+        assertThatThrownBy(() -> despesaService.update(3L, request(LocalDate.now(), CATEGORIA_ID, null)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Categoria não pertence ao usuário");
+        verify(securityUtil).validarPermissaoUsuario(OUTRO_USUARIO_ID);
+    }
+
+    private DespesaRequestDTO request(LocalDate data, Long categoriaId, Long receitaId) {
+        return DespesaRequestDTO.builder()
+                .data(data)
+                .descricao("Aluguel")
+                .valor(new BigDecimal("1500.00"))
+                .categoriaId(categoriaId)
+                .receitaId(receitaId)
+                .build();
+    }
+
+    private DespesaVinculos vinculos(Long categoriaId, Long categoriaUsuarioId, Boolean categoriaAtiva,
+                                     Long receitaId, Long receitaUsuarioId) {
+        DespesaVinculos vinculos = mock(DespesaVinculos.class);
+        when(vinculos.getUsuarioNome()).thenReturn("Usuário");
+        when(vinculos.getCategoriaId()).thenReturn(categoriaId);
+        when(vinculos.getCategoriaUsuarioId()).thenReturn(categoriaUsuarioId);
+        when(vinculos.getCategoriaAtiva()).thenReturn(categoriaAtiva);
+        when(vinculos.getReceitaId()).thenReturn(receitaId);
+        when(vinculos.getReceitaUsuarioId()).thenReturn(receitaUsuarioId);
+        return vinculos;
+    }
+
+    private Despesa despesaDe(Long usuarioId) {
+        return Despesa.builder()
+                .usuario(Usuario.builder().id(usuarioId).build())
+                .build();
+    }
+}
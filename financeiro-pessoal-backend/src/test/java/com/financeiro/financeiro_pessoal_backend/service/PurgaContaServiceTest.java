@@ -0,0 +1,125 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.financeiro.financeiro_pessoal_backend.cache.CacheInvalidator;
+import com.financeiro.financeiro_pessoal_backend.dto.response.PurgaContaResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.model.enums.MotivoRevogacao;
+import com.financeiro.financeiro_pessoal_backend.model.enums.StatusPurga;
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PurgaContaServiceTest {
+
+    private static final Long USUARIO_ID = 7L;
+    private static final int LOTE = 2;
+    private static final Pattern TABELA = Pattern.compile("^(?:UPDATE|DELETE FROM) (\\w+)");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+    private final SecurityUtil securityUtil = mock(SecurityUtil.class);
+    private final List<String> comandos = Collections.synchronizedList(new ArrayList<>());
+
+    private PurgaContaService service;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(securityUtil.getUsuarioLogadoId()).thenReturn(USUARIO_ID);
+        service = new PurgaContaService(jdbcTemplate, transactionManager, refreshTokenService, cacheInvalidator,
+                securityUtil, LOTE, Duration.ZERO, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void removeAsTabelasNaOrdemDasDependenciasEmLotes() throws Exception {
+        // despesas: um lote cheio e um parcial; as demais tabelas, um lote parcial cada
+        List<Integer> despesas = new ArrayList<>(List.of(LOTE, 1));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String tabela = registrar(invocation.getArgument(0));
+            return tabela.equals("despesas") && !despesas.isEmpty() ? despesas.remove(0) : 1;
+        });
+
+        PurgaContaResponseDTO purga = aguardar(service.agendar(USUARIO_ID));
+
+        assertThat(purga.getStatus()).isEqualTo(StatusPurga.CONCLUIDA);
+        assertThat(comandos).containsExactly("usuarios", "transacoes_meta", "despesas", "despesas", "receitas",
+                "metas", "categorias", "parametros", "refresh_tokens", "tokens_revogados", "usuarios");
+        assertThat(purga.getRemovidosPorTabela()).containsEntry("despesas", 3L).containsEntry("usuarios", 1L);
+        verify(refreshTokenService).revogarTodas(USUARIO_ID, MotivoRevogacao.CONTA_DESATIVADA);
+    }
+
+    @Test
+    void purgaQueFalhaInvalidaOsCachesEPodeSerRepetida() throws Exception {
+        AtomicBoolean falhou = new AtomicBoolean();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String tabela = registrar(invocation.getArgument(0));
+            if (tabela.equals("receitas") && falhou.compareAndSet(false, true)) {
+                throw new QueryTimeoutException("lock timeout");
+            }
+            return tabela.equals("usuarios") ? 1 : 0;
+        });
+
+        PurgaContaResponseDTO falha = aguardar(service.agendar(USUARIO_ID));
+        assertThat(falha.getStatus()).isEqualTo(StatusPurga.FALHOU);
+        assertThat(falha.getEtapaAtual()).isEqualTo("receitas");
+        verify(cacheInvalidator, times(1)).invalidate(any(Set.class));
+
+        // A nova purga recomeça da primeira etapa; o que já foi removido não tem mais linhas
+        comandos.clear();
+        PurgaContaResponseDTO repetida = aguardar(service.agendar(USUARIO_ID));
+        assertThat(repetida.getId()).isNotEqualTo(falha.getId());
+        assertThat(repetida.getStatus()).isEqualTo(StatusPurga.CONCLUIDA);
+        assertThat(comandos).first().isEqualTo("usuarios");
+        assertThat(comandos).last().isEqualTo("usuarios");
+        assertThat(repetida.getRemovidosPorTabela()).containsEntry("transacoes_meta", 0L);
+        verify(cacheInvalidator, times(2)).invalidate(any(Set.class));
+    }
+
+    private String registrar(String sql) {
+        Matcher matcher = TABELA.matcher(sql);
+        assertThat(matcher.find()).as(sql).isTrue();
+        comandos.add(matcher.group(1));
+        return matcher.group(1);
+    }
+
+    private PurgaContaResponseDTO aguardar(PurgaContaResponseDTO agendada) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        PurgaContaResponseDTO atual = service.buscarProgresso(agendada.getId());
+        while (Set.of(StatusPurga.PENDENTE, StatusPurga.EM_ANDAMENTO).contains(atual.getStatus())
+                && System.nanoTime() < limite) {
+            Thread.sleep(10);
+            atual = service.buscarProgresso(agendada.getId());
+        }
+        // O finally da purga roda logo após o status final; espera a vaga ser liberada
+        Thread.sleep(50);
+        return atual;
+    }
+}
@@ -0,0 +1,169 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.financeiro.financeiro_pessoal_backend.exception.UnauthorizedException;
+import com.financeiro.financeiro_pessoal_backend.model.RefreshToken;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.MotivoRevogacao;
+import com.financeiro.financeiro_pessoal_backend.repository.RefreshTokenRepository;
+import com.financeiro.financeiro_pessoal_backend.repository.TokenRevogadoRepository;
+import com.financeiro.financeiro_pessoal_backend.security.JwtService;
+import com.financeiro.financeiro_pessoal_backend.security.TokenRevocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RefreshTokenServiceTest {
+
+    private static final String FAMILIA = "familia-1";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private TokenRevogadoRepository tokenRevogadoRepository;
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private DecodedJWT decodedJWT;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "janelaReuso", Duration.ofSeconds(30));
+        usuario = Usuario.builder().id(7L).email("user@teste.com").nome("Usuário").build();
+
+        when(jwtService.decodeRefreshToken("refresh-atual")).thenReturn(decodedJWT);
+        when(decodedJWT.getId()).thenReturn("jti-atual");
+        when(jwtService.getFamilia(decodedJWT)).thenReturn(FAMILIA);
+        when(jwtService.getRefreshExpiration()).thenReturn(Duration.ofDays(7));
+        when(jwtService.generateRefreshToken(eq(usuario), eq(FAMILIA), anyString()))
+                .thenAnswer(invocation -> "refresh-" + invocation.getArgument(2));
+        when(jwtService.generateToken(usuario, FAMILIA)).thenReturn("access");
+        when(jwtService.extractExpiration("access")).thenReturn(LocalDateTime.now().plusMinutes(15));
+    }
+
+    private RefreshToken token(String jti) {
+        return RefreshToken.builder()
+                .jti(jti)
+                .usuario(usuario)
+                .familia(FAMILIA)
+                .expiraEm(LocalDateTime.now().plusDays(7))
+                .build();
+    }
+
+    @Test
+    void rotacaoConsomeOTokenEEmiteSucessorNaMesmaFamilia() {
+        RefreshToken atual = token("jti-atual");
+        when(refreshTokenRepository.findByJtiForUpdate("jti-atual")).thenReturn(Optional.of(atual));
+
+        RefreshTokenService.TokensEmitidos emitidos = refreshTokenService.rotacionar("refresh-atual");
+
+        ArgumentCaptor<RefreshToken> salvo = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(salvo.capture());
+        assertThat(salvo.getValue().getFamilia()).isEqualTo(FAMILIA);
+        assertThat(salvo.getValue().getJti()).isNotEqualTo("jti-atual");
+
+        assertThat(atual.getUsado()).isTrue();
+        assertThat(atual.getUsadoEm()).isNotNull();
+        assertThat(atual.getSucessorJti()).isEqualTo(salvo.getValue().getJti());
+        assertThat(emitidos.refreshToken()).isEqualTo("refresh-" + salvo.getValue().getJti());
+        assertThat(emitidos.token()).isEqualTo("access");
+        verify(refreshTokenRepository, never()).revogarFamilia(anyString());
+    }
+
+    @Test
+    void reusoForaDaJanelaRevogaAFamilia() {
+        RefreshToken atual = token("jti-atual");
+        atual.setUsado(true);
+        atual.setUsadoEm(LocalDateTime.now().minusMinutes(5));
+        atual.setSucessorJti("jti-sucessor");
+        when(refreshTokenRepository.findByJtiForUpdate("jti-atual")).thenReturn(Optional.of(atual));
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar("refresh-atual"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Sessão encerrada");
+
+        verify(refreshTokenRepository).revogarFamilia(FAMILIA);
+        verify(tokenRevogadoRepository).inserirSeAusente(eq(FAMILIA), eq(7L),
+                eq(MotivoRevogacao.REUSO_DETECTADO.name()), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void reusoDentroDaJanelaDevolveOMesmoSucessor() {
+        RefreshToken atual = token("jti-atual");
+        atual.setUsado(true);
+        atual.setUsadoEm(LocalDateTime.now().minusSeconds(5));
+        atual.setSucessorJti("jti-sucessor");
+        when(refreshTokenRepository.findByJtiForUpdate("jti-atual")).thenReturn(Optional.of(atual));
+        when(refreshTokenRepository.findById("jti-sucessor")).thenReturn(Optional.of(token("jti-sucessor")));
+
+        RefreshTokenService.TokensEmitidos emitidos = refreshTokenService.rotacionar("refresh-atual");
+
+        assertThat(emitidos.refreshToken()).isEqualTo("refresh-jti-sucessor");
+        verify(refreshTokenRepository, never()).save(any());
+        verify(refreshTokenRepository, never()).revogarFamilia(anyString());
+    }
+
+    @Test
+    void reusoDentroDaJanelaComSucessorJaUsadoRevogaAFamilia() {
+        RefreshToken atual = token("jti-atual");
+        atual.setUsado(true);
+        atual.setUsadoEm(LocalDateTime.now().minusSeconds(5));
+        atual.setSucessorJti("jti-sucessor");
+        RefreshToken sucessor = token("jti-sucessor");
+        sucessor.setUsado(true);
+        when(refreshTokenRepository.findByJtiForUpdate("jti-atual")).thenReturn(Optional.of(atual));
+        when(refreshTokenRepository.findById("jti-sucessor")).thenReturn(Optional.of(sucessor));
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar("refresh-atual"))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository).revogarFamilia(FAMILIA);
+    }
+
+    @Test
+    void familiaRevogadaRecusaSemEmitir() {
+        RefreshToken atual = token("jti-atual");
+        when(refreshTokenRepository.findByJtiForUpdate("jti-atual")).thenReturn(Optional.of(atual));
+        when(tokenRevocationStore.isRevoked(null, FAMILIA)).thenReturn(true);
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar("refresh-atual"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Sessão encerrada");
+
+        assertThat(atual.getUsado()).isFalse();
+        verify(refreshTokenRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,186 @@
+package com.financeiro.financeiro_pessoal_backend.service;
+
+import com.financeiro.financeiro_pessoal_backend.dto.request.UsuarioFiltroRequestDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.response.CursorPageResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.dto.response.UsuarioResponseDTO;
+import com.financeiro.financeiro_pessoal_backend.exception.ValidationException;
+import com.financeiro.financeiro_pessoal_backend.mapper.UsuarioMapper;
+import com.financeiro.financeiro_pessoal_backend.model.Usuario;
+import com.financeiro.financeiro_pessoal_backend.model.enums.OrdenacaoUsuario;
+import com.financeiro.financeiro_pessoal_backend.repository.UsuarioRepository;
+import com.financeiro.financeiro_pessoal_backend.util.SecurityUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UsuarioServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    @Mock
+    private UsuarioMapper usuarioMapper;
+    @Mock
+    private SecurityUtil securityUtil;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private UsuarioService usuarioService;
+
+    /**
+     * Posições recebidas pela consulta, na ordem das chamadas
+     */
+    private final List<ScrollPosition> posicoes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(securityUtil.isAdmin()).thenReturn(true);
+        when(usuarioMapper.toDto(any(Usuario.class))).thenAnswer(invocation -> {
+            Usuario usuario = invocation.getArgument(0);
+            return UsuarioResponseDTO.builder().id(usuario.getId()).nome(usuario.getNome()).build();
+        });
+    }
+
+    private static Usuario usuario(long id, String nome) {
+        return Usuario.builder().id(id).nome(nome).email(nome.toLowerCase() + "@teste.com").build();
+    }
+
+    /**
+     * Faz a próxima consulta devolver os usuários informados, registrando a posição pedida
+     */
+    @SuppressWarnings("unchecked")
+    private void pagina(List<Usuario> usuarios, boolean hasNext) {
+        JpaSpecificationExecutor.SpecificationFluentQuery<Usuario> query = mock(
+                JpaSpecificationExecutor.SpecificationFluentQuery.class, Answers.RETURNS_SELF);
+        when(query.scroll(any(ScrollPosition.class))).thenAnswer(invocation -> {
+            posicoes.add(invocation.getArgument(0));
+            return Window.from(usuarios, i -> ScrollPosition.offset(i), hasNext);
+        });
+        when(usuarioRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenAnswer(invocation -> invocation.<Function<Object, Object>>getArgument(1).apply(query));
+    }
+
+    private static String cursor(String conteudo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void primeiraPaginaComecaDoInicioECursorApontaParaOUltimoItem() {
+        pagina(List.of(usuario(3, "Ana"), usuario(9, "Bruno|Silva")), true);
+
+        CursorPageResponseDTO<UsuarioResponseDTO> resposta = usuarioService.listar(
+                UsuarioFiltroRequestDTO.builder().size(2).build());
+
+        assertThat(posicoes).singleElement().isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) posicoes.get(0)).isInitial()).isTrue();
+        assertThat(resposta.getContent()).extracting(UsuarioResponseDTO::getId).containsExactly(3L, 9L);
+        assertThat(resposta.isHasNext()).isTrue();
+        assertThat(resposta.getProximoCursor()).isEqualTo(cursor("NOME|ASC|9|Bruno|Silva"));
+    }
+
+    @Test
+    void cursorDevolvidoContinuaAPartirDoUltimoItem() {
+        pagina(List.of(usuario(9, "Bruno|Silva")), true);
+        String proximoCursor = usuarioService.listar(UsuarioFiltroRequestDTO.builder().size(1).build())
+                .getProximoCursor();
+
+        pagina(List.of(usuario(12, "Carla")), false);
+        usuarioService.listar(UsuarioFiltroRequestDTO.builder().size(1).cursor(proximoCursor).build());
+
+        KeysetScrollPosition posicao = (KeysetScrollPosition) posicoes.get(1);
+        assertThat(posicao.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+        // O separador no valor da coluna não quebra o cursor
+        assertThat(posicao.getKeys()).containsExactly(entry("nome", "Bruno|Silva"), entry("id", 9L));
+    }
+
+    @Test
+    void ordenacaoPorIdUsaApenasOIdNoCursor() {
+        pagina(List.of(usuario(12, "Carla")), false);
+
+        usuarioService.listar(UsuarioFiltroRequestDTO.builder()
+                .ordenacao(OrdenacaoUsuario.ID)
+                .direcao(Sort.Direction.DESC)
+                .cursor(cursor("ID|DESC|15|"))
+                .build());
+
+        assertThat(((KeysetScrollPosition) posicoes.get(0)).getKeys()).containsExactly(entry("id", 15L));
+    }
+
+    @Test
+    void ultimaPaginaNaoTemCursor() {
+        pagina(List.of(usuario(12, "Carla")), false);
+
+        CursorPageResponseDTO<UsuarioResponseDTO> resposta = usuarioService.listar(
+                UsuarioFiltroRequestDTO.builder().size(2).build());
+
+        assertThat(resposta.getSize()).isEqualTo(1);
+        assertThat(resposta.isHasNext()).isFalse();
+        assertThat(resposta.getProximoCursor()).isNull();
+    }
+
+    @Test
+    void paginaVaziaNaoTemCursor() {
+        pagina(List.of(), false);
+
+        CursorPageResponseDTO<UsuarioResponseDTO> resposta = usuarioService.listar(
+                UsuarioFiltroRequestDTO.builder().build());
+
+        assertThat(resposta.getContent()).isEmpty();
+        assertThat(resposta.getProximoCursor()).isNull();
+    }
+
+    @Test
+    void cursorDeOutraOrdenacaoERecusado() {
+        pagina(List.of(), false);
+
+        assertThatThrownBy(() -> usuarioService.listar(UsuarioFiltroRequestDTO.builder()
+                .ordenacao(OrdenacaoUsuario.EMAIL)
+                .cursor(cursor("NOME|ASC|9|Bruno"))
+                .build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cursor não corresponde à ordenação solicitada");
+    }
+
+    @Test
+    void cursorMalformadoERecusado() {
+        pagina(List.of(), false);
+
+        assertThatThrownBy(() -> usuarioService.listar(UsuarioFiltroRequestDTO.builder()
+                .cursor("não é base64")
+                .build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cursor inválido");
+        assertThatThrownBy(() -> usuarioService.listar(UsuarioFiltroRequestDTO.builder()
+                .cursor(cursor("NOME|ASC|abc|Bruno"))
+                .build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cursor inválido");
+    }
+}
@@ -0,0 +1,58 @@
+package com.financeiro.financeiro_pessoal_backend.support;
+
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatistics;
+import com.financeiro.financeiro_pessoal_backend.observability.SqlStatisticsContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica o número exato de instruções SQL executadas por um trecho de código
+ *
+ * Exemplo, num teste com {@code @AutoConfigureMockMvc}:
+ * <pre>
+ * SqlStatementCounter.assertStatements(mockMvc, get("/dashboard").header(...), 3)
+ *         .andExpect(status().isOk());
+ * </pre>
+ * Conta tudo o que a requisição executa, inclusive a autenticação; depende
+ * de {@code app.sql-budget.enabled} (padrão verdadeiro).
+ */
+public final class SqlStatementCounter {
+
+    private SqlStatementCounter() {
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    /**
+     * Executa o código e devolve o SQL que ele executou na thread atual
+     */
+    public static SqlStatistics count(ThrowingRunnable runnable) throws Exception {
+        try (SqlStatisticsContext.Scope scope = SqlStatisticsContext.open()) {
+            runnable.run();
+            return scope.statistics();
+        }
+    }
+
+    public static void assertStatements(int expected, ThrowingRunnable runnable) throws Exception {
+        SqlStatistics statistics = count(runnable);
+        assertThat(statistics.getStatements())
+                .as("instruções SQL executadas (SQL mais repetido: %s)", statistics.mostRepeated())
+                .isEqualTo(expected);
+    }
+
+    /**
+     * Executa a requisição no MockMvc e verifica o número de instruções SQL
+     */
+    public static ResultActions assertStatements(MockMvc mockMvc, RequestBuilder request, int expected)
+            throws Exception {
+        ResultActions[] result = new ResultActions[1];
+        assertStatements(expected, () -> result[0] = mockMvc.perform(request));
+        return result[0];
+    }
+}